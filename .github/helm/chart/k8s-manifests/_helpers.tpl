@@ -60,3 +60,10 @@ Create the name of the service account to use
 {{- end }}
 {{- end }}
 
+
+{{/*
+Secret portant le jeton du bus d'invalidation des caches
+*/}}
+{{- define "microservice.cacheBusSecretName" -}}
+{{- default (printf "%s-cache-bus" (include "microservice.fullname" .)) .Values.cacheBus.existingSecret }}
+{{- end }}
@@ -0,0 +1,60 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache Caffeine dont les listes de recettes sont conservées hors tas ({@link CompactRecetteList}).
+ *
+ * La conversion a lieu à l'écriture (@Cacheable, put) ; les rechargements anticipés passent par
+ * {@link #compact} avant d'atteindre le cache natif. L'encodage ne sort pas du cache : chaque lecture
+ * rend une liste décodée ordinaire ({@link ArrayList}), que l'appelant peut trier ou modifier sans
+ * toucher à l'entrée en cache. Seuls les correctifs de {@link RecetteCacheInvalidator}, qui passent
+ * par le cache natif, manipulent la {@link CompactRecetteList}. Si l'encodage échoue (catalogue hors limites,
+ * mémoire directe épuisée), la liste est conservée telle quelle sur le tas. Comme tout cache
+ * rechargé en arrière-plan, les lectures ne déclenchent aucun chargement ({@link RefreshOnlyCaffeineCache}).
+ */
+@Slf4j
+public class CompactCatalogCache extends RefreshOnlyCaffeineCache {
+
+    public CompactCatalogCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    public CompactCatalogCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(compact(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        Object value = super.fromStoreValue(storeValue);
+        return value instanceof CompactRecetteList compact ? new ArrayList<>(compact) : value;
+    }
+
+    /**
+     * Version hors tas d'une liste de recettes ; toute autre valeur est rendue telle quelle
+     */
+    @SuppressWarnings("unchecked")
+    public static Object compact(Object value) {
+        if (!(value instanceof List<?> list) || value instanceof CompactRecetteList || list.isEmpty()
+                || !list.stream().allMatch(RecetteResponse.class::isInstance)) {
+            return value;
+        }
+        try {
+            return CompactRecetteList.copyOf((List<RecetteResponse>) list);
+        } catch (IllegalArgumentException | OutOfMemoryError e) {
+            log.warn("Liste de {} recettes conservée sur le tas: {}", list.size(), e.getMessage());
+            return value;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Liste de recettes stockée hors tas, dans un tampon direct, au format de {@link RecetteCodec}.
+ *
+ * Le tas ne retient que trois tableaux primitifs par liste : positions des recettes dans le tampon,
+ * identifiants, et une table d'adressage ouvert identifiant -> rang. Une recette n'est décodée
+ * qu'à la lecture de son rang ; l'objet rendu est une copie éphémère, que le GC récupère en jeune
+ * génération. La liste est immuable et lisible en parallèle ; {@link #replacing} et
+ * {@link #removing} produisent une nouvelle liste par copie d'octets, sans décoder le reste du
+ * catalogue. Le tampon est libéré par le GC avec la liste.
+ */
+public final class CompactRecetteList extends AbstractList<RecetteResponse> implements RandomAccess {
+
+    private static final long NO_ID = Long.MIN_VALUE;
+
+    private final ByteBuffer data;
+    // Position de chaque recette ; offsets[size] est la fin des données
+    private final int[] offsets;
+    private final long[] ids;
+    // Rang + 1 par case, 0 si vide ; taille puissance de deux
+    private final int[] idSlots;
+
+    private CompactRecetteList(ByteBuffer data, int[] offsets, long[] ids) {
+        this.data = data;
+        this.offsets = offsets;
+        this.ids = ids;
+        this.idSlots = idSlots(ids);
+    }
+
+    /**
+     * Encoder une liste de recettes (la liste source n'est pas retenue)
+     *
+     * @throws IllegalArgumentException si le catalogue dépasse la taille d'un tampon (2 Go)
+     */
+    public static CompactRecetteList copyOf(List<RecetteResponse> recettes) {
+        if (recettes instanceof CompactRecetteList compact) {
+            return compact;
+        }
+        int[] sizes = new int[recettes.size()];
+        long total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = RecetteCodec.sizeOf(recettes.get(i));
+            total += sizes[i];
+        }
+        ByteBuffer data = allocate(total);
+        int[] offsets = new int[sizes.length + 1];
+        long[] ids = new long[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            RecetteResponse recette = recettes.get(i);
+            offsets[i] = data.position();
+            ids[i] = recette.getId() != null ? recette.getId() : NO_ID;
+            RecetteCodec.write(data, recette);
+        }
+        offsets[sizes.length] = data.position();
+        return new CompactRecetteList(data, offsets, ids);
+    }
+
+    @Override
+    public RecetteResponse get(int index) {
+        return RecetteCodec.read(data, offsets[Objects.checkIndex(index, ids.length)]);
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Recette d'identifiant donné, ou null si elle n'est pas dans la liste
+     */
+    public RecetteResponse findById(Long id) {
+        int index = indexOfId(id);
+        return index >= 0 ? get(index) : null;
+    }
+
+    /**
+     * Nouvelle liste où la recette remplace sa version précédente, ou est ajoutée en fin de liste
+     */
+    public CompactRecetteList replacing(RecetteResponse recette) {
+        int index = indexOfId(recette.getId());
+        return copyWith(index >= 0 ? index : ids.length, index >= 0 ? 1 : 0, recette);
+    }
+
+    /**
+     * Nouvelle liste sans la recette (la liste elle-même si elle n'y est pas)
+     */
+    public CompactRecetteList removing(Long id) {
+        int index = indexOfId(id);
+        return index >= 0 ? copyWith(index, 1, null) : this;
+    }
+
+    /**
+     * Octets occupés hors tas
+     */
+    public long offHeapBytes() {
+        return data.capacity();
+    }
+
+    /**
+     * Octets retenus sur le tas (liste, tableaux et vue du tampon)
+     */
+    public long heapBytes() {
+        return 32 + 64 + array(4L * offsets.length) + array(8L * ids.length) + array(4L * idSlots.length);
+    }
+
+    // Copie du tampon avec la plage [index, index + removed) remplacée par la recette (ou retirée)
+    private CompactRecetteList copyWith(int index, int removed, RecetteResponse replacement) {
+        int start = offsets[index];
+        int end = offsets[index + removed];
+        int replacementSize = replacement != null ? RecetteCodec.sizeOf(replacement) : 0;
+        int inserted = replacement != null ? 1 : 0;
+        int used = offsets[ids.length];
+
+        ByteBuffer target = allocate((long) used - (end - start) + replacementSize);
+        target.put(data.slice(0, start));
+        if (replacement != null) {
+            RecetteCodec.write(target, replacement);
+        }
+        target.put(data.slice(end, used - end));
+
+        int size = ids.length - removed + inserted;
+        int shift = replacementSize - (end - start);
+        int[] targetOffsets = new int[size + 1];
+        long[] targetIds = new long[size];
+        System.arraycopy(offsets, 0, targetOffsets, 0, index);
+        System.arraycopy(ids, 0, targetIds, 0, index);
+        if (replacement != null) {
+            targetOffsets[index] = start;
+            targetIds[index] = replacement.getId() != null ? replacement.getId() : NO_ID;
+        }
+        for (int i = index + removed; i <= ids.length; i++) {
+            targetOffsets[i - removed + inserted] = offsets[i] + shift;
+        }
+        System.arraycopy(ids, index + removed, targetIds, index + inserted, ids.length - index - removed);
+        return new CompactRecetteList(target, targetOffsets, targetIds);
+    }
+
+    private int indexOfId(Long id) {
+        if (id == null || id == NO_ID) {
+            return -1;
+        }
+        int mask = idSlots.length - 1;
+        for (int slot = (int) mix(id) & mask; idSlots[slot] != 0; slot = (slot + 1) & mask) {
+            if (ids[idSlots[slot] - 1] == id) {
+                return idSlots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] idSlots(long[] ids) {
+        int[] slots = new int[Integer.highestOneBit(Math.max(ids.length, 1)) << 2];
+        int mask = slots.length - 1;
+        for (int index = 0; index < ids.length; index++) {
+            if (ids[index] == NO_ID) {
+                continue;
+            }
+            int slot = (int) mix(ids[index]) & mask;
+            while (slots[slot] != 0 && ids[slots[slot] - 1] != ids[index]) {
+                slot = (slot + 1) & mask;
+            }
+            // En cas de doublon, le premier rang l'emporte (comme un parcours de la liste)
+            if (slots[slot] == 0) {
+                slots[slot] = index + 1;
+            }
+        }
+        return slots;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Catalogue trop volumineux pour un tampon hors tas: " + bytes + " octets");
+        }
+        return ByteBuffer.allocateDirect((int) Math.max(bytes, 1));
+    }
+
+    private static long array(long bytes) {
+        return (16 + bytes + 7) & ~7L;
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Pas de décodage du catalogue complet dans les logs
+    @Override
+    public String toString() {
+        return "CompactRecetteList[" + ids.length + " recettes, " + offHeapBytes() + " octets hors tas]";
+    }
+}
@@ -0,0 +1,212 @@
+package com.msrecette.univ.soa.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bus d'invalidation par diffusion HTTP entre pods.
+ *
+ * Les pairs sont les adresses renvoyées par la résolution DNS du service headless (une par pod
+ * prêt), hors adresses locales. Les événements ne sont pas envoyés un par un : le premier événement
+ * arme un délai de regroupement, pendant lequel les événements suivants s'accumulent et sont
+ * fusionnés par recette (seul le dernier état d'une recette est transmis). Le lot part à
+ * l'expiration du délai, ou dès qu'il atteint sa taille maximale. Un envoi en échec n'est pas
+ * rejoué : l'expiration des caches borne le retard d'un pair injoignable.
+ */
+@Component
+@ConditionalOnProperty(name = "recette.cache.bus.type", havingValue = "http")
+@Slf4j
+public class HttpGossipInvalidationBus implements InvalidationBus {
+
+    public static final String PATH = "/internal/cache/invalidations";
+    public static final String TOKEN_HEADER = "X-Cache-Bus-Token";
+
+    private final String nodeId;
+    private final Supplier<Collection<String>> peerResolver;
+    private final BiConsumer<String, InvalidationBatch> sender;
+    private final long flushDelayMs;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Consumer<List<InvalidationEvent>>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Événements en attente, fusionnés par recette dans l'ordre de leur dernière modification
+    private final LinkedHashMap<Long, InvalidationEvent> pending = new LinkedHashMap<>();
+
+    @Autowired
+    public HttpGossipInvalidationBus(RestTemplate restTemplate,
+                                     @Value("${recette.cache.bus.peers-service}") String peersService,
+                                     @Value("${recette.cache.bus.port:8091}") int peerPort,
+                                     @Value("${recette.cache.bus.token:}") String token,
+                                     @Value("${recette.cache.bus.flush-delay-ms:200}") long flushDelayMs,
+                                     @Value("${recette.cache.bus.max-batch-size:200}") int maxBatchSize) {
+        this(localNodeId(), dnsPeers(peersService), httpSender(restTemplate, peerPort, requireToken(token)), flushDelayMs, maxBatchSize,
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "cache-bus");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+        log.info("Bus d'invalidation HTTP actif - pairs: {}:{}, noeud: {}", peersService, peerPort, nodeId);
+    }
+
+    HttpGossipInvalidationBus(String nodeId, Supplier<Collection<String>> peerResolver,
+                              BiConsumer<String, InvalidationBatch> sender, long flushDelayMs, int maxBatchSize,
+                              ScheduledExecutorService scheduler) {
+        this.nodeId = nodeId;
+        this.peerResolver = peerResolver;
+        this.sender = sender;
+        this.flushDelayMs = flushDelayMs;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        int size;
+        synchronized (pending) {
+            // Réinsertion : l'événement prend la place du plus récent
+            pending.remove(event.recetteId());
+            pending.put(event.recetteId(), event);
+            size = pending.size();
+        }
+        if (size >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<InvalidationEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Lot reçu d'un pair (voir CacheInvalidationController)
+     */
+    public void receive(InvalidationBatch batch) {
+        if (batch == null || batch.events() == null || batch.events().isEmpty() || nodeId.equals(batch.origin())) {
+            return;
+        }
+        log.debug("Invalidations reçues de {} - {} événements", batch.origin(), batch.events().size());
+        listeners.forEach(listener -> listener.accept(batch.events()));
+    }
+
+    /**
+     * Envoyer aux pairs les événements en attente
+     */
+    void flush() {
+        flushScheduled.set(false);
+        List<InvalidationEvent> events;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+
+        InvalidationBatch batch = new InvalidationBatch(nodeId, events);
+        for (String peer : peerResolver.get()) {
+            try {
+                sender.accept(peer, batch);
+            } catch (RuntimeException e) {
+                log.warn("Invalidations non transmises au pair {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Les lots reçus sont appliqués aux caches et à l'index : sans jeton partagé, le bus refuse de démarrer
+     */
+    public static String requireToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("recette.cache.bus.token est obligatoire avec recette.cache.bus.type=http");
+        }
+        return token;
+    }
+
+    private static String localNodeId() {
+        String hostname = System.getenv("HOSTNAME");
+        return hostname != null && !hostname.isBlank() ? hostname : UUID.randomUUID().toString();
+    }
+
+    private static Supplier<Collection<String>> dnsPeers(String peersService) {
+        Set<String> localAddresses = localAddresses();
+        return () -> {
+            try {
+                Set<String> peers = new LinkedHashSet<>();
+                for (InetAddress address : InetAddress.getAllByName(peersService)) {
+                    if (!localAddresses.contains(address.getHostAddress())) {
+                        peers.add(address.getHostAddress());
+                    }
+                }
+                return peers;
+            } catch (UnknownHostException e) {
+                log.warn("Résolution des pairs impossible ({}): {}", peersService, e.getMessage());
+                return List.of();
+            }
+        };
+    }
+
+    private static Set<String> localAddresses() {
+        Set<String> addresses = new HashSet<>();
+        try {
+            NetworkInterface.networkInterfaces()
+                    .flatMap(NetworkInterface::inetAddresses)
+                    .forEach(address -> addresses.add(address.getHostAddress()));
+        } catch (SocketException e) {
+            log.warn("Adresses locales indisponibles: {}", e.getMessage());
+        }
+        return addresses;
+    }
+
+    private static BiConsumer<String, InvalidationBatch> httpSender(RestTemplate restTemplate, int peerPort, String token) {
+        return (peer, batch) -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set(TOKEN_HEADER, token);
+            String host = peer.contains(":") ? "[" + peer + "]" : peer;
+            restTemplate.postForEntity("http://" + host + ":" + peerPort + PATH, new HttpEntity<>(batch, headers), Void.class);
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.msrecette.univ.soa.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus en mémoire : livraison synchrone aux bus reliés par {@link #connect}.
+ *
+ * Sans pair relié (instance unique), la publication ne fait rien. Les tests relient plusieurs
+ * instances pour simuler des pods.
+ */
+@Component
+@ConditionalOnProperty(name = "recette.cache.bus.type", havingValue = "in-process", matchIfMissing = true)
+public class InProcessInvalidationBus implements InvalidationBus {
+
+    private final List<InProcessInvalidationBus> peers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<List<InvalidationEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Relier deux bus dans les deux sens
+     */
+    public void connect(InProcessInvalidationBus peer) {
+        if (peer != this && !peers.contains(peer)) {
+            peers.add(peer);
+            peer.connect(this);
+        }
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (InProcessInvalidationBus peer : peers) {
+            peer.deliver(List.of(event));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<InvalidationEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(List<InvalidationEvent> events) {
+        listeners.forEach(listener -> listener.accept(events));
+    }
+}
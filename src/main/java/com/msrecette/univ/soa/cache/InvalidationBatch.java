@@ -0,0 +1,11 @@
+package com.msrecette.univ.soa.cache;
+
+import java.util.List;
+
+/**
+ * Lot d'invalidations envoyé d'une instance à ses pairs
+ *
+ * @param origin identifiant de l'instance émettrice
+ */
+public record InvalidationBatch(String origin, List<InvalidationEvent> events) {
+}
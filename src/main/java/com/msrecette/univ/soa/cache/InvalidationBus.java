@@ -0,0 +1,21 @@
+package com.msrecette.univ.soa.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Diffusion des invalidations de cache et des mises à jour d'index entre instances.
+ *
+ * Les événements publiés par une instance ne lui sont pas renvoyés : seuls les pairs les reçoivent.
+ * Implémentations : {@link InProcessInvalidationBus} (tests, instance unique) et
+ * {@link HttpGossipInvalidationBus} (pods découverts via le service headless).
+ */
+public interface InvalidationBus {
+
+    void publish(InvalidationEvent event);
+
+    /**
+     * Enregistrer le traitement des événements reçus des pairs
+     */
+    void subscribe(Consumer<List<InvalidationEvent>> listener);
+}
@@ -0,0 +1,25 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+/**
+ * Modification d'une recette diffusée aux autres instances.
+ *
+ * Une mise à jour transporte la recette complète : les pairs corrigent leurs caches et leur index
+ * sans relire ms-persistance.
+ */
+public record InvalidationEvent(Type type, Long recetteId, RecetteResponse recette) {
+
+    public enum Type {
+        CHANGED,
+        DELETED
+    }
+
+    public static InvalidationEvent changed(RecetteResponse recette) {
+        return new InvalidationEvent(Type.CHANGED, recette.getId(), recette);
+    }
+
+    public static InvalidationEvent deleted(Long recetteId) {
+        return new InvalidationEvent(Type.DELETED, recetteId, null);
+    }
+}
@@ -0,0 +1,193 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.msrecette.univ.soa.index.RecetteCatalogIndex;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Invalidation ciblée des caches après la modification d'une recette.
+ *
+ * Seules les entrées qui dépendent de la recette sont touchées : son entrée "recette", ses
+ * statistiques, les listes "recettesByCategorie" qui la contiennent (ancienne catégorie) ou dont
+ * la clé est sa nouvelle catégorie, et la liste complète "recettes", corrigée sur place plutôt
+ * qu'évincée pour éviter un rechargement de tout le catalogue depuis ms-persistance (hors tas, la
+ * correction copie les octets des autres recettes sans les décoder).
+ *
+ * La recette est aussi déclarée présente ou supprimée auprès du {@link RecetteExistenceCache}.
+ * Chaque modification est aussi publiée sur le {@link InvalidationBus} ; les modifications reçues
+ * des autres instances sont appliquées de la même façon aux caches et à l'index local.
+ */
+@Component
+@Slf4j
+public class RecetteCacheInvalidator {
+
+    public static final String RECETTES = "recettes";
+    public static final String RECETTE = "recette";
+    public static final String RECETTES_BY_CATEGORIE = "recettesByCategorie";
+    public static final String RECETTE_STATS = "recetteStats";
+
+    private final CacheManager cacheManager;
+    private final RecetteCatalogIndex catalogIndex;
+    private final InvalidationBus invalidationBus;
+    private final RecetteExistenceCache existenceCache;
+
+    public RecetteCacheInvalidator(CacheManager cacheManager, RecetteCatalogIndex catalogIndex,
+                                   InvalidationBus invalidationBus, RecetteExistenceCache existenceCache) {
+        this.cacheManager = cacheManager;
+        this.catalogIndex = catalogIndex;
+        this.invalidationBus = invalidationBus;
+        this.existenceCache = existenceCache;
+        invalidationBus.subscribe(this::applyRemote);
+    }
+
+    /**
+     * Recette créée, modifiée, validée ou rejetée
+     */
+    public void recetteChanged(RecetteResponse recette) {
+        if (recette == null || recette.getId() == null) {
+            return;
+        }
+        evictChanged(recette);
+        invalidationBus.publish(InvalidationEvent.changed(recette));
+    }
+
+    public void recetteDeleted(Long id) {
+        if (id == null) {
+            return;
+        }
+        evictDeleted(id);
+        invalidationBus.publish(InvalidationEvent.deleted(id));
+    }
+
+    /**
+     * Modification lue par la réplique (faite hors de ce service) : caches locaux seulement,
+     * chaque instance lisant elle-même les deltas de ms-persistance
+     */
+    public void recetteSynced(RecetteResponse recette) {
+        if (recette == null || recette.getId() == null) {
+            return;
+        }
+        evictChanged(recette);
+    }
+
+    /**
+     * Modifications reçues d'une autre instance : l'index local est mis à jour avant les caches
+     */
+    void applyRemote(List<InvalidationEvent> events) {
+        for (InvalidationEvent event : events) {
+            if (event.type() == InvalidationEvent.Type.DELETED) {
+                catalogIndex.remove(event.recetteId());
+                evictDeleted(event.recetteId());
+            } else if (event.recette() != null && event.recette().getId() != null) {
+                // Livraison sans ordre garanti : une version plus ancienne que l'index est ignorée
+                if (catalogIndex.isLoaded() && catalogIndex.hasNewerVersion(event.recette())) {
+                    log.debug("Événement périmé ignoré pour la recette {}", event.recette().getId());
+                    continue;
+                }
+                if (catalogIndex.isLoaded()) {
+                    catalogIndex.upsert(event.recette());
+                }
+                evictChanged(event.recette());
+            }
+        }
+    }
+
+    private void evictChanged(RecetteResponse recette) {
+        Long id = recette.getId();
+        existenceCache.recordPresent(id);
+        evict(RECETTE, id);
+        evict(RECETTE_STATS, id);
+        evictCategories(id, recette.getCategorie());
+
+        // Liste complète : la recette remplace sa version précédente, ou est ajoutée
+        patchAll(recettes -> {
+            if (recettes instanceof CompactRecetteList compact) {
+                return compact.replacing(recette);
+            }
+            List<RecetteResponse> patched = new ArrayList<>(recettes.size() + 1);
+            boolean replaced = false;
+            for (RecetteResponse cached : recettes) {
+                if (Objects.equals(cached.getId(), id)) {
+                    patched.add(recette);
+                    replaced = true;
+                } else {
+                    patched.add(cached);
+                }
+            }
+            if (!replaced) {
+                patched.add(recette);
+            }
+            return patched;
+        });
+        log.debug("Caches invalidés pour la recette {}", id);
+    }
+
+    private void evictDeleted(Long id) {
+        existenceCache.recordDeleted(id);
+        evict(RECETTE, id);
+        evict(RECETTE_STATS, id);
+        evictCategories(id, null);
+        patchAll(recettes -> recettes instanceof CompactRecetteList compact
+                ? compact.removing(id)
+                : recettes.stream()
+                        .filter(cached -> !Objects.equals(cached.getId(), id))
+                        .collect(ArrayList::new, ArrayList::add, ArrayList::addAll));
+        log.debug("Caches invalidés pour la recette supprimée {}", id);
+    }
+
+    private void evict(String name, Object key) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    // Listes par catégorie contenant la recette, et liste de sa catégorie actuelle (casse ignorée)
+    private void evictCategories(Long id, String categorie) {
+        Cache<Object, Object> cache = nativeCache(RECETTES_BY_CATEGORIE);
+        if (cache == null) {
+            return;
+        }
+        cache.asMap().entrySet().removeIf(entry ->
+                (categorie != null && entry.getKey() instanceof String key && key.trim().equalsIgnoreCase(categorie.trim()))
+                        || containsRecette(entry.getValue(), id));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void patchAll(java.util.function.UnaryOperator<List<RecetteResponse>> patch) {
+        Cache<Object, Object> cache = nativeCache(RECETTES);
+        if (cache != null) {
+            // Correction atomique : une lecture concurrente voit l'ancienne ou la nouvelle liste
+            cache.asMap().computeIfPresent(SimpleKey.EMPTY, (key, value) ->
+                    value instanceof List<?> list ? patch.apply((List<RecetteResponse>) list) : null);
+        }
+    }
+
+    private static boolean containsRecette(Object value, Long id) {
+        // Liste hors tas : recherche par l'index des IDs, sans décoder les recettes
+        if (value instanceof CompactRecetteList compact) {
+            return compact.findById(id) != null;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (element instanceof RecetteResponse recette && Objects.equals(recette.getId(), id)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return cacheManager.getCache(name) instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+    }
+}
@@ -0,0 +1,164 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.msrecette.univ.soa.config.CacheProperties;
+import com.msrecette.univ.soa.service.RecetteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint actuator des caches de recettes (/actuator/recettecaches), pour le diagnostic et les incidents.
+ *
+ * Lecture : taille, mémoire estimée, budget, statistiques et clés les plus fréquentes de chaque cache.
+ * Écriture : préchargement d'une clé (POST, via le service pour passer par {@code @Cacheable}),
+ * éviction d'une clé ou vidage du cache (DELETE, sans clé). Les opérations ne concernent que
+ * l'instance interrogée. Cache inconnu ou clé invalide : réponse 400.
+ *
+ * Les opérations d'écriture permettraient de provoquer des rafales d'appels à ms-persistance :
+ * l'endpoint n'existe que si l'actuator écoute sur un port de gestion (management.server.port)
+ * distinct du port de l'API, que l'ingress ne route pas.
+ */
+@Component
+@ConditionalOnExpression("'${management.server.port:}' != '' and '${management.server.port:}' != '${server.port:8080}'")
+@Endpoint(id = "recettecaches")
+@Slf4j
+public class RecetteCachesEndpoint {
+
+    static final int HOTTEST_KEYS = 10;
+
+    private final CacheManager cacheManager;
+    private final CacheProperties cacheProperties;
+    private final RecetteService recetteService;
+
+    public RecetteCachesEndpoint(CacheManager cacheManager, CacheProperties cacheProperties,
+                                 @Lazy RecetteService recetteService) {
+        this.cacheManager = cacheManager;
+        this.cacheProperties = cacheProperties;
+        this.recetteService = recetteService;
+    }
+
+    @ReadOperation
+    public List<CacheDescriptor> caches() {
+        return cacheManager.getCacheNames().stream()
+                .map(name -> describe(name, HOTTEST_KEYS))
+                .toList();
+    }
+
+    @ReadOperation
+    public CacheDescriptor cache(@Selector String name) {
+        return describe(name, HOTTEST_KEYS);
+    }
+
+    /**
+     * Précharger une entrée : clé ignorée pour recettes, catégorie pour recettesByCategorie, ID sinon
+     */
+    @WriteOperation
+    public CacheDescriptor warm(@Selector String name, @Nullable String key) {
+        log.info("Préchargement du cache {} - clé: {}", name, key);
+        switch (name) {
+            case RecetteCacheInvalidator.RECETTES -> recetteService.getAllRecettes();
+            case RecetteCacheInvalidator.RECETTES_BY_CATEGORIE -> recetteService.getRecettesByCategorie(requireKey(key));
+            case RecetteCacheInvalidator.RECETTE -> recetteService.getRecetteById(parseId(key));
+            case RecetteCacheInvalidator.RECETTE_STATS -> recetteService.getRecetteStats(parseId(key));
+            default -> throw invalid("Cache inconnu: " + name);
+        }
+        return describe(name, HOTTEST_KEYS);
+    }
+
+    /**
+     * Évincer une entrée, ou vider le cache si aucune clé n'est fournie
+     */
+    @DeleteOperation
+    public CacheDescriptor evict(@Selector String name, @Nullable String key) {
+        org.springframework.cache.Cache cache = springCache(name);
+        if (key == null || key.isBlank()) {
+            log.warn("Vidage du cache {}", name);
+            cache.clear();
+        } else {
+            log.warn("Éviction de la clé {} du cache {}", key, name);
+            cache.evict(cacheKey(name, key));
+        }
+        return describe(name, HOTTEST_KEYS);
+    }
+
+    CacheDescriptor describe(String name, int hottestLimit) {
+        Cache<Object, Object> cache = nativeCache(name);
+        CacheStats stats = cache.stats();
+        List<String> hottest = cache.policy().eviction()
+                .map(eviction -> eviction.hottest(hottestLimit).keySet().stream().map(String::valueOf).toList())
+                .orElse(List.of());
+        long estimatedBytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+        return new CacheDescriptor(name, cache.estimatedSize(), estimatedBytes,
+                cacheProperties.spec(name).maxBytes(), stats.hitRate(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), hottest);
+    }
+
+    private Object cacheKey(String name, String key) {
+        return switch (name) {
+            case RecetteCacheInvalidator.RECETTES -> SimpleKey.EMPTY;
+            case RecetteCacheInvalidator.RECETTES_BY_CATEGORIE -> key;
+            default -> parseId(key);
+        };
+    }
+
+    private org.springframework.cache.Cache springCache(String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw invalid("Cache inconnu: " + name);
+        }
+        return cache;
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        if (springCache(name) instanceof CaffeineCache caffeineCache) {
+            return caffeineCache.getNativeCache();
+        }
+        throw invalid("Cache non Caffeine: " + name);
+    }
+
+    private static String requireKey(String key) {
+        if (key == null || key.isBlank()) {
+            throw invalid("La clé est obligatoire pour ce cache");
+        }
+        return key;
+    }
+
+    private static Long parseId(String key) {
+        try {
+            return Long.valueOf(requireKey(key).trim());
+        } catch (NumberFormatException e) {
+            throw invalid("Identifiant de recette invalide: " + key);
+        }
+    }
+
+    private static InvalidEndpointRequestException invalid(String message) {
+        return new InvalidEndpointRequestException(message, message);
+    }
+
+    /**
+     * État d'un cache
+     *
+     * @param estimatedBytes mémoire estimée retenue (voir RecetteWeigher)
+     * @param hottestKeys    clés les plus fréquemment lues, de la plus chaude à la moins chaude
+     */
+    public record CacheDescriptor(String name, long size, long estimatedBytes, long budgetBytes, double hitRate,
+                                  long hits, long misses, long evictions, List<String> hottestKeys) {
+    }
+}
@@ -0,0 +1,495 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.EtapeResponse;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodage binaire compact d'une recette, sans objet intermédiaire.
+ *
+ * Un masque de présence précède les champs non nuls ; entiers et décimaux en largeur fixe, chaînes
+ * en UTF-8 préfixées par leur longueur (varint), dates en secondes UTC et nanosecondes, listes
+ * préfixées par leur taille. {@link #sizeOf} donne la taille exacte, ce qui permet d'allouer le
+ * tampon final en une fois. Lecture par positions absolues : un même tampon se lit en parallèle.
+ */
+final class RecetteCodec {
+
+    private static final int ID = 1;
+    private static final int TITRE = 1 << 1;
+    private static final int DESCRIPTION = 1 << 2;
+    private static final int TEMPS_TOTAL = 1 << 3;
+    private static final int KCAL = 1 << 4;
+    private static final int IMAGE_URL = 1 << 5;
+    private static final int DIFFICULTE = 1 << 6;
+    private static final int CATEGORIE = 1 << 7;
+    private static final int DATE_CREATION = 1 << 8;
+    private static final int DATE_MODIFICATION = 1 << 9;
+    private static final int ACTIF = 1 << 10;
+    private static final int STATUT = 1 << 11;
+    private static final int MOTIF_REJET = 1 << 12;
+    private static final int UTILISATEUR_ID = 1 << 13;
+    private static final int INGREDIENTS = 1 << 14;
+    private static final int ETAPES = 1 << 15;
+    private static final int TAGS = 1 << 16;
+    private static final int NOTE_MOYENNE = 1 << 17;
+    private static final int NOMBRE_FEEDBACKS = 1 << 18;
+
+    private RecetteCodec() {
+    }
+
+    static int sizeOf(RecetteResponse recette) {
+        long size = 4
+                + sizeOf(recette.getId(), 8) + sizeOf(recette.getTitre()) + sizeOf(recette.getDescription())
+                + sizeOf(recette.getTempsTotal(), 4) + sizeOf(recette.getKcal(), 4) + sizeOf(recette.getImageUrl())
+                + sizeOf(recette.getDifficulte()) + sizeOf(recette.getCategorie())
+                + sizeOf(recette.getDateCreation(), 12) + sizeOf(recette.getDateModification(), 12)
+                + sizeOf(recette.getActif(), 1) + sizeOf(recette.getStatut()) + sizeOf(recette.getMotifRejet())
+                + sizeOf(recette.getUtilisateurId(), 8)
+                + sizeOf(recette.getNoteMoyenne(), 8) + sizeOf(recette.getNombreFeedbacks(), 4);
+        if (recette.getIngredients() != null) {
+            size += varintSize(recette.getIngredients().size());
+            for (IngredientResponse ingredient : recette.getIngredients()) {
+                size += 1;
+                if (ingredient != null) {
+                    size += sizeOf(ingredient.getId(), 8) + sizeOf(ingredient.getAlimentId(), 8)
+                            + sizeOf(ingredient.getAlimentNom()) + sizeOf(ingredient.getQuantite(), 4)
+                            + sizeOf(ingredient.getUnite()) + sizeOf(ingredient.getPrincipal(), 1);
+                }
+            }
+        }
+        if (recette.getEtapes() != null) {
+            size += varintSize(recette.getEtapes().size());
+            for (EtapeResponse etape : recette.getEtapes()) {
+                size += 1;
+                if (etape != null) {
+                    size += sizeOf(etape.getId(), 8) + sizeOf(etape.getOrdre(), 4)
+                            + sizeOf(etape.getTemps(), 4) + sizeOf(etape.getTexte());
+                }
+            }
+        }
+        if (recette.getTags() != null) {
+            size += varintSize(recette.getTags().size());
+            for (String tag : recette.getTags()) {
+                size += 1 + sizeOf(tag);
+            }
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Recette trop volumineuse pour l'encodage compact: " + recette.getId());
+        }
+        return (int) size;
+    }
+
+    static void write(ByteBuffer buffer, RecetteResponse recette) {
+        int presence = (recette.getId() != null ? ID : 0)
+                | (recette.getTitre() != null ? TITRE : 0)
+                | (recette.getDescription() != null ? DESCRIPTION : 0)
+                | (recette.getTempsTotal() != null ? TEMPS_TOTAL : 0)
+                | (recette.getKcal() != null ? KCAL : 0)
+                | (recette.getImageUrl() != null ? IMAGE_URL : 0)
+                | (recette.getDifficulte() != null ? DIFFICULTE : 0)
+                | (recette.getCategorie() != null ? CATEGORIE : 0)
+                | (recette.getDateCreation() != null ? DATE_CREATION : 0)
+                | (recette.getDateModification() != null ? DATE_MODIFICATION : 0)
+                | (recette.getActif() != null ? ACTIF : 0)
+                | (recette.getStatut() != null ? STATUT : 0)
+                | (recette.getMotifRejet() != null ? MOTIF_REJET : 0)
+                | (recette.getUtilisateurId() != null ? UTILISATEUR_ID : 0)
+                | (recette.getIngredients() != null ? INGREDIENTS : 0)
+                | (recette.getEtapes() != null ? ETAPES : 0)
+                | (recette.getTags() != null ? TAGS : 0)
+                | (recette.getNoteMoyenne() != null ? NOTE_MOYENNE : 0)
+                | (recette.getNombreFeedbacks() != null ? NOMBRE_FEEDBACKS : 0);
+        buffer.putInt(presence);
+
+        if (recette.getId() != null) {
+            buffer.putLong(recette.getId());
+        }
+        putString(buffer, recette.getTitre());
+        putString(buffer, recette.getDescription());
+        if (recette.getTempsTotal() != null) {
+            buffer.putInt(recette.getTempsTotal());
+        }
+        if (recette.getKcal() != null) {
+            buffer.putInt(recette.getKcal());
+        }
+        putString(buffer, recette.getImageUrl());
+        putString(buffer, recette.getDifficulte());
+        putString(buffer, recette.getCategorie());
+        putDate(buffer, recette.getDateCreation());
+        putDate(buffer, recette.getDateModification());
+        if (recette.getActif() != null) {
+            buffer.put((byte) (recette.getActif() ? 1 : 0));
+        }
+        putString(buffer, recette.getStatut());
+        putString(buffer, recette.getMotifRejet());
+        if (recette.getUtilisateurId() != null) {
+            buffer.putLong(recette.getUtilisateurId());
+        }
+
+        if (recette.getIngredients() != null) {
+            putVarint(buffer, recette.getIngredients().size());
+            for (IngredientResponse ingredient : recette.getIngredients()) {
+                writeIngredient(buffer, ingredient);
+            }
+        }
+        if (recette.getEtapes() != null) {
+            putVarint(buffer, recette.getEtapes().size());
+            for (EtapeResponse etape : recette.getEtapes()) {
+                writeEtape(buffer, etape);
+            }
+        }
+        if (recette.getTags() != null) {
+            putVarint(buffer, recette.getTags().size());
+            for (String tag : recette.getTags()) {
+                buffer.put((byte) (tag != null ? 1 : 0));
+                putString(buffer, tag);
+            }
+        }
+        if (recette.getNoteMoyenne() != null) {
+            buffer.putDouble(recette.getNoteMoyenne());
+        }
+        if (recette.getNombreFeedbacks() != null) {
+            buffer.putInt(recette.getNombreFeedbacks());
+        }
+    }
+
+    static RecetteResponse read(ByteBuffer buffer, int offset) {
+        Reader in = new Reader(buffer, offset);
+        int presence = in.getInt();
+        RecetteResponse recette = new RecetteResponse();
+        if ((presence & ID) != 0) {
+            recette.setId(in.getLong());
+        }
+        if ((presence & TITRE) != 0) {
+            recette.setTitre(in.getString());
+        }
+        if ((presence & DESCRIPTION) != 0) {
+            recette.setDescription(in.getString());
+        }
+        if ((presence & TEMPS_TOTAL) != 0) {
+            recette.setTempsTotal(in.getInt());
+        }
+        if ((presence & KCAL) != 0) {
+            recette.setKcal(in.getInt());
+        }
+        if ((presence & IMAGE_URL) != 0) {
+            recette.setImageUrl(in.getString());
+        }
+        if ((presence & DIFFICULTE) != 0) {
+            recette.setDifficulte(in.getString());
+        }
+        if ((presence & CATEGORIE) != 0) {
+            recette.setCategorie(in.getString());
+        }
+        if ((presence & DATE_CREATION) != 0) {
+            recette.setDateCreation(in.getDate());
+        }
+        if ((presence & DATE_MODIFICATION) != 0) {
+            recette.setDateModification(in.getDate());
+        }
+        if ((presence & ACTIF) != 0) {
+            recette.setActif(in.getByte() != 0);
+        }
+        if ((presence & STATUT) != 0) {
+            recette.setStatut(in.getString());
+        }
+        if ((presence & MOTIF_REJET) != 0) {
+            recette.setMotifRejet(in.getString());
+        }
+        if ((presence & UTILISATEUR_ID) != 0) {
+            recette.setUtilisateurId(in.getLong());
+        }
+
+        if ((presence & INGREDIENTS) != 0) {
+            int count = in.getVarint();
+            List<IngredientResponse> ingredients = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ingredients.add(readIngredient(in));
+            }
+            recette.setIngredients(ingredients);
+        }
+        if ((presence & ETAPES) != 0) {
+            int count = in.getVarint();
+            List<EtapeResponse> etapes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                etapes.add(readEtape(in));
+            }
+            recette.setEtapes(etapes);
+        }
+        if ((presence & TAGS) != 0) {
+            int count = in.getVarint();
+            List<String> tags = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tags.add(in.getByte() != 0 ? in.getString() : null);
+            }
+            recette.setTags(tags);
+        }
+        if ((presence & NOTE_MOYENNE) != 0) {
+            recette.setNoteMoyenne(in.getDouble());
+        }
+        if ((presence & NOMBRE_FEEDBACKS) != 0) {
+            recette.setNombreFeedbacks(in.getInt());
+        }
+        return recette;
+    }
+
+    /**
+     * Identifiant seul, sans décoder la recette
+     */
+    static Long readId(ByteBuffer buffer, int offset) {
+        return (buffer.getInt(offset) & ID) != 0 ? buffer.getLong(offset + 4) : null;
+    }
+
+    private static void writeIngredient(ByteBuffer buffer, IngredientResponse ingredient) {
+        if (ingredient == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        int presence = 0x80
+                | (ingredient.getId() != null ? 1 : 0)
+                | (ingredient.getAlimentId() != null ? 1 << 1 : 0)
+                | (ingredient.getAlimentNom() != null ? 1 << 2 : 0)
+                | (ingredient.getQuantite() != null ? 1 << 3 : 0)
+                | (ingredient.getUnite() != null ? 1 << 4 : 0)
+                | (ingredient.getPrincipal() != null ? 1 << 5 : 0);
+        buffer.put((byte) presence);
+        if (ingredient.getId() != null) {
+            buffer.putLong(ingredient.getId());
+        }
+        if (ingredient.getAlimentId() != null) {
+            buffer.putLong(ingredient.getAlimentId());
+        }
+        putString(buffer, ingredient.getAlimentNom());
+        if (ingredient.getQuantite() != null) {
+            buffer.putFloat(ingredient.getQuantite());
+        }
+        putString(buffer, ingredient.getUnite());
+        if (ingredient.getPrincipal() != null) {
+            buffer.put((byte) (ingredient.getPrincipal() ? 1 : 0));
+        }
+    }
+
+    private static IngredientResponse readIngredient(Reader in) {
+        int presence = in.getByte() & 0xFF;
+        if (presence == 0) {
+            return null;
+        }
+        IngredientResponse ingredient = new IngredientResponse();
+        if ((presence & 1) != 0) {
+            ingredient.setId(in.getLong());
+        }
+        if ((presence & 1 << 1) != 0) {
+            ingredient.setAlimentId(in.getLong());
+        }
+        if ((presence & 1 << 2) != 0) {
+            ingredient.setAlimentNom(in.getString());
+        }
+        if ((presence & 1 << 3) != 0) {
+            ingredient.setQuantite(in.getFloat());
+        }
+        if ((presence & 1 << 4) != 0) {
+            ingredient.setUnite(in.getString());
+        }
+        if ((presence & 1 << 5) != 0) {
+            ingredient.setPrincipal(in.getByte() != 0);
+        }
+        return ingredient;
+    }
+
+    private static void writeEtape(ByteBuffer buffer, EtapeResponse etape) {
+        if (etape == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        int presence = 0x80
+                | (etape.getId() != null ? 1 : 0)
+                | (etape.getOrdre() != null ? 1 << 1 : 0)
+                | (etape.getTemps() != null ? 1 << 2 : 0)
+                | (etape.getTexte() != null ? 1 << 3 : 0);
+        buffer.put((byte) presence);
+        if (etape.getId() != null) {
+            buffer.putLong(etape.getId());
+        }
+        if (etape.getOrdre() != null) {
+            buffer.putInt(etape.getOrdre());
+        }
+        if (etape.getTemps() != null) {
+            buffer.putInt(etape.getTemps());
+        }
+        putString(buffer, etape.getTexte());
+    }
+
+    private static EtapeResponse readEtape(Reader in) {
+        int presence = in.getByte() & 0xFF;
+        if (presence == 0) {
+            return null;
+        }
+        EtapeResponse etape = new EtapeResponse();
+        if ((presence & 1) != 0) {
+            etape.setId(in.getLong());
+        }
+        if ((presence & 1 << 1) != 0) {
+            etape.setOrdre(in.getInt());
+        }
+        if ((presence & 1 << 2) != 0) {
+            etape.setTemps(in.getInt());
+        }
+        if ((presence & 1 << 3) != 0) {
+            etape.setTexte(in.getString());
+        }
+        return etape;
+    }
+
+    private static long sizeOf(Object value, int width) {
+        return value != null ? width : 0;
+    }
+
+    private static long sizeOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = utf8Length(value);
+        return varintSize(length) + length;
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDateTime date) {
+        if (date != null) {
+            buffer.putLong(date.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(date.getNano());
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        putVarint(buffer, utf8Length(value));
+        // Encodage UTF-8 direct dans le tampon, sans tableau intermédiaire
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    // Curseur de lecture : le tampon partagé n'est lu qu'en positions absolues
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+        private int position;
+
+        Reader(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte getByte() {
+            return buffer.get(position++);
+        }
+
+        int getInt() {
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        long getLong() {
+            long value = buffer.getLong(position);
+            position += 8;
+            return value;
+        }
+
+        float getFloat() {
+            float value = buffer.getFloat(position);
+            position += 4;
+            return value;
+        }
+
+        double getDouble() {
+            double value = buffer.getDouble(position);
+            position += 8;
+            return value;
+        }
+
+        int getVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = getByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        String getString() {
+            byte[] bytes = new byte[getVarint()];
+            buffer.get(position, bytes);
+            position += bytes.length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        LocalDateTime getDate() {
+            long seconds = getLong();
+            int nanos = getInt();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.msrecette.univ.soa.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Réponses négatives locales pour les recettes inexistantes (liens périmés, robots).
+ *
+ * Deux sources :
+ * - un filtre de Bloom des identifiants du catalogue, reconstruit à chaque lecture complète du
+ *   catalogue et complété par les créations et les deltas de la réplique. Seuls les identifiants
+ *   inférieurs au plus grand identifiant de la dernière lecture complète sont tranchés : un
+ *   identifiant plus récent a pu être créé depuis sur un autre pod, dont ce filtre n'a rien vu, et
+ *   part toujours vers ms-persistance (une création locale ne relève pas cette borne). Les
+ *   identifiants vus depuis la dernière lecture complète sont journalisés et rejoués dans le
+ *   filtre reconstruit, pour ne pas perdre une création concurrente au chargement du catalogue ;
+ * - le cache "recetteAbsente" des 404 récents, à durée de vie courte.
+ * Métrique recette.client.negatives : réponses négatives rendues localement, par source.
+ */
+@Component
+@Slf4j
+public class RecetteExistenceCache {
+
+    public static final String RECETTE_ABSENTE = "recetteAbsente";
+
+    private final CacheManager cacheManager;
+    private final Counter bloomNegatives;
+    private final Counter cachedNegatives;
+
+    @Value("${recette.cache.id-filter.fpp:0.01}")
+    private double fpp = 0.01;
+
+    private volatile RecetteIdFilter filter;
+    // Plus grand identifiant des lectures complètes du catalogue : borne des réponses du filtre
+    private final AtomicLong maxCatalogueId = new AtomicLong(Long.MIN_VALUE);
+    // Identifiants vus depuis la dernière lecture complète et absents de celle-ci
+    private final Set<Long> recentIds = ConcurrentHashMap.newKeySet();
+
+    public RecetteExistenceCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.bloomNegatives = negatives(meterRegistry, "bloom");
+        this.cachedNegatives = negatives(meterRegistry, "cache");
+    }
+
+    /**
+     * Vrai si la recette est certainement inexistante : aucun appel à ms-persistance n'est nécessaire
+     */
+    public boolean isAbsent(Long id) {
+        if (id == null) {
+            return false;
+        }
+        RecetteIdFilter current = filter;
+        if (current != null && id <= maxCatalogueId.get() && !current.mightContain(id)) {
+            bloomNegatives.increment();
+            return true;
+        }
+        Cache absentes = cacheManager.getCache(RECETTE_ABSENTE);
+        if (absentes != null && absentes.get(id) != null) {
+            cachedNegatives.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Catalogue complet lu depuis ms-persistance : reconstruction du filtre
+     */
+    public void rebuild(Collection<Long> ids) {
+        Set<Long> catalogue = new HashSet<>(ids);
+        RecetteIdFilter rebuilt = RecetteIdFilter.of(catalogue, Math.max(2 * catalogue.size(), 10_000), fpp);
+        recentIds.forEach(rebuilt::add);
+        filter = rebuilt;
+        // Rejeu après la bascule : un ajout concurrent a pu viser l'ancien filtre
+        recentIds.forEach(rebuilt::add);
+        recentIds.removeAll(catalogue);
+        maxCatalogueId.accumulateAndGet(catalogue.stream().mapToLong(Long::longValue).max().orElse(Long.MIN_VALUE), Math::max);
+        log.debug("Filtre des identifiants reconstruit - {} recettes", catalogue.size());
+    }
+
+    /**
+     * Recette créée ou lue : présente dans le filtre, réponse négative en cache oubliée
+     */
+    public void recordPresent(Long id) {
+        if (id == null) {
+            return;
+        }
+        recentIds.add(id);
+        RecetteIdFilter current;
+        do {
+            current = filter;
+            if (current != null) {
+                current.add(id);
+            }
+        } while (current != filter);
+        Cache absentes = cacheManager.getCache(RECETTE_ABSENTE);
+        if (absentes != null) {
+            absentes.evict(id);
+        }
+    }
+
+    /**
+     * 404 de ms-persistance ou suppression
+     */
+    public void recordAbsent(Long id) {
+        if (id == null) {
+            return;
+        }
+        Cache absentes = cacheManager.getCache(RECETTE_ABSENTE);
+        if (absentes != null) {
+            absentes.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Recette supprimée : réponse négative en cache ; le filtre l'oubliera à la reconstruction suivante
+     */
+    public void recordDeleted(Long id) {
+        if (id == null) {
+            return;
+        }
+        recentIds.remove(id);
+        recordAbsent(id);
+    }
+
+    private static Counter negatives(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("recette.client.negatives")
+                .description("Recettes inexistantes écartées sans appel à ms-persistance")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
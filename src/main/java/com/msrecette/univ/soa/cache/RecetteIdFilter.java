@@ -0,0 +1,79 @@
+package com.msrecette.univ.soa.cache;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom des identifiants de recettes connus.
+ *
+ * Un identifiant absent du filtre n'a jamais été ajouté ; un identifiant présent existe probablement
+ * (faux positifs au taux fpp). Le filtre n'oublie rien : une recette supprimée y reste jusqu'à la
+ * reconstruction suivante, ce qui ne coûte qu'un appel à ms-persistance, jamais un faux 404.
+ * Lectures et ajouts sans verrou : chaque mot de bits est mis à jour atomiquement.
+ */
+public final class RecetteIdFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public RecetteIdFilter(int expectedIds, double fpp) {
+        int n = Math.max(expectedIds, 1);
+        // m = -n ln(p) / ln(2)^2 ; k = m / n ln(2)
+        long size = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (size + 63) >>> 6));
+        this.bits = (long) words.length() << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    public static RecetteIdFilter of(Collection<Long> ids, int expectedIds, double fpp) {
+        RecetteIdFilter filter = new RecetteIdFilter(expectedIds, fpp);
+        ids.forEach(filter::add);
+        return filter;
+    }
+
+    public void add(long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(hash, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, set) -> current | set);
+            }
+        }
+    }
+
+    public boolean mightContain(long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long size() {
+        return bits;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    // Double hachage : h1 + i * h2 sur les deux moitiés d'un hachage 64 bits
+    private long index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + (long) i * h2, bits);
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,115 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.msrecette.univ.soa.response.DistributionNotesResponse;
+import com.msrecette.univ.soa.response.EtapeResponse;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteStatsResponse;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Poids d'une entrée de cache : estimation de la mémoire retenue, en octets.
+ *
+ * Estimation du graphe d'objets pour une JVM 64 bits à références compressées (en-tête 12 octets,
+ * référence 4 octets, alignement sur 8), sans parcours par réflexion. Les objets partagés (chaînes
+ * internées, petits entiers) sont comptés à chaque occurrence : l'estimation est un majorant.
+ * Une liste hors tas compte pour ses tableaux d'index et ses octets hors tas.
+ */
+public class RecetteWeigher implements Weigher<Object, Object> {
+
+    // Noeud Caffeine (clé, valeur, liens de la politique d'éviction, horodatages)
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int UNKNOWN_OBJECT = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + estimate(key) + estimate(value));
+    }
+
+    public static long estimate(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Enum<?>) {
+            return 0;
+        }
+        if (value instanceof RecetteResponse recette) {
+            return recette(recette);
+        }
+        if (value instanceof CompactRecetteList compact) {
+            return compact.heapBytes() + compact.offHeapBytes();
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = list(collection.size());
+            for (Object element : collection) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof String string) {
+            return string(string);
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return 16;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 24;
+        }
+        if (value instanceof LocalDateTime) {
+            // LocalDateTime, LocalDate et LocalTime
+            return 72;
+        }
+        if (value instanceof IngredientResponse ingredient) {
+            return align(12 + 6 * 4) + estimate(ingredient.getId()) + estimate(ingredient.getAlimentId())
+                    + estimate(ingredient.getAlimentNom()) + estimate(ingredient.getQuantite())
+                    + estimate(ingredient.getUnite());
+        }
+        if (value instanceof EtapeResponse etape) {
+            return align(12 + 4 * 4) + estimate(etape.getId()) + estimate(etape.getOrdre())
+                    + estimate(etape.getTemps()) + estimate(etape.getTexte());
+        }
+        if (value instanceof RecetteStatsResponse stats) {
+            return align(12 + 7 * 4) + estimate(stats.getRecetteId()) + estimate(stats.getTitre())
+                    + estimate(stats.getNoteMoyenne()) + estimate(stats.getNombreFeedbacks())
+                    + estimate(stats.getNombreVues()) + estimate(stats.getNombreFavoris())
+                    + estimate(stats.getDistributionNotes());
+        }
+        if (value instanceof DistributionNotesResponse distribution) {
+            return align(12 + 5 * 4) + 5 * 16;
+        }
+        return UNKNOWN_OBJECT;
+    }
+
+    private static long recette(RecetteResponse recette) {
+        return align(12 + 19 * 4)
+                + estimate(recette.getId()) + estimate(recette.getTitre()) + estimate(recette.getDescription())
+                + estimate(recette.getTempsTotal()) + estimate(recette.getKcal()) + estimate(recette.getImageUrl())
+                + estimate(recette.getDifficulte()) + estimate(recette.getCategorie())
+                + estimate(recette.getDateCreation()) + estimate(recette.getDateModification())
+                + estimate(recette.getStatut()) + estimate(recette.getMotifRejet())
+                + estimate(recette.getUtilisateurId()) + estimate(recette.getIngredients())
+                + estimate(recette.getEtapes()) + estimate(recette.getTags())
+                + estimate(recette.getNoteMoyenne()) + estimate(recette.getNombreFeedbacks());
+    }
+
+    // Chaîne compacte : un octet par caractère, deux dès qu'un caractère sort de Latin-1
+    private static long string(String string) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 24 + align(16 + (long) string.length() * bytesPerChar);
+    }
+
+    // ArrayList et son tableau de références
+    private static long list(int size) {
+        return 24 + align(16 + 4L * size);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,72 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rechargement anticipé d'un cache (refreshAfterWrite).
+ *
+ * Seul le rechargement est pris en charge : le cache est lu sans chargement
+ * ({@link RefreshOnlyCaffeineCache}), l'absence de l'entrée revenant à Spring et à la méthode
+ * {@code @Cacheable} ; un chargement direct renverrait null. Une fois l'entrée
+ * âgée de refreshAfterWrite, la lecture suivante renvoie encore l'ancienne valeur et déclenche son
+ * rechargement sur l'executor dédié ; en cas d'échec l'ancienne valeur est conservée jusqu'à son
+ * expiration. Une liste vide n'est pas conservée, comme pour les méthodes {@code @Cacheable}.
+ * Durée et issue de chaque rechargement : métrique recette.cache.refresh.
+ */
+@Slf4j
+public class RefreshAheadLoader implements AsyncCacheLoader<Object, Object> {
+
+    private final String cacheName;
+    private final Function<Object, Object> source;
+    private final Executor executor;
+    private final Timer success;
+    private final Timer failure;
+
+    public RefreshAheadLoader(String cacheName, Function<Object, Object> source, Executor executor,
+                              MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.source = source;
+        this.executor = executor;
+        this.success = timer(meterRegistry, cacheName, "success");
+        this.failure = timer(meterRegistry, cacheName, "failure");
+    }
+
+    @Override
+    public CompletableFuture<?> asyncLoad(Object key, Executor caffeineExecutor) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<?> asyncReload(Object key, Object oldValue, Executor caffeineExecutor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                Object value = source.apply(key);
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Cache {} rechargé pour la clé {}", cacheName, key);
+                return value instanceof Collection<?> collection && collection.isEmpty() ? null : value;
+            } catch (RuntimeException e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.warn("Rechargement du cache {} impossible pour la clé {}: {}", cacheName, key, e.getMessage());
+                throw e;
+            }
+        }, executor);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String cacheName, String outcome) {
+        return Timer.builder("recette.cache.refresh")
+                .description("Rechargements anticipés des caches")
+                .tag("cache", cacheName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
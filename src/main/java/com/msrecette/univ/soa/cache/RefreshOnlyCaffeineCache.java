@@ -0,0 +1,30 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Cache Caffeine dont les lectures ne déclenchent jamais de chargement.
+ *
+ * Spring lit un cache chargeant ({@code LoadingCache}) par {@code get}, ce qui appellerait
+ * {@link RefreshAheadLoader#asyncLoad} à chaque absence et la compterait comme un échec de
+ * chargement. Les lectures passent ici par {@code getIfPresent} : une absence reste une absence
+ * (cache.gets result=miss), laissée à la méthode {@code @Cacheable}, tandis qu'une entrée âgée
+ * de refreshAfterWrite déclenche toujours son rechargement anticipé.
+ */
+public class RefreshOnlyCaffeineCache extends CaffeineCache {
+
+    public RefreshOnlyCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    public RefreshOnlyCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return getNativeCache().getIfPresent(key);
+    }
+}
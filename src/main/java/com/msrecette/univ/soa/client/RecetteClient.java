@@ -1,5 +1,6 @@
 package com.msrecette.univ.soa.client;
 
+import com.msrecette.univ.soa.cache.RecetteExistenceCache;
 import com.msrecette.univ.soa.request.RecetteCreateRequest;
 import com.msrecette.univ.soa.request.RecetteSearchRequest;
 import com.msrecette.univ.soa.request.RecetteUpdateRequest;
@@ -15,8 +16,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -24,6 +31,8 @@ import java.util.concurrent.CompletableFuture;
 public class RecetteClient {
 
     private final RestTemplate restTemplate;
+    private final SingleFlight singleFlight;
+    private final RecetteExistenceCache existenceCache;
 
     @Value("${ms.persistance.url:http://localhost:8090}")
     private String recetteServiceUrl;
@@ -65,14 +74,15 @@ public class RecetteClient {
         log.info("GET {} - Récupération de toutes les recettes", url);
 
         try {
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getAllRecettes", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes récupérées", response.getBody().size());
+            existenceCache.rebuild(ids(response.getBody()));
             return response.getBody();
 
         } catch (Exception e) {
@@ -81,6 +91,38 @@ public class RecetteClient {
         }
     }
 
+    /**
+     * Récupérer, sans cache, les recettes créées ou modifiées depuis une date (tout le catalogue si null).
+     * La réponse est rendue telle quelle : si ms-persistance ignore le paramètre, c'est à l'appelant
+     * de le détecter (voir CatalogReplicaSync).
+     */
+    public List<RecetteResponse> getRecettesModifiedSince(LocalDateTime since) {
+        String url = recetteServiceUrl + "/api/persistance/recettes"
+                + (since != null ? "?modifieDepuis=" + since.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : "");
+        log.info("GET {} - Synchronisation du catalogue", url);
+
+        try {
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getRecettesModifiedSince", url, () -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<List<RecetteResponse>>() {}
+            ), RecetteClient::copyRecettes);
+
+            List<RecetteResponse> recettes = response.getBody() != null ? response.getBody() : List.of();
+            if (since == null) {
+                existenceCache.rebuild(ids(recettes));
+                return recettes;
+            }
+            ids(recettes).forEach(existenceCache::recordPresent);
+            return recettes;
+
+        } catch (Exception e) {
+            log.error("Erreur lors de la synchronisation du catalogue: {}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la synchronisation du catalogue", e);
+        }
+    }
+
     /**
      * Récupérer les recettes d'un utilisateur
      */
@@ -89,12 +131,12 @@ public class RecetteClient {
         log.info("GET {} - Récupération des recettes de l'utilisateur {}", url, utilisateurId);
 
         try {
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getRecettesByUtilisateur", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes récupérées pour l'utilisateur {}", response.getBody().size(), utilisateurId);
             return response.getBody();
@@ -110,22 +152,28 @@ public class RecetteClient {
      */
     @Cacheable(value = "recette", key = "#id", unless = "#result == null")
     public RecetteResponse getRecetteById(Long id) {
+        if (existenceCache.isAbsent(id)) {
+            log.debug("Recette inexistante connue localement - ID: {}", id);
+            throw new RuntimeException("Recette non trouvée avec l'ID: " + id);
+        }
         String url = recetteServiceUrl + "/api/persistance/recettes/" + id;
         log.info("GET {} - Récupération de la recette", url);
 
         try {
-            ResponseEntity<RecetteResponse> response = restTemplate.exchange(
+            ResponseEntity<RecetteResponse> response = singleFlight.execute("getRecetteById", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     RecetteResponse.class
-            );
+            ), RecetteClient::copyRecette);
 
             log.info("Recette récupérée - ID: {}", id);
+            existenceCache.recordPresent(id);
             return response.getBody();
 
         } catch (HttpClientErrorException.NotFound e) {
             log.error("Recette non trouvée - ID: {}", id);
+            existenceCache.recordAbsent(id);
             throw new RuntimeException("Recette non trouvée avec l'ID: " + id);
         } catch (Exception e) {
             log.error("Erreur lors de la récupération de la recette: {}", e.getMessage());
@@ -148,16 +196,18 @@ public class RecetteClient {
         log.info("POST {} - Recherche de recettes", url);
 
         try {
+            // Copie figée des critères : clé de regroupement et corps envoyé, à l'abri des modifications de l'appelant
+            RecetteSearchRequest criteria = copyOf(searchRequest);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<RecetteSearchRequest> httpRequest = new HttpEntity<>(searchRequest, headers);
+            HttpEntity<RecetteSearchRequest> httpRequest = new HttpEntity<>(criteria, headers);
 
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("searchRecettes", criteria, () -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     httpRequest,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes trouvées", response.getBody().size());
             return response.getBody();
@@ -173,6 +223,14 @@ public class RecetteClient {
      */
     @Cacheable(value = "recettesByCategorie", key = "#categorie", unless = "#result == null || #result.isEmpty()")
     public List<RecetteResponse> getRecettesByCategorie(String categorie) {
+        return fetchRecettesByCategorie(categorie);
+    }
+
+    /**
+     * Appel à ms-persistance derrière {@link #getRecettesByCategorie}, sans passer par le cache :
+     * source du rechargement anticipé de "recettesByCategorie", pour recharger exactement la même requête
+     */
+    public List<RecetteResponse> fetchRecettesByCategorie(String categorie) {
         String url = recetteServiceUrl + "/api/persistance/recettes/search";
         log.info("POST {} - Récupération des recettes par catégorie: {}", url, categorie);
 
@@ -184,12 +242,12 @@ public class RecetteClient {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<RecetteSearchRequest> httpRequest = new HttpEntity<>(searchRequest, headers);
 
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getRecettesByCategorie", categorie, () -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     httpRequest,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes récupérées pour la catégorie {}", response.getBody().size(), categorie);
             return response.getBody();
@@ -255,13 +313,18 @@ public class RecetteClient {
      * Vérifier si une recette existe (optimisé avec HEAD request)
      */
     public boolean recetteExists(Long id) {
+        if (existenceCache.isAbsent(id)) {
+            return false;
+        }
         String url = recetteServiceUrl + "/api/persistance/recettes/" + id;
         log.debug("HEAD {} - Vérification de l'existence de la recette", url);
 
         try {
-            HttpHeaders headers = restTemplate.headForHeaders(url);
+            singleFlight.execute("recetteExists", url, () -> restTemplate.headForHeaders(url));
+            existenceCache.recordPresent(id);
             return true;
         } catch (HttpClientErrorException.NotFound e) {
+            existenceCache.recordAbsent(id);
             return false;
         } catch (Exception e) {
             log.warn("Erreur lors de la vérification de la recette: {}", e.getMessage());
@@ -274,22 +337,26 @@ public class RecetteClient {
      */
     @Cacheable(value = "recetteStats", key = "#id", unless = "#result == null")
     public RecetteStatsResponse getRecetteStats(Long id) {
+        if (existenceCache.isAbsent(id)) {
+            throw new RuntimeException("Recette non trouvée avec l'ID: " + id);
+        }
         String url = recetteServiceUrl + "/api/persistance/recettes/" + id + "/stats";
         log.info("GET {} - Récupération des statistiques de la recette", url);
 
         try {
-            ResponseEntity<RecetteStatsResponse> response = restTemplate.exchange(
+            ResponseEntity<RecetteStatsResponse> response = singleFlight.execute("getRecetteStats", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     RecetteStatsResponse.class
-            );
+            ), RecetteClient::copyStats);
 
             log.info("Statistiques récupérées pour la recette - ID: {}", id);
             return response.getBody();
 
         } catch (HttpClientErrorException.NotFound e) {
             log.error("Recette non trouvée - ID: {}", id);
+            existenceCache.recordAbsent(id);
             throw new RuntimeException("Recette non trouvée avec l'ID: " + id);
         } catch (Exception e) {
             log.error("Erreur lors de la récupération des statistiques: {}", e.getMessage());
@@ -305,12 +372,12 @@ public class RecetteClient {
         log.info("GET {} - Récupération des recettes en attente", url);
 
         try {
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getRecettesEnAttente", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes en attente récupérées", response.getBody().size());
             return response.getBody();
@@ -329,12 +396,12 @@ public class RecetteClient {
         log.info("GET {} - Récupération des recettes validées", url);
 
         try {
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getRecettesValidees", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes validées récupérées", response.getBody().size());
             return response.getBody();
@@ -353,12 +420,12 @@ public class RecetteClient {
         log.info("GET {} - Récupération des recettes rejetées", url);
 
         try {
-            ResponseEntity<List<RecetteResponse>> response = restTemplate.exchange(
+            ResponseEntity<List<RecetteResponse>> response = singleFlight.execute("getRecettesRejetees", url, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<List<RecetteResponse>>() {}
-            );
+            ), RecetteClient::copyRecettes);
 
             log.info("{} recettes rejetées récupérées", response.getBody().size());
             return response.getBody();
@@ -429,4 +496,56 @@ public class RecetteClient {
             throw new RuntimeException("Erreur lors du rejet de la recette", e);
         }
     }
+
+    private static List<Long> ids(List<RecetteResponse> recettes) {
+        return recettes.stream().map(RecetteResponse::getId).filter(Objects::nonNull).toList();
+    }
+
+    private static RecetteSearchRequest copyOf(RecetteSearchRequest request) {
+        return request.toBuilder()
+                .ingredientsInclus(unmodifiableCopy(request.getIngredientsInclus()))
+                .ingredientsExclus(unmodifiableCopy(request.getIngredientsExclus()))
+                .tags(unmodifiableCopy(request.getTags()))
+                .build();
+    }
+
+    private static <E> List<E> unmodifiableCopy(List<E> values) {
+        return values == null ? null : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    // Copies remises aux appelants regroupés (SingleFlight) : aucun ne partage les objets d'un autre
+
+    private static ResponseEntity<List<RecetteResponse>> copyRecettes(ResponseEntity<List<RecetteResponse>> response) {
+        List<RecetteResponse> body = response.getBody() == null ? null
+                : response.getBody().stream().map(RecetteClient::copy).collect(Collectors.toCollection(ArrayList::new));
+        return new ResponseEntity<>(body, response.getHeaders(), response.getStatusCode());
+    }
+
+    private static ResponseEntity<RecetteResponse> copyRecette(ResponseEntity<RecetteResponse> response) {
+        return new ResponseEntity<>(copy(response.getBody()), response.getHeaders(), response.getStatusCode());
+    }
+
+    private static ResponseEntity<RecetteStatsResponse> copyStats(ResponseEntity<RecetteStatsResponse> response) {
+        RecetteStatsResponse stats = response.getBody();
+        RecetteStatsResponse body = stats == null ? null : stats.toBuilder()
+                .distributionNotes(stats.getDistributionNotes() == null ? null
+                        : stats.getDistributionNotes().toBuilder().build())
+                .build();
+        return new ResponseEntity<>(body, response.getHeaders(), response.getStatusCode());
+    }
+
+    private static RecetteResponse copy(RecetteResponse recette) {
+        if (recette == null) {
+            return null;
+        }
+        return recette.toBuilder()
+                .ingredients(recette.getIngredients() == null ? null : recette.getIngredients().stream()
+                        .map(ingredient -> ingredient == null ? null : ingredient.toBuilder().build())
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .etapes(recette.getEtapes() == null ? null : recette.getEtapes().stream()
+                        .map(etape -> etape == null ? null : etape.toBuilder().build())
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .tags(recette.getTags() == null ? null : new ArrayList<>(recette.getTags()))
+                .build();
+    }
 }
@@ -0,0 +1,93 @@
+package com.msrecette.univ.soa.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Regroupement des lectures identiques simultanées vers ms-persistance (single-flight).
+ *
+ * Le premier appelant d'une clé exécute l'appel ; les appelants qui arrivent pendant qu'il est en
+ * cours attendent et reçoivent le même résultat, ou la même exception. La clé doit être immuable
+ * (ou une copie que l'appelant ne modifiera plus). Un résultat modifiable est remis à chaque appelant
+ * en attente sous forme de copie, pour qu'aucun ne voie les modifications d'un autre. La clé est
+ * libérée dès la fin de l'appel : un appel ultérieur repart vers ms-persistance. Métriques recette.client.calls
+ * (appels effectués) et recette.client.collapsed (appels évités), par opération.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Appel regroupé dont le résultat est immuable (partagé tel quel avec les appelants en attente)
+     */
+    public <T> T execute(String operation, Object key, Supplier<T> call) {
+        return execute(operation, key, call, UnaryOperator.identity());
+    }
+
+    /**
+     * Appel regroupé : le premier appelant reçoit le résultat, chaque appelant en attente sa propre copie
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> call, UnaryOperator<T> copy) {
+        List<Object> flightKey = Arrays.asList(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            counter("recette.client.collapsed", "Lectures regroupées avec un appel en cours", operation).increment();
+            try {
+                return copy.apply((T) leader.join());
+            } catch (CompletionException e) {
+                throw propagate(e.getCause());
+            }
+        }
+
+        counter("recette.client.calls", "Lectures effectuées vers ms-persistance", operation).increment();
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
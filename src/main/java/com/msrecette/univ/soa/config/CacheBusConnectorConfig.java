@@ -0,0 +1,30 @@
+package com.msrecette.univ.soa.config;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connecteur HTTP supplémentaire réservé au bus d'invalidation entre pods.
+ *
+ * Le service headless cible ce port ; le service principal et l'ingress ne routent que server.port,
+ * de sorte que /internal/** n'est pas joignable depuis l'extérieur du cluster.
+ */
+@Configuration
+@ConditionalOnProperty(name = "recette.cache.bus.type", havingValue = "http")
+public class CacheBusConnectorConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> cacheBusConnector(
+            @Value("${recette.cache.bus.port:8091}") int busPort) {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(busPort);
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+}
@@ -1,41 +1,162 @@
 package com.msrecette.univ.soa.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.msrecette.univ.soa.cache.CompactCatalogCache;
+import com.msrecette.univ.soa.cache.CompactRecetteList;
+import com.msrecette.univ.soa.cache.RecetteWeigher;
+import com.msrecette.univ.soa.cache.RefreshAheadLoader;
+import com.msrecette.univ.soa.cache.RefreshOnlyCaffeineCache;
+import com.msrecette.univ.soa.client.RecetteClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * Configuration du cache pour optimiser les performances
+ *
+ * Chaque cache a ses propres paramètres (recette.cache.specs.*) et un budget mémoire : les entrées
+ * sont pondérées par leur taille estimée en octets ({@link RecetteWeigher}), de sorte que la liste
+ * complète du catalogue ne compte pas autant qu'une recette isolée. Une entrée plus lourde que le
+ * budget de son cache n'est pas conservée. Les caches dotés d'un refresh-after-write sont rechargés
+ * en arrière-plan ({@link RefreshAheadLoader}) : les lecteurs ne paient pas l'appel à ms-persistance.
+ * Les caches en off-heap conservent leurs listes de recettes hors tas ({@link CompactCatalogCache}) :
+ * le catalogue complet ne pèse plus sur la vieille génération ni sur les pauses du GC.
+ * Statistiques et occupation de chaque cache : métriques cache.* et recette.cache.*, endpoint
+ * actuator recettecaches.
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    static final List<String> CACHE_NAMES = List.of(
+            "recettes",           // Cache pour toutes les recettes
+            "recette",            // Cache pour une recette spécifique
+            "recettesByCategorie",// Cache par catégorie
+            "recetteStats",       // Cache des statistiques
+            "recetteAbsente"      // Cache des recettes inexistantes (404 récents)
+    );
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "recettes",           // Cache pour toutes les recettes
-                "recette",            // Cache pour une recette spécifique
-                "recettesByCategorie",// Cache par catégorie
-                "recetteStats"        // Cache des statistiques
-        );
-
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    public CacheManager cacheManager(CacheProperties properties, MeterRegistry meterRegistry,
+                                     @Lazy RecetteClient recetteClient,
+                                     @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+        // Sources de rechargement, sans passer par les méthodes @Cacheable qui liraient le cache lui-même
+        Map<String, Function<Object, Object>> refreshSources = Map.of(
+                "recettes", key -> recetteClient.getRecettesModifiedSince(null),
+                "recettesByCategorie", key -> recetteClient.fetchRecettesByCategorie((String) key));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return properties.spec(name).isOffHeap()
+                        ? new CompactCatalogCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+
+            // Caches rechargés en arrière-plan : lecture sans chargement, l'absence revient à @Cacheable
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return properties.spec(name).isOffHeap()
+                        ? new CompactCatalogCache(name, cache, isAllowNullValues())
+                        : new RefreshOnlyCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheNames(CACHE_NAMES);
+        for (String name : CACHE_NAMES) {
+            CacheProperties.Spec spec = properties.spec(name);
+            Caffeine<Object, Object> builder = caffeineCacheBuilder(name, spec, meterRegistry);
+            Cache<Object, Object> cache;
+            if (spec.getRefreshAfterWrite() != null && refreshSources.containsKey(name)) {
+                Function<Object, Object> source = spec.isOffHeap()
+                        ? refreshSources.get(name).andThen(CompactCatalogCache::compact)
+                        : refreshSources.get(name);
+                AsyncLoadingCache<Object, Object> asyncCache = builder
+                        .refreshAfterWrite(spec.getRefreshAfterWrite())
+                        .buildAsync(new RefreshAheadLoader(name, source, refreshExecutor, meterRegistry));
+                cacheManager.registerCustomCache(name, asyncCache);
+                cache = asyncCache.synchronous();
+            } else {
+                cache = builder.build();
+                cacheManager.registerCustomCache(name, cache);
+            }
+            // Succès, échecs, chargements et évictions (cache.gets, cache.evictions...), mêmes tags que Spring Boot
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cache.manager", "cacheManager");
+            registerMemoryGauges(name, spec, cache, meterRegistry);
+        }
         return cacheManager;
     }
 
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
-        return Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(500)
-                .expireAfterWrite(10, TimeUnit.MINUTES)  // Expiration après 10 minutes
-                .expireAfterAccess(5, TimeUnit.MINUTES)  // Expiration si pas accédé pendant 5 min
+    /**
+     * Executor dédié aux rechargements anticipés, distinct du pool des traitements asynchrones
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    private Caffeine<Object, Object> caffeineCacheBuilder(String name, CacheProperties.Spec spec, MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(spec.maxBytes())
+                .weigher(new RecetteWeigher())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .evictionListener((key, value, cause) -> Counter.builder("recette.cache.evictions")
+                        .description("Entrées évincées par cache et par cause")
+                        .tag("cache", name)
+                        .tag("cause", cause.name())
+                        .register(meterRegistry)
+                        .increment())
                 .recordStats();                          // Enregistrer les statistiques du cache
+        if (spec.getExpireAfterAccess() != null && !spec.getExpireAfterAccess().isZero()) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
     }
-}
 
+    private void registerMemoryGauges(String name, CacheProperties.Spec spec, Cache<Object, Object> cache,
+                                      MeterRegistry meterRegistry) {
+        Gauge.builder("recette.cache.weight", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Mémoire estimée retenue par le cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("recette.cache.off-heap", cache, c -> c.asMap().values().stream()
+                        .mapToLong(value -> value instanceof CompactRecetteList compact ? compact.offHeapBytes() : 0)
+                        .sum())
+                .description("Mémoire hors tas retenue par le cache (comprise dans recette.cache.weight)")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("recette.cache.budget", spec, CacheProperties.Spec::maxBytes)
+                .description("Budget mémoire du cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.msrecette.univ.soa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paramètres des caches, par nom de cache (recette.cache.specs.&lt;nom&gt;.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "recette.cache")
+public class CacheProperties {
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    /**
+     * Paramètres d'un cache, valeurs par défaut si le cache n'est pas configuré
+     */
+    public Spec spec(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec());
+    }
+
+    @Data
+    public static class Spec {
+
+        // Budget mémoire estimé (voir RecetteWeigher)
+        private long maxMb = 16;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        // Expiration si l'entrée n'est pas lue ; nulle pour désactiver
+        private Duration expireAfterAccess = Duration.ofMinutes(5);
+
+        // Rechargement anticipé en arrière-plan (recettes, recettesByCategorie) ; absent pour désactiver
+        private Duration refreshAfterWrite;
+
+        // Listes de recettes conservées hors tas, décodées à la lecture (voir CompactCatalogCache)
+        private boolean offHeap;
+
+        public long maxBytes() {
+            return maxMb * 1024 * 1024;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.msrecette.univ.soa.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration des traitements planifiés (synchronisation de la réplique du catalogue)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,60 @@
+package com.msrecette.univ.soa.controller;
+
+import com.msrecette.univ.soa.cache.HttpGossipInvalidationBus;
+import com.msrecette.univ.soa.cache.InvalidationBatch;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Réception des invalidations diffusées par les autres pods (usage interne, hors documentation).
+ *
+ * N'est servi que sur le port du bus (recette.cache.bus.port, voir CacheBusConnectorConfig), que ni
+ * le service principal ni l'ingress n'exposent, et exige le jeton partagé entre les pods.
+ */
+@RestController
+@ConditionalOnProperty(name = "recette.cache.bus.type", havingValue = "http")
+@Hidden
+@Slf4j
+public class CacheInvalidationController {
+
+    private final HttpGossipInvalidationBus invalidationBus;
+    private final String token;
+    private final int busPort;
+
+    public CacheInvalidationController(HttpGossipInvalidationBus invalidationBus,
+                                       @Value("${recette.cache.bus.token:}") String token,
+                                       @Value("${recette.cache.bus.port:8091}") int busPort) {
+        this.invalidationBus = invalidationBus;
+        this.token = HttpGossipInvalidationBus.requireToken(token);
+        this.busPort = busPort;
+    }
+
+    @PostMapping(HttpGossipInvalidationBus.PATH)
+    public ResponseEntity<Void> receive(
+            @RequestHeader(value = HttpGossipInvalidationBus.TOKEN_HEADER, required = false) String receivedToken,
+            @RequestBody InvalidationBatch batch,
+            HttpServletRequest request) {
+        if (request.getLocalPort() != busPort) {
+            return ResponseEntity.notFound().build();
+        }
+        if (receivedToken == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), receivedToken.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Lot d'invalidations refusé: jeton absent ou invalide");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        invalidationBus.receive(batch);
+        return ResponseEntity.accepted().build();
+    }
+}
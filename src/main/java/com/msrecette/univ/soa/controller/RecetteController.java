@@ -1,11 +1,20 @@
 package com.msrecette.univ.soa.controller;
 
 
+import com.msrecette.univ.soa.index.PlannedSearch;
+import com.msrecette.univ.soa.index.SearchPlan;
+import com.msrecette.univ.soa.request.PantryRequest;
 import com.msrecette.univ.soa.request.RecetteCreateRequest;
 import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
 import com.msrecette.univ.soa.request.RecetteUpdateRequest;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
 import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSearchPageResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
 import com.msrecette.univ.soa.response.RecetteStatsResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
 import com.msrecette.univ.soa.service.RecetteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -94,13 +103,73 @@ public class RecetteController {
 
     @PostMapping("/search")
     @Operation(summary = "Rechercher des recettes",
-            description = "Recherche des recettes selon différents critères (catégorie, difficulté, ingrédients, etc.)")
+            description = "Recherche des recettes selon différents critères (catégorie, difficulté, ingrédients, etc.). "
+                    + "L'en-tête X-Search-Plan indique le plan exécuté (LOCAL, REMOTE ou HYBRID)")
     @ApiResponse(responseCode = "200", description = "Résultats de recherche récupérés")
     public ResponseEntity<List<RecetteResponse>> searchRecettes(
             @Valid @RequestBody RecetteSearchRequest searchRequest) {
         log.info("POST /api/recettes/search - Recherche de recettes");
-        List<RecetteResponse> recettes = recetteService.searchRecettes(searchRequest);
-        return ResponseEntity.ok(recettes);
+        PlannedSearch result = recetteService.searchRecettesPlanned(searchRequest);
+        return ResponseEntity.ok()
+                .header(SearchPlan.HEADER, result.plan().describe())
+                .body(result.recettes());
+    }
+
+    @PostMapping("/search/page")
+    @Operation(summary = "Rechercher des recettes avec pagination",
+            description = "Retourne une page de résumés de recettes et un curseur opaque pour la page suivante. "
+                    + "Le curseur est autonome (dernière recette vue) : la page suivante reprend juste après "
+                    + "sur n'importe quelle instance, à condition de renvoyer les mêmes critères et le même tri.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de résultats récupérée"),
+            @ApiResponse(responseCode = "400", description = "Taille de page ou curseur invalide, "
+                    + "ou curseur issu d'autres critères ou d'un autre tri")
+    })
+    public ResponseEntity<RecetteSearchPageResponse> searchRecettesPage(
+            @Parameter(description = "Nombre de recettes par page (1 à 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Ordre de tri", example = "RECENTES")
+            @RequestParam(defaultValue = "RECENTES") RecetteSortEnum sort,
+            @Parameter(description = "Curseur retourné par la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Valid @RequestBody(required = false) RecetteSearchRequest searchRequest) {
+        log.info("POST /api/recettes/search/page?size={}&sort={} - Recherche paginée", size, sort);
+        RecetteSearchPageResponse page = recetteService.searchRecettesPage(searchRequest, size, sort, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    @PostMapping("/search/facets")
+    @Operation(summary = "Compter les résultats de recherche par facette",
+            description = "Retourne, pour les critères donnés, le nombre de résultats par catégorie, "
+                    + "par difficulté et pour les tags les plus fréquents")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comptages récupérés"),
+            @ApiResponse(responseCode = "400", description = "Nombre de tags invalide")
+    })
+    public ResponseEntity<RecetteFacetsResponse> getSearchFacets(
+            @Parameter(description = "Nombre maximal de tags retournés (1 à 100)", example = "20")
+            @RequestParam(defaultValue = "20") int maxTags,
+            @Valid @RequestBody(required = false) RecetteSearchRequest searchRequest) {
+        log.info("POST /api/recettes/search/facets - Comptage des facettes");
+        RecetteFacetsResponse facets = recetteService.getSearchFacets(searchRequest, maxTags);
+        return ResponseEntity.ok(facets);
+    }
+
+    @PostMapping("/pantry")
+    @Operation(summary = "Que puis-je cuisiner ?",
+            description = "Classe les recettes selon la part de leurs ingrédients couverte par les aliments "
+                    + "disponibles, les ingrédients principaux comptant double")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recettes réalisables récupérées"),
+            @ApiResponse(responseCode = "400", description = "Liste d'aliments vide ou nombre de résultats invalide")
+    })
+    public ResponseEntity<List<PantryMatchResponse>> searchPantry(
+            @Parameter(description = "Nombre de recettes à récupérer (1 à 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Valid @RequestBody PantryRequest request) {
+        log.info("POST /api/recettes/pantry - Recherche par garde-manger");
+        List<PantryMatchResponse> matches = recetteService.searchPantry(request, limit);
+        return ResponseEntity.ok(matches);
     }
 
     @GetMapping("/categorie/{categorie}")
@@ -130,6 +199,25 @@ public class RecetteController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/{id}/similaires")
+    @Operation(summary = "Récupérer les recettes similaires",
+            description = "Récupère les recettes dont les aliments et les tags sont les plus proches "
+                    + "de ceux de la recette (indice de Jaccard estimé par MinHash)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recettes similaires récupérées"),
+            @ApiResponse(responseCode = "400", description = "Nombre de résultats invalide"),
+            @ApiResponse(responseCode = "404", description = "Recette non trouvée")
+    })
+    public ResponseEntity<List<RecetteSimilaireResponse>> getSimilarRecettes(
+            @Parameter(description = "ID de la recette", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Nombre de recettes à récupérer (1 à 50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/recettes/{}/similaires - Recherche des recettes similaires", id);
+        List<RecetteSimilaireResponse> similaires = recetteService.getSimilarRecettes(id, limit);
+        return ResponseEntity.ok(similaires);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Mettre à jour une recette",
             description = "Met à jour les informations d'une recette existante")
@@ -197,6 +285,24 @@ public class RecetteController {
         return ResponseEntity.ok(recettes);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggérer des recettes et des tags",
+            description = "Autocomplétion : titres de recettes et tags commençant par le préfixe "
+                    + "(sans accents ni casse), les plus populaires d'abord")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions récupérées"),
+            @ApiResponse(responseCode = "400", description = "Nombre de suggestions invalide")
+    })
+    public ResponseEntity<List<SuggestionResponse>> suggestRecettes(
+            @Parameter(description = "Début du titre ou du tag saisi", example = "carbo")
+            @RequestParam(defaultValue = "") String prefix,
+            @Parameter(description = "Nombre de suggestions (1 à 20)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/recettes/suggest?prefix={}&limit={} - Suggestions", prefix, limit);
+        List<SuggestionResponse> suggestions = recetteService.suggestRecettes(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/en-attente")
     @Operation(summary = "Récupérer les recettes en attente de validation",
             description = "Récupère toutes les recettes ayant le statut EN_ATTENTE")
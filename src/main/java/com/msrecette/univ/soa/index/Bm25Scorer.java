@@ -0,0 +1,97 @@
+package com.msrecette.univ.soa.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Score de pertinence BM25F d'une recette pour les termes d'un mot-clé.
+ *
+ * Les fréquences de chaque champ sont normalisées par la longueur du champ, pondérées
+ * (titre > tags > description), puis saturées une seule fois par terme. Les statistiques
+ * (nombre de recettes, longueurs moyennes, fréquence documentaire) sont celles tenues
+ * par l'index : rien n'est recompté au moment de la requête.
+ * Un terme de requête correspond au terme identique, à ses complétions (préfixe, poids réduit)
+ * ou, s'il n'a aucune correspondance exacte, aux termes de titre proches (poids encore réduit) :
+ * seule la meilleure correspondance compte.
+ */
+final class Bm25Scorer {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    // Poids par champ, dans l'ordre de TermVector (titre, description, tags)
+    static final double[] FIELD_BOOSTS = {3.0, 1.0, 2.0};
+
+    static final double PREFIX_WEIGHT = 0.8;
+    static final double FUZZY_WEIGHT = 0.5;
+
+    private final int documentCount;
+    private final double[] averageFieldLengths;
+    private final ToIntFunction<String> documentFrequency;
+    private final List<String> queryTerms;
+    private final boolean[] fuzzy;
+    private final Map<String, Double> idfCache = new HashMap<>();
+
+    /**
+     * @param fuzzy pour chaque terme de requête, vrai s'il n'a aucune correspondance exacte dans l'index
+     */
+    Bm25Scorer(int documentCount, double[] averageFieldLengths, ToIntFunction<String> documentFrequency,
+               List<String> queryTerms, boolean[] fuzzy) {
+        this.documentCount = documentCount;
+        this.averageFieldLengths = averageFieldLengths;
+        this.documentFrequency = documentFrequency;
+        this.queryTerms = queryTerms;
+        this.fuzzy = fuzzy;
+    }
+
+    double score(TermVector vector) {
+        double score = 0;
+        for (int q = 0; q < queryTerms.size(); q++) {
+            String queryTerm = queryTerms.get(q);
+            score += fuzzy[q] ? bestFuzzy(vector, queryTerm) : bestPrefix(vector, queryTerm);
+        }
+        return score;
+    }
+
+    private double bestPrefix(TermVector vector, String prefix) {
+        double best = 0;
+        for (int i = vector.lowerBound(prefix); i < vector.size() && vector.term(i).startsWith(prefix); i++) {
+            double weight = vector.term(i).length() == prefix.length() ? 1.0 : PREFIX_WEIGHT;
+            best = Math.max(best, weight * termScore(vector, i));
+        }
+        return best;
+    }
+
+    private double bestFuzzy(TermVector vector, String queryTerm) {
+        int maxEdits = TrigramIndex.maxEdits(queryTerm.length());
+        double best = 0;
+        for (int i = 0; i < vector.size(); i++) {
+            if (vector.frequency(i, TermVector.TITRE) > 0
+                    && TrigramIndex.boundedDistance(queryTerm, vector.term(i), maxEdits) <= maxEdits) {
+                best = Math.max(best, FUZZY_WEIGHT * termScore(vector, i));
+            }
+        }
+        return best;
+    }
+
+    private double termScore(TermVector vector, int index) {
+        double weightedFrequency = 0;
+        for (int field = 0; field < TermVector.FIELDS; field++) {
+            int frequency = vector.frequency(index, field);
+            if (frequency > 0 && averageFieldLengths[field] > 0) {
+                double norm = 1 - B + B * vector.fieldLength(field) / averageFieldLengths[field];
+                weightedFrequency += FIELD_BOOSTS[field] * frequency / norm;
+            }
+        }
+        return idf(vector.term(index)) * weightedFrequency / (K1 + weightedFrequency);
+    }
+
+    private double idf(String term) {
+        return idfCache.computeIfAbsent(term, t -> {
+            int df = documentFrequency.applyAsInt(t);
+            return Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        });
+    }
+}
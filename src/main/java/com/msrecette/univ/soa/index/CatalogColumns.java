@@ -0,0 +1,108 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.BitSetUtil;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Instantané immuable et colonnaire des critères numériques du catalogue, figé sur une version.
+ *
+ * Chaque colonne est un tableau primitif indexé par ordinal : un filtre parcourt la mémoire
+ * de façon contiguë au lieu de déréférencer un objet et ses valeurs encapsulées par recette.
+ * Une valeur absente est codée de façon à respecter la sémantique des index de plage :
+ * {@link #MISSING_INT} satisfait tout maximum, NaN ne satisfait aucun minimum.
+ * Les ordinaux libres portent des valeurs quelconques : le résultat doit être intersecté
+ * avec les candidats.
+ */
+@Slf4j
+final class CatalogColumns {
+
+    static final int MISSING_INT = Integer.MIN_VALUE;
+
+    static final ColumnScan SCAN = selectScan();
+
+    private final long version;
+    private final int size;
+    private final int[] tempsTotal;
+    private final int[] kcal;
+    private final double[] noteMoyenne;
+
+    private CatalogColumns(long version, int size, int[] tempsTotal, int[] kcal, double[] noteMoyenne) {
+        this.version = version;
+        this.size = size;
+        this.tempsTotal = tempsTotal;
+        this.kcal = kcal;
+        this.noteMoyenne = noteMoyenne;
+    }
+
+    /**
+     * @param documents recettes par ordinal (null pour un ordinal libre)
+     */
+    static CatalogColumns build(long version, List<RecetteResponse> documents) {
+        int size = documents.size();
+        int[] tempsTotal = new int[size];
+        int[] kcal = new int[size];
+        double[] noteMoyenne = new double[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            RecetteResponse recette = documents.get(ordinal);
+            tempsTotal[ordinal] = recette != null && recette.getTempsTotal() != null ? recette.getTempsTotal() : MISSING_INT;
+            kcal[ordinal] = recette != null && recette.getKcal() != null ? recette.getKcal() : MISSING_INT;
+            noteMoyenne[ordinal] = recette != null && recette.getNoteMoyenne() != null ? recette.getNoteMoyenne() : Double.NaN;
+        }
+        return new CatalogColumns(version, size, tempsTotal, kcal, noteMoyenne);
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * Ordinaux satisfaisant tous les critères numériques de la requête (temps, calories, note)
+     */
+    RoaringBitmap matchRanges(RecetteSearchRequest criteria) {
+        return matchRanges(criteria, SCAN);
+    }
+
+    RoaringBitmap matchRanges(RecetteSearchRequest criteria, ColumnScan scan) {
+        return BitSetUtil.bitmapOf(matchWords(criteria, scan));
+    }
+
+    long[] matchWords(RecetteSearchRequest criteria, ColumnScan scan) {
+        long[] words = new long[(size + 63) >>> 6];
+        Arrays.fill(words, -1L);
+        if ((size & 63) != 0) {
+            words[words.length - 1] = (1L << (size & 63)) - 1;
+        }
+
+        if (criteria.getTempsMax() != null) {
+            scan.andAtMost(tempsTotal, criteria.getTempsMax(), size, words);
+        }
+        if (criteria.getKcalMax() != null) {
+            scan.andAtMost(kcal, criteria.getKcalMax(), size, words);
+        }
+        if (criteria.getNoteMoyenneMin() != null) {
+            scan.andAtLeast(noteMoyenne, criteria.getNoteMoyenneMin(), size, words);
+        }
+        return words;
+    }
+
+    // L'API Vector est un module en incubation : il doit être ajouté au lancement (--add-modules)
+    private static ColumnScan selectScan() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                ColumnScan scan = new VectorColumnScan();
+                log.info("Filtrage colonnaire vectoriel - {}", VectorColumnScan.describe());
+                return scan;
+            } catch (LinkageError e) {
+                log.warn("API Vector inutilisable, filtrage colonnaire scalaire: {}", e.getMessage());
+            }
+        }
+        log.info("Module jdk.incubator.vector absent, filtrage colonnaire scalaire");
+        return new ScalarColumnScan();
+    }
+}
@@ -0,0 +1,22 @@
+package com.msrecette.univ.soa.index;
+
+/**
+ * Évaluation d'un prédicat de plage sur une colonne primitive, 64 ordinaux par mot.
+ *
+ * Le bit j du mot w correspond à l'ordinal w * 64 + j ; chaque appel conserve (ET logique)
+ * les bits des ordinaux satisfaisant le prédicat, ce qui permet d'enchaîner les critères.
+ * Deux implémentations : {@link VectorColumnScan} (instructions SIMD via l'API Vector)
+ * et {@link ScalarColumnScan}, utilisée lorsque le module jdk.incubator.vector est absent.
+ */
+interface ColumnScan {
+
+    /**
+     * Conserver les ordinaux [0, size[ dont la valeur est inférieure ou égale au maximum
+     */
+    void andAtMost(int[] column, int max, int size, long[] words);
+
+    /**
+     * Conserver les ordinaux [0, size[ dont la valeur est supérieure ou égale au minimum (NaN exclu)
+     */
+    void andAtLeast(double[] column, double min, int size, long[] words);
+}
@@ -0,0 +1,83 @@
+package com.msrecette.univ.soa.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+
+/**
+ * Index de plage sur une colonne décimale (note moyenne)
+ */
+final class DoubleRangeIndex extends RangeIndex {
+
+    private double[] column = new double[0];
+    private double[] sortedValues = new double[0];
+
+    void set(int ordinal, Double value) {
+        if (value == null || value.isNaN()) {
+            clear(ordinal);
+            return;
+        }
+        if (ordinal >= column.length) {
+            column = Arrays.copyOf(column, grow(column.length, ordinal));
+        }
+        column[ordinal] = value;
+        present.add(ordinal);
+        pending.add(ordinal);
+    }
+
+    /**
+     * Conserver les candidats dont la valeur est supérieure ou égale au minimum
+     */
+    void restrictAtLeast(RoaringBitmap candidates, double min, boolean keepMissing) {
+        int from = lowerBound(min);
+        restrict(candidates, from, sortedValues.length, ordinal -> column[ordinal] >= min, keepMissing);
+    }
+
+    @Override
+    void compact() {
+        int size = present.getCardinality();
+        double[] values = new double[size];
+        int[] index = {0};
+        present.forEach((int ordinal) -> values[index[0]++] = column[ordinal]);
+        Arrays.sort(values);
+
+        // Tri primitif des couples (rang de la valeur, ordinal) empaquetés dans un long
+        long[] packed = new long[size];
+        index[0] = 0;
+        present.forEach((int ordinal) -> {
+            long rank = Arrays.binarySearch(values, column[ordinal]);
+            packed[index[0]++] = (rank << 32) | (ordinal & 0xFFFFFFFFL);
+        });
+        Arrays.sort(packed);
+
+        int[] ordinals = new int[size];
+        for (int i = 0; i < size; i++) {
+            ordinals[i] = (int) packed[i];
+        }
+
+        sortedValues = values;
+        sortedOrdinals = ordinals;
+        pending.clear();
+    }
+
+    @Override
+    protected void resetValues() {
+        column = new double[0];
+        sortedValues = new double[0];
+    }
+
+    // Premier indice dont la valeur est supérieure ou égale à min
+    private int lowerBound(double min) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < min) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
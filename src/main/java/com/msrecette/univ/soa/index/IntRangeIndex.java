@@ -0,0 +1,76 @@
+package com.msrecette.univ.soa.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+
+/**
+ * Index de plage sur une colonne entière (temps total, calories)
+ */
+final class IntRangeIndex extends RangeIndex {
+
+    private int[] column = new int[0];
+    private int[] sortedValues = new int[0];
+
+    void set(int ordinal, Integer value) {
+        if (value == null) {
+            clear(ordinal);
+            return;
+        }
+        if (ordinal >= column.length) {
+            column = Arrays.copyOf(column, grow(column.length, ordinal));
+        }
+        column[ordinal] = value;
+        present.add(ordinal);
+        pending.add(ordinal);
+    }
+
+    /**
+     * Conserver les candidats dont la valeur est inférieure ou égale au maximum
+     */
+    void restrictAtMost(RoaringBitmap candidates, int max, boolean keepMissing) {
+        int to = upperBound(max);
+        restrict(candidates, 0, to, ordinal -> column[ordinal] <= max, keepMissing);
+    }
+
+    @Override
+    void compact() {
+        // Tri primitif des couples (valeur, ordinal) empaquetés dans un long
+        long[] packed = new long[present.getCardinality()];
+        int[] index = {0};
+        present.forEach((int ordinal) -> packed[index[0]++] = ((long) column[ordinal] << 32) | (ordinal & 0xFFFFFFFFL));
+        Arrays.sort(packed);
+
+        int[] values = new int[packed.length];
+        int[] ordinals = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            values[i] = (int) (packed[i] >> 32);
+            ordinals[i] = (int) packed[i];
+        }
+
+        sortedValues = values;
+        sortedOrdinals = ordinals;
+        pending.clear();
+    }
+
+    @Override
+    protected void resetValues() {
+        column = new int[0];
+        sortedValues = new int[0];
+    }
+
+    // Premier indice dont la valeur est strictement supérieure à max
+    private int upperBound(int max) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= max) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
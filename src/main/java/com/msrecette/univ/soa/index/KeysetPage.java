@@ -0,0 +1,70 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Page d'une recherche lue par clé : les recettes qui suivent la dernière recette vue
+ * dans l'ordre de tri.
+ *
+ * @param recettes  recettes de la page, dans l'ordre de tri
+ * @param lastScore score de pertinence de la dernière recette de la page (0 hors tri par pertinence)
+ * @param hasMore   vrai si d'autres recettes suivent la page
+ */
+public record KeysetPage(List<RecetteResponse> recettes, double lastScore, boolean hasMore) {
+
+    /**
+     * Lire la page qui suit le curseur (la première page sans curseur) dans un résultat déjà trié
+     * ({@link RecetteCatalogIndex#sortedSnapshot}). La position est retrouvée par recherche
+     * exponentielle puis dichotomique : O(log p) comparaisons pour la page à la position p, et,
+     * pour la pertinence, seules les recettes jusqu'à la page demandée sont extraites du tas.
+     *
+     * @param snapshot résultat trié de la recherche ({@link RankedResults} pour la pertinence)
+     * @param after    curseur de la page précédente, ou null
+     */
+    public static KeysetPage of(SearchSnapshot snapshot, RecetteSortEnum sort, SearchCursor after, int size) {
+        List<RecetteResponse> sorted = snapshot.recettes();
+        int from = 0;
+        if (after != null) {
+            RecetteResponse probe = after.probe();
+            if (sorted instanceof RankedResults ranked) {
+                from = firstMatch(ranked.size(), index -> ranked.follows(index, after.lastScore(), probe));
+            } else {
+                Comparator<RecetteResponse> order = sort.comparator();
+                from = firstMatch(sorted.size(), index -> order.compare(sorted.get(index), probe) > 0);
+            }
+        }
+        int to = Math.min(from + size, sorted.size());
+        List<RecetteResponse> page = new ArrayList<>(sorted.subList(from, to));
+        double lastScore = to > from && sorted instanceof RankedResults ranked ? ranked.scoreAt(to - 1) : 0;
+        return new KeysetPage(page, lastScore, to < sorted.size());
+    }
+
+    /**
+     * Premier indice vérifiant un prédicat monotone (faux puis vrai), ou size s'il n'y en a pas
+     */
+    static int firstMatch(int size, IntPredicate matches) {
+        int low = 0;
+        int high = 0;
+        int step = 1;
+        while (high < size && !matches.test(high)) {
+            low = high + 1;
+            high = Math.min(size, high + step);
+            step *= 2;
+        }
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (matches.test(middle)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
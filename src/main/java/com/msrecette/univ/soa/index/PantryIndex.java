@@ -0,0 +1,141 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+/**
+ * Index des ingrédients pour la recherche « que puis-je cuisiner ».
+ *
+ * Pour chaque aliment, deux listes d'ordinaux : les recettes où il est ingrédient principal
+ * et celles où il est secondaire. Chaque recette a un poids total d'ingrédients (principal =
+ * {@value #PRINCIPAL_WEIGHT}, secondaire = 1). Une requête additionne, recette par recette,
+ * le poids des aliments disponibles en parcourant uniquement leurs listes : la couverture est
+ * le rapport entre ce poids et le poids total de la recette.
+ * Non thread-safe : l'accès est synchronisé par {@link RecetteCatalogIndex}.
+ */
+final class PantryIndex {
+
+    static final int PRINCIPAL_WEIGHT = 2;
+
+    private final Map<Long, RoaringBitmap> principal = new HashMap<>();
+    private final Map<Long, RoaringBitmap> secondary = new HashMap<>();
+    private int[] totalWeights = new int[0];
+
+    void clear() {
+        principal.clear();
+        secondary.clear();
+        totalWeights = new int[0];
+    }
+
+    void add(int ordinal, RecetteResponse recette) {
+        int total = 0;
+        for (Map.Entry<Long, Boolean> ingredient : ingredients(recette).entrySet()) {
+            Map<Long, RoaringBitmap> target = ingredient.getValue() ? principal : secondary;
+            target.computeIfAbsent(ingredient.getKey(), id -> new RoaringBitmap()).add(ordinal);
+            total += ingredient.getValue() ? PRINCIPAL_WEIGHT : 1;
+        }
+        if (ordinal >= totalWeights.length) {
+            totalWeights = Arrays.copyOf(totalWeights, Math.max(ordinal + 1, totalWeights.length * 2));
+        }
+        totalWeights[ordinal] = total;
+    }
+
+    void remove(int ordinal, RecetteResponse recette) {
+        for (Map.Entry<Long, Boolean> ingredient : ingredients(recette).entrySet()) {
+            Map<Long, RoaringBitmap> target = ingredient.getValue() ? principal : secondary;
+            RoaringBitmap bitmap = target.get(ingredient.getKey());
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    target.remove(ingredient.getKey());
+                }
+            }
+        }
+        if (ordinal < totalWeights.length) {
+            totalWeights[ordinal] = 0;
+        }
+    }
+
+    /**
+     * Recettes couvertes au moins en partie par les aliments disponibles, meilleure couverture d'abord
+     *
+     * @param eligible ordinaux pouvant être proposés
+     * @param limit    nombre maximal de résultats
+     */
+    List<Match> bestMatches(Collection<Long> alimentIds, RoaringBitmap eligible, int limit) {
+        // Compteurs de poids par ordinal, et ordinaux effectivement touchés
+        int[] weights = new int[totalWeights.length];
+        RoaringBitmap touched = new RoaringBitmap();
+        for (Long alimentId : new HashSet<>(alimentIds)) {
+            accumulate(weights, touched, principal.get(alimentId), PRINCIPAL_WEIGHT, eligible);
+            accumulate(weights, touched, secondary.get(alimentId), 1, eligible);
+        }
+
+        // Sélection des meilleurs par un tas borné : le moins bon en tête
+        PriorityQueue<Match> top = new PriorityQueue<>(Comparator.reverseOrder());
+        touched.forEach((int ordinal) -> {
+            Match match = new Match(ordinal, weights[ordinal], totalWeights[ordinal]);
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (match.compareTo(top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        });
+
+        List<Match> result = new ArrayList<>(top);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static void accumulate(int[] weights, RoaringBitmap touched, RoaringBitmap ordinals, int weight,
+                                   RoaringBitmap eligible) {
+        if (ordinals == null) {
+            return;
+        }
+        RoaringBitmap matching = RoaringBitmap.and(ordinals, eligible);
+        matching.forEach((int ordinal) -> weights[ordinal] += weight);
+        touched.or(matching);
+    }
+
+    // Aliments d'une recette ; un aliment présent deux fois compte une fois, principal s'il l'est une fois
+    static Map<Long, Boolean> ingredients(RecetteResponse recette) {
+        if (recette.getIngredients() == null) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Boolean> ingredients = new HashMap<>();
+        for (IngredientResponse ingredient : recette.getIngredients()) {
+            if (ingredient != null && ingredient.getAlimentId() != null) {
+                ingredients.merge(ingredient.getAlimentId(), Boolean.TRUE.equals(ingredient.getPrincipal()),
+                        Boolean::logicalOr);
+            }
+        }
+        return ingredients;
+    }
+
+    /**
+     * Recette couverte : poids des aliments disponibles sur poids total.
+     * Ordre naturel : meilleure couverture, puis plus grand poids couvert, puis ordinal.
+     */
+    record Match(int ordinal, int coveredWeight, int totalWeight) implements Comparable<Match> {
+
+        double coverage() {
+            return totalWeight == 0 ? 0 : (double) coveredWeight / totalWeight;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            // Comparaison exacte des rapports : a/b > c/d <=> a*d > c*b
+            int byCoverage = Long.compare((long) other.coveredWeight * totalWeight,
+                    (long) coveredWeight * other.totalWeight);
+            if (byCoverage != 0) {
+                return byCoverage;
+            }
+            int byWeight = Integer.compare(other.coveredWeight, coveredWeight);
+            return byWeight != 0 ? byWeight : Integer.compare(ordinal, other.ordinal);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.List;
+
+/**
+ * Résultat d'une recherche accompagné du plan effectivement exécuté
+ */
+public record PlannedSearch(List<RecetteResponse> recettes, SearchPlan plan) {
+}
@@ -0,0 +1,93 @@
+package com.msrecette.univ.soa.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Base des index de plage sur une colonne numérique.
+ *
+ * Les valeurs sont conservées par ordinal dans une colonne primitive et, à côté, dans un couple
+ * de tableaux triés (valeurs / ordinaux) : un prédicat de plage devient une recherche dichotomique
+ * produisant un bitmap. Les ordinaux modifiés depuis le dernier tri sont tenus dans un bitmap
+ * "pending" et évalués directement sur la colonne jusqu'au prochain compactage.
+ * Non thread-safe : l'accès est synchronisé par {@link RecetteCatalogIndex}.
+ */
+abstract class RangeIndex {
+
+    private static final int MIN_PENDING_BEFORE_COMPACTION = 64;
+
+    protected final RoaringBitmap present = new RoaringBitmap();
+    protected final RoaringBitmap pending = new RoaringBitmap();
+    protected int[] sortedOrdinals = new int[0];
+
+    /**
+     * Retirer la valeur d'un ordinal
+     */
+    void clear(int ordinal) {
+        present.remove(ordinal);
+        pending.add(ordinal);
+    }
+
+    void reset() {
+        present.clear();
+        pending.clear();
+        sortedOrdinals = new int[0];
+        resetValues();
+    }
+
+    /**
+     * Indique si la partie non triée est devenue trop grande par rapport à la partie triée
+     */
+    boolean needsCompaction() {
+        return pending.getCardinality() > Math.max(MIN_PENDING_BEFORE_COMPACTION, present.getCardinality() / 16);
+    }
+
+    /**
+     * Retrier la colonne et vider les ordinaux en attente
+     */
+    abstract void compact();
+
+    protected abstract void resetValues();
+
+    /**
+     * Restreindre les candidats aux ordinaux dont la valeur satisfait le prédicat.
+     *
+     * @param from        début (inclus) de la plage correspondante dans les tableaux triés
+     * @param to          fin (exclue) de la plage correspondante dans les tableaux triés
+     * @param matches     prédicat évalué sur la colonne pour les ordinaux non triés
+     * @param keepMissing conserver les candidats sans valeur
+     */
+    protected void restrict(RoaringBitmap candidates, int from, int to, IntPredicate matches, boolean keepMissing) {
+        RoaringBitmap missing = keepMissing ? RoaringBitmap.andNot(candidates, present) : null;
+
+        if (candidates.getCardinality() <= to - from) {
+            // Moins de candidats que de valeurs dans la plage : sonder la colonne est moins coûteux
+            RoaringBitmap kept = new RoaringBitmap();
+            candidates.forEach((int ordinal) -> {
+                if (present.contains(ordinal) && matches.test(ordinal)) {
+                    kept.add(ordinal);
+                }
+            });
+            candidates.and(kept);
+        } else {
+            RoaringBitmap matching = new RoaringBitmap();
+            matching.addN(sortedOrdinals, from, to - from);
+            matching.andNot(pending);
+            pending.forEach((int ordinal) -> {
+                if (present.contains(ordinal) && matches.test(ordinal)) {
+                    matching.add(ordinal);
+                }
+            });
+            candidates.and(matching);
+        }
+
+        if (missing != null) {
+            candidates.or(missing);
+        }
+    }
+
+    protected static int grow(int length, int ordinal) {
+        return Math.max(ordinal + 1, Math.max(16, length + (length >> 1)));
+    }
+}
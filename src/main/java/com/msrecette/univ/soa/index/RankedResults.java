@@ -0,0 +1,107 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Résultats classés par score décroissant, triés à la demande.
+ *
+ * Les candidats sont organisés en tas (construction en O(n)) ; lire les k premiers éléments
+ * n'extrait que ces k éléments du tas (O(k log n)) : seules les pages effectivement lues
+ * sont classées. Lecture thread-safe (un même résultat peut être lu en parallèle).
+ */
+final class RankedResults extends AbstractList<RecetteResponse> {
+
+    private final RecetteResponse[] recettes;
+    private final double[] scores;
+    private final Comparator<RecetteResponse> tieBreak;
+
+    // Tas binaire d'indices : le meilleur candidat restant est en tête
+    private final int[] heap;
+    private int heapSize;
+    // Indices des candidats déjà extraits du tas, dans l'ordre du classement
+    private final int[] ranked;
+    private int rankedSize;
+
+    /**
+     * @param tieBreak ordre appliqué entre candidats de même score
+     */
+    RankedResults(List<RecetteResponse> recettes, double[] scores, Comparator<RecetteResponse> tieBreak) {
+        this.recettes = recettes.toArray(RecetteResponse[]::new);
+        this.scores = scores;
+        this.tieBreak = tieBreak;
+        this.heapSize = this.recettes.length;
+        this.heap = new int[heapSize];
+        this.ranked = new int[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            heap[i] = i;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    @Override
+    public synchronized RecetteResponse get(int index) {
+        return recettes[rankedAt(index)];
+    }
+
+    /**
+     * Score du candidat classé au rang donné
+     */
+    synchronized double scoreAt(int index) {
+        return scores[rankedAt(index)];
+    }
+
+    /**
+     * Vrai si le candidat classé au rang donné suit strictement la position (score, recette) :
+     * prédicat monotone, parcouru par {@link KeysetPage} pour reprendre une pagination par clé.
+     */
+    synchronized boolean follows(int index, double score, RecetteResponse last) {
+        int candidate = rankedAt(index);
+        int byScore = Double.compare(score, scores[candidate]);
+        return byScore > 0 || (byScore == 0 && tieBreak.compare(recettes[candidate], last) > 0);
+    }
+
+    private int rankedAt(int index) {
+        if (index < 0 || index >= recettes.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        while (rankedSize <= index) {
+            ranked[rankedSize++] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(0);
+        }
+        return ranked[index];
+    }
+
+    @Override
+    public int size() {
+        return recettes.length;
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= heapSize) {
+                return;
+            }
+            int child = left + 1 < heapSize && before(heap[left + 1], heap[left]) ? left + 1 : left;
+            if (!before(heap[child], heap[position])) {
+                return;
+            }
+            int swap = heap[child];
+            heap[child] = heap[position];
+            heap[position] = swap;
+            position = child;
+        }
+    }
+
+    private boolean before(int a, int b) {
+        int byScore = Double.compare(scores[b], scores[a]);
+        return byScore != 0 ? byScore < 0 : tieBreak.compare(recettes[a], recettes[b]) < 0;
+    }
+}
@@ -0,0 +1,945 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
+import com.msrecette.univ.soa.response.RecetteSummaryResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire du catalogue de recettes.
+ *
+ * Chaque recette reçoit un ordinal (entier dense) ; l'index inversé associe chaque terme
+ * normalisé du titre, de la description et des tags au bitmap des ordinaux qui le contiennent.
+ * L'index est reconstruit depuis le catalogue complet puis maintenu de façon incrémentale
+ * lors des créations, mises à jour et suppressions. Les critères structurés de recherche
+ * sont résolus par le {@link RecetteFilterEngine}, les critères numériques par des index de plage
+ * ou, lorsque les candidats sont nombreux, par un parcours vectorisé de colonnes ({@link CatalogColumns}).
+ * Un terme sans correspondance exacte est recherché de façon approchée dans les titres
+ * via le {@link TrigramIndex}.
+ * Un classement borné des recettes populaires et un ordre chronologique des créations
+ * sont tenus à jour au fil des modifications. Les suggestions d'autocomplétion sont servies par
+ * une structure immuable ({@link SuggestionIndex}), reconstruite en arrière-plan lorsque
+ * la version du catalogue a changé, puis publiée d'un coup. Les résultats de recherche sont mis
+ * en cache par critères canoniques et invalidés recette par recette ({@link SearchResultCache}).
+ * Les fréquences de termes par champ et les longueurs de champs sont tenues pour le classement
+ * par pertinence ({@link Bm25Scorer}). La recherche par aliments disponibles s'appuie sur
+ * le {@link PantryIndex}, la recherche de recettes similaires sur le {@link SimilarityIndex}.
+ */
+@Component
+@Slf4j
+public class RecetteCatalogIndex {
+
+    // Nombre de recettes populaires maintenues ; au-delà, le classement est calculé à la demande
+    static final int POPULAR_CAPACITY = 100;
+
+    // Nombre de recherches distinctes dont le résultat est conservé
+    static final int SEARCH_CACHE_SIZE = 1000;
+
+    // Nombre de résultats triés conservés pour la pagination par clé
+    static final int SORTED_CACHE_SIZE = 32;
+
+    // Au-delà d'un candidat pour COLUMN_SCAN_DENSITY ordinaux, les critères numériques
+    // sont évalués par un parcours des colonnes plutôt que par les index de plage
+    static final int COLUMN_SCAN_DENSITY = 8;
+
+    private static final String STATUT_REJETEE = "REJETEE";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Recettes indexées par ordinal (null pour un ordinal libéré)
+    private final List<RecetteResponse> documents = new ArrayList<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final RoaringBitmap liveOrdinals = new RoaringBitmap();
+
+    // Dictionnaire trié des termes : permet la recherche par préfixe
+    private final NavigableMap<String, RoaringBitmap> postings = new TreeMap<>();
+
+    // Statistiques de pertinence : termes par recette (par ordinal) et longueur cumulée de chaque champ
+    private final List<TermVector> termVectors = new ArrayList<>();
+    private final long[] fieldLengthSums = new long[TermVector.FIELDS];
+
+    // Vocabulaire des titres découpé en trigrammes : recherche tolérante aux fautes de frappe
+    private final TrigramIndex titleTrigrams = new TrigramIndex();
+
+    private final RecetteFilterEngine filterEngine = new RecetteFilterEngine();
+
+    private final PantryIndex pantryIndex = new PantryIndex();
+
+    private final SimilarityIndex similarityIndex = new SimilarityIndex();
+
+    private final SearchResultCache searchCache = new SearchResultCache(SEARCH_CACHE_SIZE);
+    // Résultats triés par (critères, tri), valables pour la version du catalogue qu'ils portent
+    private final Map<SortedKey, SearchSnapshot> sortedResults = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SortedKey, SearchSnapshot> eldest) {
+            return size() > SORTED_CACHE_SIZE;
+        }
+    };
+
+    private final IntRangeIndex tempsTotalRange = new IntRangeIndex();
+    private final IntRangeIndex kcalRange = new IntRangeIndex();
+    private final DoubleRangeIndex noteMoyenneRange = new DoubleRangeIndex();
+
+    // Instantané colonnaire, reconstruit à la première recherche dense après une modification
+    private final AtomicReference<CatalogColumns> columnSnapshot = new AtomicReference<>();
+
+    private final TopKRanking popularRanking =
+            new TopKRanking(POPULAR_CAPACITY, RecetteSortEnum.POPULAIRES.comparator());
+
+    // Recettes par date de création décroissante (puis ID) : lues sans verrou.
+    // recentWriteOrder est l'ensemble alimenté sous verrou d'écriture ; lors d'une reconstruction,
+    // un nouvel ensemble est rempli à part puis publié d'un coup dans recentOrder.
+    private volatile ConcurrentSkipListSet<RecetteResponse> recentOrder = newRecentOrder();
+    private ConcurrentSkipListSet<RecetteResponse> recentWriteOrder = recentOrder;
+
+    // Structure d'autocomplétion courante et reconstruction en cours
+    private final AtomicReference<SuggestionIndex> suggestions = new AtomicReference<>();
+    private final AtomicBoolean suggestionRebuildPending = new AtomicBoolean();
+    private final Executor suggestionExecutor;
+
+    private volatile boolean loaded;
+    // Dernier instant où l'index était à jour du catalogue distant (chargement ou synchronisation)
+    private volatile long loadedAt;
+
+    // Plus récente date de modification (ou de création) indexée : point de reprise des synchronisations
+    private LocalDateTime latestModification;
+
+    // Incrémentée à chaque modification : identifie un état du catalogue
+    private long version;
+
+    public RecetteCatalogIndex() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggestion-index");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    RecetteCatalogIndex(Executor suggestionExecutor) {
+        this.suggestionExecutor = suggestionExecutor;
+    }
+
+    /**
+     * Reconstruire entièrement l'index à partir du catalogue
+     */
+    public void rebuild(Collection<RecetteResponse> recettes) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            ordinalsById.clear();
+            freeOrdinals.clear();
+            liveOrdinals.clear();
+            postings.clear();
+            termVectors.clear();
+            Arrays.fill(fieldLengthSums, 0);
+            titleTrigrams.clear();
+            filterEngine.clear();
+            pantryIndex.clear();
+            similarityIndex.clear();
+            tempsTotalRange.reset();
+            kcalRange.reset();
+            noteMoyenneRange.reset();
+            popularRanking.reset();
+            searchCache.clear();
+            latestModification = null;
+            recentWriteOrder = newRecentOrder();
+
+            for (RecetteResponse recette : recettes) {
+                if (recette != null && recette.getId() != null) {
+                    addDocument(recette);
+                }
+            }
+
+            recentOrder = recentWriteOrder;
+
+            tempsTotalRange.compact();
+            kcalRange.compact();
+            noteMoyenneRange.compact();
+
+            loaded = true;
+            loadedAt = System.currentTimeMillis();
+            version++;
+            log.info("Index du catalogue reconstruit - {} recettes, {} termes, {} termes de titre",
+                    ordinalsById.size(), postings.size(), titleTrigrams.vocabularySize());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajouter ou remplacer une recette dans l'index
+     *
+     * @return false si la recette y figurait déjà à l'identique ou dans une version plus récente
+     */
+    public boolean upsert(RecetteResponse recette) {
+        if (recette == null || recette.getId() == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            RecetteResponse previous = document(recette.getId());
+            if (recette.equals(previous)) {
+                // Recette déjà indexée à l'identique (ex: relue par une synchronisation)
+                return false;
+            }
+            if (olderThan(recette, previous)) {
+                // Version périmée (ex: événement du bus livré en retard ou dans le désordre)
+                return false;
+            }
+            removeDocument(recette.getId());
+            addDocument(recette);
+            searchCache.onChange(previous, recette);
+            compactRangesIfNeeded();
+            version++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retirer une recette de l'index
+     */
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            RecetteResponse previous = document(id);
+            if (previous != null) {
+                removeDocument(id);
+                searchCache.onChange(previous, null);
+                popularRanking.remove(id);
+                compactRangesIfNeeded();
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mettre à jour la note moyenne et le nombre de feedbacks d'une recette indexée
+     */
+    public void updateStats(Long id, Double noteMoyenne, Integer nombreFeedbacks) {
+        if (id == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(id);
+            if (ordinal == null) {
+                return;
+            }
+
+            RecetteResponse current = documents.get(ordinal);
+            if (Objects.equals(current.getNoteMoyenne(), noteMoyenne)
+                    && Objects.equals(current.getNombreFeedbacks(), nombreFeedbacks)) {
+                return;
+            }
+
+            // Les recettes indexées ne sont jamais modifiées en place (instantanés de recherche)
+            RecetteResponse updated = current.toBuilder()
+                    .noteMoyenne(noteMoyenne)
+                    .nombreFeedbacks(nombreFeedbacks)
+                    .build();
+            removeDocument(id);
+            addDocument(updated);
+            searchCache.onChange(current, updated);
+            compactRangesIfNeeded();
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retourner les recettes les mieux notées (hors recettes rejetées)
+     */
+    public List<RecetteResponse> popular(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (limit <= popularRanking.capacity()) {
+                return popularRanking.first(limit, this::eligibleForRanking);
+            }
+
+            // Demande plus large que le classement maintenu : tri complet
+            List<RecetteResponse> all = new ArrayList<>();
+            eligibleForRanking().forEach(all::add);
+            all.sort(RecetteSortEnum.POPULAIRES.comparator());
+            return new ArrayList<>(all.subList(0, Math.min(limit, all.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourner les recettes les plus récemment créées, en parcourant la tête de la skip-list
+     */
+    public List<RecetteResponse> recent(int limit) {
+        List<RecetteResponse> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        for (RecetteResponse recette : recentOrder) {
+            result.add(recette);
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rechercher les recettes contenant tous les termes du mot-clé (chaque terme est traité comme un préfixe).
+     * Un terme sans aucune correspondance est rapproché des termes des titres à une ou deux fautes près.
+     * Un mot-clé vide retourne tout le catalogue indexé.
+     */
+    public List<RecetteResponse> searchKeyword(String keyword) {
+        lock.readLock().lock();
+        try {
+            return toDocuments(matchKeyword(keyword));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rechercher les recettes satisfaisant l'ensemble des critères de la requête
+     */
+    public List<RecetteResponse> search(RecetteSearchRequest criteria) {
+        return snapshot(criteria).recettes();
+    }
+
+    /**
+     * Lister les recettes indexées satisfaisant un prédicat, par identifiant croissant
+     * (lectures servies par l'index à la place du catalogue distant)
+     */
+    public List<RecetteResponse> list(RecetteSearchRequest criteria) {
+        List<RecetteResponse> result = new ArrayList<>(search(criteria));
+        result.sort(Comparator.comparing(RecetteResponse::getId));
+        return result;
+    }
+
+    public List<RecetteResponse> listByUtilisateur(Long utilisateurId) {
+        lock.readLock().lock();
+        try {
+            List<RecetteResponse> result = new ArrayList<>();
+            liveOrdinals.forEach((int ordinal) -> {
+                RecetteResponse recette = documents.get(ordinal);
+                if (Objects.equals(recette.getUtilisateurId(), utilisateurId)) {
+                    result.add(recette);
+                }
+            });
+            result.sort(Comparator.comparing(RecetteResponse::getId));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compter les recettes satisfaisant les critères, sans matérialiser le résultat
+     * (estimation de cardinalité pour la planification des recherches)
+     */
+    public int count(RecetteSearchRequest criteria) {
+        lock.readLock().lock();
+        try {
+            return matchCriteria(criteria).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appliquer les critères à un ensemble de recettes hors catalogue (ex: résultat d'une recherche
+     * déléguée), avec la même sémantique que l'index : préfixes, fautes de frappe, tags normalisés
+     */
+    public static List<RecetteResponse> searchWithin(Collection<RecetteResponse> recettes,
+                                                     RecetteSearchRequest criteria) {
+        RecetteCatalogIndex transientIndex = new RecetteCatalogIndex(Runnable::run);
+        transientIndex.rebuild(recettes);
+        return transientIndex.search(criteria);
+    }
+
+    /**
+     * Rechercher et figer le résultat avec la version courante du catalogue.
+     * Le résultat d'une recherche déjà faite est relu depuis le cache tant qu'aucune
+     * modification de recette n'a pu le changer.
+     */
+    public SearchSnapshot snapshot(RecetteSearchRequest criteria) {
+        SearchKey key = SearchKey.of(criteria);
+        lock.readLock().lock();
+        try {
+            List<RecetteResponse> recettes = searchCache.get(key);
+            if (recettes == null) {
+                int[] exactMatches = new int[key.keywordTerms().size()];
+                for (int i = 0; i < exactMatches.length; i++) {
+                    exactMatches[i] = prefixMatches(key.keywordTerms().get(i)).getCardinality();
+                }
+                recettes = searchCache.put(key, toDocuments(matchCriteria(criteria)), exactMatches);
+            }
+            return new SearchSnapshot(version, recettes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rechercher et trier le résultat, conservé tant que le catalogue ne change pas :
+     * les pages suivantes d'une même recherche s'y positionnent sans retrier (voir {@link KeysetPage}).
+     * Le tri par pertinence est paresseux ({@link #rankedSnapshot}).
+     */
+    public SearchSnapshot sortedSnapshot(RecetteSearchRequest criteria, RecetteSortEnum sort) {
+        SortedKey key = new SortedKey(SearchKey.of(criteria), sort);
+        long current = version();
+        synchronized (sortedResults) {
+            SearchSnapshot cached = sortedResults.get(key);
+            if (cached != null && cached.version() == current) {
+                return cached;
+            }
+        }
+
+        SearchSnapshot sorted;
+        if (sort == RecetteSortEnum.PERTINENCE) {
+            sorted = rankedSnapshot(criteria);
+        } else {
+            SearchSnapshot matches = snapshot(criteria);
+            List<RecetteResponse> recettes = new ArrayList<>(matches.recettes());
+            recettes.sort(sort.comparator());
+            sorted = new SearchSnapshot(matches.version(), Collections.unmodifiableList(recettes));
+        }
+        synchronized (sortedResults) {
+            sortedResults.put(key, sorted);
+        }
+        return sorted;
+    }
+
+    /**
+     * Rechercher et classer le résultat par pertinence (BM25F) pour le mot-clé,
+     * la popularité départageant les égalités (et ordonnant tout le résultat sans mot-clé).
+     * Le classement est fait à la lecture : seules les pages lues sont triées.
+     */
+    public SearchSnapshot rankedSnapshot(RecetteSearchRequest criteria) {
+        SearchSnapshot matches = snapshot(criteria);
+        List<String> queryTerms = SearchKey.of(criteria).keywordTerms();
+
+        lock.readLock().lock();
+        try {
+            if (matches.version() != version) {
+                // Modification entre les deux lectures : on repart d'un résultat cohérent
+                matches = new SearchSnapshot(version, toDocuments(matchCriteria(criteria)));
+            }
+
+            boolean[] fuzzy = new boolean[queryTerms.size()];
+            for (int i = 0; i < fuzzy.length; i++) {
+                fuzzy[i] = !hasPrefixMatch(queryTerms.get(i));
+            }
+            double[] averageFieldLengths = new double[TermVector.FIELDS];
+            for (int field = 0; field < TermVector.FIELDS; field++) {
+                averageFieldLengths[field] = ordinalsById.isEmpty()
+                        ? 0 : (double) fieldLengthSums[field] / ordinalsById.size();
+            }
+            Bm25Scorer scorer = new Bm25Scorer(ordinalsById.size(), averageFieldLengths,
+                    term -> {
+                        RoaringBitmap bitmap = postings.get(term);
+                        return bitmap != null ? bitmap.getCardinality() : 0;
+                    },
+                    queryTerms, fuzzy);
+
+            List<RecetteResponse> recettes = matches.recettes();
+            double[] scores = new double[recettes.size()];
+            if (!queryTerms.isEmpty()) {
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = scorer.score(termVectors.get(ordinalsById.get(recettes.get(i).getId())));
+                }
+            }
+            return new SearchSnapshot(matches.version(),
+                    new RankedResults(recettes, scores, RecetteSortEnum.PERTINENCE.comparator()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Classer les recettes (hors rejetées) par couverture pondérée de leurs ingrédients
+     * par les aliments disponibles
+     */
+    public List<PantryMatchResponse> pantry(Collection<Long> alimentIds, int limit) {
+        Set<Long> available = new HashSet<>(alimentIds);
+        available.remove(null);
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap eligible = RoaringBitmap.andNot(liveOrdinals, filterEngine.statut(STATUT_REJETEE));
+            List<PantryMatchResponse> result = new ArrayList<>();
+            for (PantryIndex.Match match : pantryIndex.bestMatches(available, eligible, limit)) {
+                RecetteResponse recette = documents.get(match.ordinal());
+                Map<Long, Boolean> ingredients = PantryIndex.ingredients(recette);
+                List<Long> manquants = ingredients.keySet().stream()
+                        .filter(alimentId -> !available.contains(alimentId))
+                        .sorted()
+                        .toList();
+                result.add(PantryMatchResponse.builder()
+                        .recette(RecetteSummaryResponse.from(recette))
+                        .couverture(match.coverage())
+                        .ingredientsDisponibles(ingredients.size() - manquants.size())
+                        .ingredientsTotal(ingredients.size())
+                        .alimentsManquants(manquants)
+                        .build());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recettes (hors rejetées) de composition proche de la recette source : candidates issues
+     * des seaux LSH, classées par indice de Jaccard exact de leurs aliments et tags, puis par popularité
+     */
+    public List<RecetteSimilaireResponse> similar(RecetteResponse source, int limit) {
+        Set<Long> sourceFeatures = SimilarityIndex.features(source);
+        if (sourceFeatures.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = similarityIndex.candidates(source);
+            candidates.andNot(filterEngine.statut(STATUT_REJETEE));
+
+            Map<RecetteResponse, Double> scores = new HashMap<>();
+            candidates.forEach((int ordinal) -> {
+                RecetteResponse candidate = documents.get(ordinal);
+                if (!Objects.equals(candidate.getId(), source.getId())) {
+                    double similarite = SimilarityIndex.jaccard(sourceFeatures, SimilarityIndex.features(candidate));
+                    if (similarite > 0) {
+                        scores.put(candidate, similarite);
+                    }
+                }
+            });
+
+            Comparator<RecetteResponse> order = Comparator.<RecetteResponse>comparingDouble(scores::get).reversed()
+                    .thenComparing(RecetteSortEnum.POPULAIRES.comparator());
+            return scores.keySet().stream()
+                    .sorted(order)
+                    .limit(limit)
+                    .map(recette -> RecetteSimilaireResponse.builder()
+                            .recette(RecetteSummaryResponse.from(recette))
+                            .similarite(scores.get(recette))
+                            .build())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recette indexée, ou null si elle est inconnue de l'index
+     */
+    public RecetteResponse get(Long id) {
+        lock.readLock().lock();
+        try {
+            return document(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vrai si une version plus récente de la recette (dateModification) est déjà indexée
+     */
+    public boolean hasNewerVersion(RecetteResponse recette) {
+        if (recette == null || recette.getId() == null) {
+            return false;
+        }
+        return olderThan(recette, get(recette.getId()));
+    }
+
+    /**
+     * Compter les résultats de la recherche par catégorie, difficulté et tag,
+     * par intersection du résultat avec les bitmaps du moteur de filtrage
+     *
+     * @param maxTags nombre maximal de tags retournés (les plus fréquents)
+     */
+    public RecetteFacetsResponse facets(RecetteSearchRequest criteria, int maxTags) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = matchCriteria(criteria);
+            return RecetteFacetsResponse.builder()
+                    .total(candidates.getCardinality())
+                    .categories(filterEngine.countByCategorie(candidates))
+                    .difficultes(filterEngine.countByDifficulte(candidates))
+                    .tags(filterEngine.countByTag(candidates, maxTags))
+                    .snapshotVersion(version)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggérer des titres de recettes et des tags commençant par le préfixe, les plus populaires d'abord.
+     * Si le catalogue a changé depuis la dernière construction, la structure courante est servie
+     * pendant qu'une nouvelle est construite en arrière-plan.
+     */
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        String normalizedPrefix = String.join(" ", TextNormalizer.tokenize(prefix));
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        SuggestionIndex current = suggestions.get();
+        if (current == null) {
+            // Première demande : construction synchrone
+            current = rebuildSuggestions();
+        } else if (current.version() != version()) {
+            scheduleSuggestionRebuild();
+        }
+        return current.suggest(normalizedPrefix, limit);
+    }
+
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Signaler que l'index vient d'être mis à jour du catalogue distant
+     */
+    public void markSynced() {
+        loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Instant (epoch ms) de la dernière mise à jour depuis le catalogue distant, 0 si jamais chargé
+     */
+    public long lastSyncAt() {
+        return loaded ? loadedAt : 0;
+    }
+
+    public LocalDateTime latestModification() {
+        lock.readLock().lock();
+        try {
+            return latestModification;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indique si l'index doit être rechargé depuis le catalogue distant
+     */
+    public boolean isStale(long maxAgeMillis) {
+        return !loaded || System.currentTimeMillis() - loadedAt > maxAgeMillis;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs des recettes indexées (copie)
+     */
+    public Set<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(ordinalsById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================
+    // MÉTHODES PRIVÉES (appelées sous verrou)
+    // ========================================
+
+    private record SortedKey(SearchKey criteria, RecetteSortEnum sort) {
+    }
+
+    private static boolean olderThan(RecetteResponse recette, RecetteResponse indexed) {
+        return indexed != null && recette.getDateModification() != null && indexed.getDateModification() != null
+                && recette.getDateModification().isBefore(indexed.getDateModification());
+    }
+
+    private RoaringBitmap matchKeyword(String keyword) {
+        List<String> terms = TextNormalizer.tokenize(keyword);
+        if (terms.isEmpty()) {
+            return liveOrdinals.clone();
+        }
+
+        RoaringBitmap result = null;
+        for (String term : terms) {
+            RoaringBitmap matches = prefixMatches(term);
+            if (matches.isEmpty()) {
+                // Faute de frappe probable : correspondance approchée sur les titres
+                matches = titleTrigrams.fuzzyMatches(term);
+            }
+            result = (result == null) ? matches : RoaringBitmap.and(result, matches);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private RecetteResponse document(Long id) {
+        Integer ordinal = ordinalsById.get(id);
+        return ordinal != null ? documents.get(ordinal) : null;
+    }
+
+    private RoaringBitmap matchCriteria(RecetteSearchRequest criteria) {
+        RoaringBitmap candidates = matchKeyword(criteria.getKeyword());
+        filterEngine.apply(candidates, criteria);
+        applyRanges(candidates, criteria);
+        return candidates;
+    }
+
+    private void applyRanges(RoaringBitmap candidates, RecetteSearchRequest criteria) {
+        boolean hasRange = criteria.getTempsMax() != null || criteria.getKcalMax() != null
+                || criteria.getNoteMoyenneMin() != null;
+        if (hasRange && !candidates.isEmpty()
+                && (long) candidates.getCardinality() * COLUMN_SCAN_DENSITY >= documents.size()) {
+            candidates.and(columns().matchRanges(criteria));
+            return;
+        }
+
+        // Les recettes sans temps ou sans calories ne sont pas exclues par un maximum
+        if (criteria.getTempsMax() != null && !candidates.isEmpty()) {
+            tempsTotalRange.restrictAtMost(candidates, criteria.getTempsMax(), true);
+        }
+        if (criteria.getKcalMax() != null && !candidates.isEmpty()) {
+            kcalRange.restrictAtMost(candidates, criteria.getKcalMax(), true);
+        }
+        // Une recette sans note ne satisfait pas une note minimale
+        if (criteria.getNoteMoyenneMin() != null && !candidates.isEmpty()) {
+            noteMoyenneRange.restrictAtLeast(candidates, criteria.getNoteMoyenneMin(), false);
+        }
+    }
+
+    // Appelée sous verrou de lecture : la version ne peut pas changer pendant la construction
+    private CatalogColumns columns() {
+        CatalogColumns current = columnSnapshot.get();
+        if (current == null || current.version() != version) {
+            current = CatalogColumns.build(version, documents);
+            columnSnapshot.set(current);
+        }
+        return current;
+    }
+
+    private Iterable<RecetteResponse> eligibleForRanking() {
+        List<RecetteResponse> eligible = new ArrayList<>(ordinalsById.size());
+        liveOrdinals.forEach((int ordinal) -> {
+            RecetteResponse recette = documents.get(ordinal);
+            if (isRankable(recette)) {
+                eligible.add(recette);
+            }
+        });
+        return eligible;
+    }
+
+    private void scheduleSuggestionRebuild() {
+        if (suggestionRebuildPending.compareAndSet(false, true)) {
+            suggestionExecutor.execute(() -> {
+                // Levé avant la lecture : une modification pendant la construction en relance une autre
+                suggestionRebuildPending.set(false);
+                try {
+                    rebuildSuggestions();
+                } catch (RuntimeException e) {
+                    log.error("Erreur lors de la reconstruction des suggestions: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Construire la structure d'autocomplétion hors verrou, à partir d'une copie du catalogue,
+     * et la publier sauf si une structure plus récente l'a devancée
+     */
+    private SuggestionIndex rebuildSuggestions() {
+        long builtVersion;
+        List<RecetteResponse> recettes;
+        lock.readLock().lock();
+        try {
+            builtVersion = version;
+            recettes = toDocuments(liveOrdinals);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        SuggestionIndex built = SuggestionIndex.build(builtVersion, recettes);
+        SuggestionIndex published = suggestions.accumulateAndGet(built,
+                (previous, candidate) -> previous == null || candidate.version() > previous.version()
+                        ? candidate : previous);
+        log.debug("Suggestions reconstruites - version {}, {} clés", builtVersion, built.keyCount());
+        return published;
+    }
+
+    private static ConcurrentSkipListSet<RecetteResponse> newRecentOrder() {
+        return new ConcurrentSkipListSet<>(RecetteSortEnum.RECENTES.comparator());
+    }
+
+    private static boolean isRankable(RecetteResponse recette) {
+        return !STATUT_REJETEE.equalsIgnoreCase(recette.getStatut());
+    }
+
+    private void compactRangesIfNeeded() {
+        if (tempsTotalRange.needsCompaction()) {
+            tempsTotalRange.compact();
+        }
+        if (kcalRange.needsCompaction()) {
+            kcalRange.compact();
+        }
+        if (noteMoyenneRange.needsCompaction()) {
+            noteMoyenneRange.compact();
+        }
+    }
+
+    private boolean hasPrefixMatch(String prefix) {
+        String ceiling = postings.ceilingKey(prefix);
+        return ceiling != null && ceiling.startsWith(prefix);
+    }
+
+    private RoaringBitmap prefixMatches(String prefix) {
+        Collection<RoaringBitmap> bitmaps = postings
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values();
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return RoaringBitmap.or(bitmaps.iterator());
+    }
+
+    private List<RecetteResponse> toDocuments(RoaringBitmap ordinals) {
+        List<RecetteResponse> result = new ArrayList<>(ordinals.getCardinality());
+        ordinals.forEach((int ordinal) -> result.add(documents.get(ordinal)));
+        return result;
+    }
+
+    private void addDocument(RecetteResponse recette) {
+        int ordinal;
+        TermVector termVector = TermVector.of(recette);
+        if (freeOrdinals.isEmpty()) {
+            ordinal = documents.size();
+            documents.add(recette);
+            termVectors.add(termVector);
+        } else {
+            ordinal = freeOrdinals.pop();
+            documents.set(ordinal, recette);
+            termVectors.set(ordinal, termVector);
+        }
+        for (int field = 0; field < TermVector.FIELDS; field++) {
+            fieldLengthSums[field] += termVector.fieldLength(field);
+        }
+
+        ordinalsById.put(recette.getId(), ordinal);
+        liveOrdinals.add(ordinal);
+        LocalDateTime modified = recette.getDateModification() != null
+                ? recette.getDateModification() : recette.getDateCreation();
+        if (modified != null && (latestModification == null || modified.isAfter(latestModification))) {
+            latestModification = modified;
+        }
+        filterEngine.add(ordinal, recette);
+        pantryIndex.add(ordinal, recette);
+        similarityIndex.add(ordinal, recette);
+        tempsTotalRange.set(ordinal, recette.getTempsTotal());
+        kcalRange.set(ordinal, recette.getKcal());
+        noteMoyenneRange.set(ordinal, recette.getNoteMoyenne());
+        popularRanking.upsert(recette, isRankable(recette));
+        recentWriteOrder.add(recette);
+
+        for (String term : terms(recette)) {
+            postings.computeIfAbsent(term, t -> new RoaringBitmap()).add(ordinal);
+        }
+        titleTrigrams.add(ordinal, titleTerms(recette));
+    }
+
+    private void removeDocument(Long id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+
+        RecetteResponse previous = documents.get(ordinal);
+        for (String term : terms(previous)) {
+            RoaringBitmap bitmap = postings.get(term);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        titleTrigrams.remove(ordinal, titleTerms(previous));
+        filterEngine.remove(ordinal, previous);
+        pantryIndex.remove(ordinal, previous);
+        similarityIndex.remove(ordinal, previous);
+        recentWriteOrder.remove(previous);
+        tempsTotalRange.clear(ordinal);
+        kcalRange.clear(ordinal);
+        noteMoyenneRange.clear(ordinal);
+        TermVector termVector = termVectors.get(ordinal);
+        for (int field = 0; field < TermVector.FIELDS; field++) {
+            fieldLengthSums[field] -= termVector.fieldLength(field);
+        }
+        documents.set(ordinal, null);
+        termVectors.set(ordinal, null);
+        liveOrdinals.remove(ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    private static Set<String> titleTerms(RecetteResponse recette) {
+        return new HashSet<>(TextNormalizer.tokenize(recette.getTitre()));
+    }
+
+    private Set<String> terms(RecetteResponse recette) {
+        Set<String> terms = new HashSet<>(TextNormalizer.tokenize(recette.getTitre()));
+        terms.addAll(TextNormalizer.tokenize(recette.getDescription()));
+        if (recette.getTags() != null) {
+            for (String tag : recette.getTags()) {
+                terms.addAll(TextNormalizer.tokenize(tag));
+            }
+        }
+        return terms;
+    }
+}
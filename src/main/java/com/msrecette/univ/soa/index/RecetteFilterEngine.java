@@ -0,0 +1,267 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.DifficulteEnum;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+/**
+ * Moteur de filtrage par bitmaps compressés.
+ *
+ * Maintient un bitmap d'ordinaux par catégorie, niveau de difficulté, tag, statut et aliment.
+ * Les critères d'une recherche se combinent par AND / ANDNOT entre bitmaps, sans parcourir
+ * les recettes. Les mêmes bitmaps fournissent les comptages de facettes par intersection
+ * avec le résultat d'une recherche. Non thread-safe : l'accès est synchronisé par {@link RecetteCatalogIndex}.
+ */
+class RecetteFilterEngine {
+
+    private final Map<String, RoaringBitmap> byCategorie = new HashMap<>();
+    private final Map<DifficulteEnum, RoaringBitmap> byDifficulte = new EnumMap<>(DifficulteEnum.class);
+    private final RoaringBitmap withoutDifficulte = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private final Map<String, RoaringBitmap> byStatut = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byAliment = new HashMap<>();
+
+    void clear() {
+        byCategorie.clear();
+        byDifficulte.clear();
+        withoutDifficulte.clear();
+        byTag.clear();
+        byStatut.clear();
+        byAliment.clear();
+    }
+
+    void add(int ordinal, RecetteResponse recette) {
+        addTo(byCategorie, categorieKey(recette.getCategorie()), ordinal);
+        addTo(byStatut, statutKey(recette.getStatut()), ordinal);
+
+        DifficulteEnum difficulte = difficulte(recette.getDifficulte());
+        if (difficulte == null) {
+            withoutDifficulte.add(ordinal);
+        } else {
+            addTo(byDifficulte, difficulte, ordinal);
+        }
+
+        for (String tag : tagKeys(recette.getTags())) {
+            addTo(byTag, tag, ordinal);
+        }
+        for (Long alimentId : alimentIds(recette.getIngredients())) {
+            addTo(byAliment, alimentId, ordinal);
+        }
+    }
+
+    void remove(int ordinal, RecetteResponse recette) {
+        removeFrom(byCategorie, categorieKey(recette.getCategorie()), ordinal);
+        removeFrom(byStatut, statutKey(recette.getStatut()), ordinal);
+
+        DifficulteEnum difficulte = difficulte(recette.getDifficulte());
+        if (difficulte == null) {
+            withoutDifficulte.remove(ordinal);
+        } else {
+            removeFrom(byDifficulte, difficulte, ordinal);
+        }
+
+        for (String tag : tagKeys(recette.getTags())) {
+            removeFrom(byTag, tag, ordinal);
+        }
+        for (Long alimentId : alimentIds(recette.getIngredients())) {
+            removeFrom(byAliment, alimentId, ordinal);
+        }
+    }
+
+    /**
+     * Restreindre les candidats aux critères catégorie, statut, difficulté, tags et ingrédients.
+     * Les candidats sont modifiés en place.
+     */
+    void apply(RoaringBitmap candidates, RecetteSearchRequest criteria) {
+        if (hasText(criteria.getCategorie())) {
+            candidates.and(bitmap(byCategorie, categorieKey(criteria.getCategorie())));
+        }
+
+        if (hasText(criteria.getStatut())) {
+            candidates.and(bitmap(byStatut, statutKey(criteria.getStatut())));
+        }
+
+        if (criteria.getDifficulteMax() != null && !candidates.isEmpty()) {
+            // Une recette sans difficulté renseignée n'est pas exclue, comme pour tempsMax et kcalMax
+            RoaringBitmap allowed = withoutDifficulte.clone();
+            for (DifficulteEnum level : DifficulteEnum.values()) {
+                if (level.compareTo(criteria.getDifficulteMax()) <= 0) {
+                    allowed.or(bitmap(byDifficulte, level));
+                }
+            }
+            candidates.and(allowed);
+        }
+
+        // Tous les tags demandés doivent être présents
+        for (String tag : tagKeys(criteria.getTags())) {
+            if (candidates.isEmpty()) {
+                return;
+            }
+            candidates.and(bitmap(byTag, tag));
+        }
+
+        if (criteria.getIngredientsInclus() != null) {
+            for (Long alimentId : criteria.getIngredientsInclus()) {
+                if (candidates.isEmpty()) {
+                    return;
+                }
+                if (alimentId != null) {
+                    candidates.and(bitmap(byAliment, alimentId));
+                }
+            }
+        }
+
+        if (criteria.getIngredientsExclus() != null) {
+            for (Long alimentId : criteria.getIngredientsExclus()) {
+                if (alimentId != null && !candidates.isEmpty()) {
+                    candidates.andNot(bitmap(byAliment, alimentId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recettes ayant le statut donné (bitmap interne, à ne pas modifier)
+     */
+    RoaringBitmap statut(String statut) {
+        return bitmap(byStatut, statutKey(statut));
+    }
+
+    // ========================================
+    // FACETTES
+    // ========================================
+
+    /**
+     * Nombre de candidats par catégorie (les catégories absentes du résultat sont omises)
+     */
+    Map<String, Integer> countByCategorie(RoaringBitmap candidates) {
+        Map<String, Integer> counts = new TreeMap<>();
+        byCategorie.forEach((categorie, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(candidates, bitmap);
+            if (count > 0 && !categorie.isEmpty()) {
+                counts.put(categorie, count);
+            }
+        });
+        return sortByCount(counts, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Nombre de candidats par niveau de difficulté, dans l'ordre des niveaux
+     */
+    Map<String, Integer> countByDifficulte(RoaringBitmap candidates) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (DifficulteEnum level : DifficulteEnum.values()) {
+            int count = RoaringBitmap.andCardinality(candidates, bitmap(byDifficulte, level));
+            if (count > 0) {
+                counts.put(level.name(), count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Tags (normalisés) les plus représentés parmi les candidats
+     */
+    Map<String, Integer> countByTag(RoaringBitmap candidates, int limit) {
+        Map<String, Integer> counts = new TreeMap<>();
+        byTag.forEach((tag, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(candidates, bitmap);
+            if (count > 0) {
+                counts.put(tag, count);
+            }
+        });
+        return sortByCount(counts, limit);
+    }
+
+    // Tri par effectif décroissant puis par clé, en ne gardant que les premières valeurs
+    private static Map<String, Integer> sortByCount(Map<String, Integer> counts, int limit) {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    // ========================================
+    // CLÉS NORMALISÉES
+    // ========================================
+
+    static String categorieKey(String categorie) {
+        return categorie == null ? "" : categorie.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static String statutKey(String statut) {
+        return statut == null ? "" : statut.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static String tagKey(String tag) {
+        return TextNormalizer.normalize(tag).trim();
+    }
+
+    static DifficulteEnum difficulte(String difficulte) {
+        if (difficulte == null) {
+            return null;
+        }
+        try {
+            return DifficulteEnum.valueOf(difficulte.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Set<String> tagKeys(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> keys = new HashSet<>();
+        for (String tag : tags) {
+            String key = tagKey(tag);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static Set<Long> alimentIds(List<IngredientResponse> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> ids = new HashSet<>();
+        for (IngredientResponse ingredient : ingredients) {
+            if (ingredient != null && ingredient.getAlimentId() != null) {
+                ids.add(ingredient.getAlimentId());
+            }
+        }
+        return ids;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static <K> void addTo(Map<K, RoaringBitmap> bitmaps, K key, int ordinal) {
+        bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal);
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int ordinal) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static <K> RoaringBitmap bitmap(Map<K, RoaringBitmap> bitmaps, K key) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        return bitmap != null ? bitmap : new RoaringBitmap();
+    }
+}
@@ -0,0 +1,46 @@
+package com.msrecette.univ.soa.index;
+
+/**
+ * Évaluation scalaire des prédicats de plage, une valeur à la fois, sans branchement
+ * (les comparaisons sur des données non triées déjoueraient la prédiction de branchement)
+ */
+final class ScalarColumnScan implements ColumnScan {
+
+    @Override
+    public void andAtMost(int[] column, int max, int size, long[] words) {
+        andAtMost(column, max, 0, size, words);
+    }
+
+    @Override
+    public void andAtLeast(double[] column, double min, int size, long[] words) {
+        andAtLeast(column, min, 0, size, words);
+    }
+
+    /**
+     * Évaluer les mots à partir de fromWord (reliquat de la version vectorielle)
+     */
+    static void andAtMost(int[] column, int max, int fromWord, int size, long[] words) {
+        for (int word = fromWord; (word << 6) < size; word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, size);
+            long bits = 0;
+            for (int ordinal = base; ordinal < end; ordinal++) {
+                // Sans branchement : le bit de signe de (valeur - max - 1) vaut 1 si valeur <= max
+                bits |= (((long) column[ordinal] - max - 1) >>> 63) << (ordinal - base);
+            }
+            words[word] &= bits;
+        }
+    }
+
+    static void andAtLeast(double[] column, double min, int fromWord, int size, long[] words) {
+        for (int word = fromWord; (word << 6) < size; word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, size);
+            long bits = 0;
+            for (int ordinal = base; ordinal < end; ordinal++) {
+                bits |= (column[ordinal] >= min ? 1L : 0L) << (ordinal - base);
+            }
+            words[word] &= bits;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Curseur de pagination autonome : empreinte des critères, tri, clé de tri et ID de la dernière
+ * recette retournée. Aucune session n'est conservée côté serveur : n'importe quelle instance
+ * reprend la recherche juste après la dernière recette vue (pagination par clé). Le curseur
+ * n'est pas lié à une version du catalogue, propre à chaque instance : une recette modifiée
+ * entre deux pages est lue à sa nouvelle place. Encodé en base64 URL pour rester opaque côté client.
+ *
+ * @param criteriaHash empreinte de la forme canonique des critères
+ * @param sort         ordre de tri de la recherche
+ * @param offset       nombre de recettes déjà retournées
+ * @param lastId       ID de la dernière recette retournée
+ * @param lastScore    score de pertinence de la dernière recette (tri {@link RecetteSortEnum#PERTINENCE})
+ * @param sortKey      valeurs de tri de la dernière recette, dans l'ordre du comparateur (null autorisé)
+ */
+public record SearchCursor(String criteriaHash, RecetteSortEnum sort, int offset,
+                           long lastId, double lastScore, List<String> sortKey) {
+
+    private static final String PREFIX = "v2";
+    private static final String NULL_VALUE = "~";
+    private static final int HEADER_PARTS = 6;
+
+    /**
+     * Curseur positionné après la dernière recette d'une page
+     */
+    public static SearchCursor after(String criteriaHash, RecetteSortEnum sort, int offset,
+                                     RecetteResponse last, double lastScore) {
+        List<String> sortKey = switch (sort) {
+            case RECENTES -> Arrays.asList(toKey(last.getDateCreation()));
+            case POPULAIRES, PERTINENCE -> Arrays.asList(toKey(last.getNoteMoyenne()), toKey(last.getNombreFeedbacks()));
+            case TITRE -> Arrays.asList(last.getTitre());
+            case TEMPS -> Arrays.asList(toKey(last.getTempsTotal()));
+            case KCAL -> Arrays.asList(toKey(last.getKcal()));
+        };
+        return new SearchCursor(criteriaHash, sort, offset, last.getId(), lastScore, sortKey);
+    }
+
+    /**
+     * Empreinte des critères : deux requêtes équivalentes (au sens de {@link SearchKey}) ont la même
+     */
+    public static String criteriaHash(RecetteSearchRequest criteria) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(SearchKey.of(criteria).toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Recette fictive portant la clé de tri de la dernière recette retournée,
+     * à comparer avec {@link RecetteSortEnum#comparator()}
+     */
+    public RecetteResponse probe() {
+        RecetteResponse probe = new RecetteResponse();
+        probe.setId(lastId);
+        switch (sort) {
+            case RECENTES -> probe.setDateCreation(sortKey.get(0) == null ? null : LocalDateTime.parse(sortKey.get(0)));
+            case POPULAIRES, PERTINENCE -> {
+                probe.setNoteMoyenne(sortKey.get(0) == null ? null : Double.valueOf(sortKey.get(0)));
+                probe.setNombreFeedbacks(sortKey.get(1) == null ? null : Integer.valueOf(sortKey.get(1)));
+            }
+            case TITRE -> probe.setTitre(sortKey.get(0));
+            case TEMPS -> probe.setTempsTotal(sortKey.get(0) == null ? null : Integer.valueOf(sortKey.get(0)));
+            case KCAL -> probe.setKcal(sortKey.get(0) == null ? null : Integer.valueOf(sortKey.get(0)));
+        }
+        return probe;
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder(PREFIX)
+                .append(':').append(criteriaHash)
+                .append(':').append(sort.name())
+                .append(':').append(offset)
+                .append(':').append(lastId)
+                .append(':').append(lastScore);
+        for (String value : sortKey) {
+            raw.append(':').append(value == null ? NULL_VALUE : Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décoder un curseur reçu d'un client
+     *
+     * @throws IllegalArgumentException si le curseur est mal formé
+     */
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length < HEADER_PARTS || !PREFIX.equals(parts[0])) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            int offset = Integer.parseInt(parts[3]);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            List<String> sortKey = new ArrayList<>();
+            for (int i = HEADER_PARTS; i < parts.length; i++) {
+                sortKey.add(NULL_VALUE.equals(parts[i]) ? null
+                        : new String(Base64.getUrlDecoder().decode(parts[i]), StandardCharsets.UTF_8));
+            }
+            SearchCursor decoded = new SearchCursor(parts[1], RecetteSortEnum.valueOf(parts[2]),
+                    offset, Long.parseLong(parts[4]), Double.parseDouble(parts[5]), sortKey);
+            // Valide la clé de tri (nombre et format des valeurs) dès le décodage
+            decoded.probe();
+            return decoded;
+        } catch (RuntimeException e) {
+            // Erreurs base64, nombres, dates ou clé de tri incomplète
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+
+    private static String toKey(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.DifficulteEnum;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Forme canonique d'une {@link RecetteSearchRequest} : deux requêtes équivalentes
+ * (casse, accents, ordre des termes et des listes, doublons, chaînes vides) ont la même clé.
+ */
+record SearchKey(List<String> keywordTerms,
+                 String categorie,
+                 String statut,
+                 DifficulteEnum difficulteMax,
+                 List<String> tags,
+                 List<Long> ingredientsInclus,
+                 List<Long> ingredientsExclus,
+                 Integer tempsMax,
+                 Integer kcalMax,
+                 Double noteMoyenneMin) {
+
+    static SearchKey of(RecetteSearchRequest criteria) {
+        return new SearchKey(
+                TextNormalizer.tokenize(criteria.getKeyword()).stream().distinct().sorted().toList(),
+                blankToNull(RecetteFilterEngine.categorieKey(criteria.getCategorie())),
+                blankToNull(RecetteFilterEngine.statutKey(criteria.getStatut())),
+                criteria.getDifficulteMax(),
+                criteria.getTags() == null ? List.of() : criteria.getTags().stream()
+                        .filter(Objects::nonNull)
+                        .map(RecetteFilterEngine::tagKey)
+                        .filter(tag -> !tag.isEmpty())
+                        .distinct().sorted().toList(),
+                sortedIds(criteria.getIngredientsInclus()),
+                sortedIds(criteria.getIngredientsExclus()),
+                criteria.getTempsMax(),
+                criteria.getKcalMax(),
+                criteria.getNoteMoyenneMin());
+    }
+
+    private static List<Long> sortedIds(Collection<Long> ids) {
+        return ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    private static String blankToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.msrecette.univ.soa.index;
+
+/**
+ * Plan d'exécution retenu pour une recherche
+ *
+ * @param strategy      lieu d'évaluation des critères
+ * @param estimatedRows nombre de recettes à transférer estimé sur l'index, -1 si non estimé
+ * @param catalogSize   taille du catalogue connue de l'index
+ * @param index         état de l'index au moment de la planification
+ */
+public record SearchPlan(Strategy strategy, int estimatedRows, int catalogSize, IndexState index) {
+
+    public static final String HEADER = "X-Search-Plan";
+
+    public enum Strategy {
+        // Tous les critères évalués sur l'index (rechargé s'il est périmé)
+        LOCAL,
+        // Tous les critères délégués à ms-persistance
+        REMOTE,
+        // Critères structurés délégués, mot-clé et tags évalués localement sur le résultat
+        HYBRID
+    }
+
+    public enum IndexState { FRESH, STALE, ABSENT }
+
+    public SearchPlan withStrategy(Strategy other) {
+        return new SearchPlan(other, estimatedRows, catalogSize, index);
+    }
+
+    /**
+     * Description compacte pour l'en-tête de diagnostic, ex. "HYBRID; estimated=42; catalog=5000; index=STALE"
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder(strategy.name());
+        if (estimatedRows >= 0) {
+            description.append("; estimated=").append(estimatedRows);
+        }
+        return description.append("; catalog=").append(catalogSize)
+                .append("; index=").append(index)
+                .toString();
+    }
+}
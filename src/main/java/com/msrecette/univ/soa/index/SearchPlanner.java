@@ -0,0 +1,68 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+
+/**
+ * Choix du lieu d'évaluation d'une recherche : index local, ms-persistance, ou les deux.
+ *
+ * Un index à jour répond toujours seul. Un index jamais chargé n'offre aucune statistique :
+ * il est chargé. Un index périmé sert d'estimateur : ses comptages (exacts à la date du dernier
+ * chargement) indiquent combien de recettes une délégation transférerait, à comparer au
+ * rechargement complet du catalogue. La délégation n'est retenue que si elle transfère au plus
+ * une fraction donnée du catalogue. Le mot-clé (préfixes, fautes de frappe) et les tags
+ * (normalisation) n'ont pas la même sémantique côté ms-persistance : une recherche qui en contient
+ * ne délègue que ses critères structurés et filtre localement le résultat (plan hybride).
+ */
+public final class SearchPlanner {
+
+    private SearchPlanner() {
+    }
+
+    /**
+     * @param fresh            index chargé et dans sa durée de validité
+     * @param pushdownMaxRatio part maximale du catalogue qu'une délégation peut transférer
+     */
+    public static SearchPlan plan(RecetteSearchRequest criteria, RecetteCatalogIndex index,
+                                  boolean fresh, double pushdownMaxRatio) {
+        if (fresh) {
+            return new SearchPlan(SearchPlan.Strategy.LOCAL, -1, index.size(), SearchPlan.IndexState.FRESH);
+        }
+        if (!index.isLoaded()) {
+            return new SearchPlan(SearchPlan.Strategy.LOCAL, -1, 0, SearchPlan.IndexState.ABSENT);
+        }
+
+        int catalogSize = index.size();
+        long pushdownLimit = (long) Math.floor(catalogSize * pushdownMaxRatio);
+        if (!hasLocalOnlyCriteria(criteria)) {
+            int estimated = index.count(criteria);
+            return new SearchPlan(estimated <= pushdownLimit ? SearchPlan.Strategy.REMOTE : SearchPlan.Strategy.LOCAL,
+                    estimated, catalogSize, SearchPlan.IndexState.STALE);
+        }
+
+        // Seule la partie structurée est transférée : c'est elle qui fixe le coût de la délégation
+        int estimated = index.count(structuredCriteria(criteria));
+        return new SearchPlan(estimated <= pushdownLimit ? SearchPlan.Strategy.HYBRID : SearchPlan.Strategy.LOCAL,
+                estimated, catalogSize, SearchPlan.IndexState.STALE);
+    }
+
+    /**
+     * Critères délégables d'une recherche : tout sauf le mot-clé et les tags
+     */
+    public static RecetteSearchRequest structuredCriteria(RecetteSearchRequest criteria) {
+        return RecetteSearchRequest.builder()
+                .categorie(criteria.getCategorie())
+                .difficulteMax(criteria.getDifficulteMax())
+                .tempsMax(criteria.getTempsMax())
+                .kcalMax(criteria.getKcalMax())
+                .ingredientsInclus(criteria.getIngredientsInclus())
+                .ingredientsExclus(criteria.getIngredientsExclus())
+                .noteMoyenneMin(criteria.getNoteMoyenneMin())
+                .statut(criteria.getStatut())
+                .build();
+    }
+
+    private static boolean hasLocalOnlyCriteria(RecetteSearchRequest criteria) {
+        return (criteria.getKeyword() != null && !criteria.getKeyword().isBlank())
+                || (criteria.getTags() != null && !criteria.getTags().isEmpty());
+    }
+}
@@ -0,0 +1,215 @@
+package com.msrecette.univ.soa.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.msrecette.univ.soa.response.DifficulteEnum;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.*;
+
+/**
+ * Cache des résultats de recherche, indexé par la forme canonique des critères ({@link SearchKey}).
+ *
+ * Pas d'expiration : une entrée est retirée dès qu'une modification de recette peut changer
+ * son résultat, c'est-à-dire lorsque l'ancienne ou la nouvelle version de la recette satisfait
+ * les critères. Pour le mot-clé, le test est large (préfixe ou terme de titre proche) et l'entrée
+ * tient le nombre de recettes correspondant exactement à chaque terme : un terme qui passe
+ * de zéro à au moins une correspondance exacte (ou l'inverse) bascule entre recherche exacte
+ * et recherche approchée, ce qui invalide aussi l'entrée.
+ * Non thread-safe pour les invalidations : elles sont faites sous le verrou d'écriture
+ * de {@link RecetteCatalogIndex}.
+ */
+final class SearchResultCache {
+
+    private final Cache<SearchKey, Entry> entries;
+
+    SearchResultCache(long maximumSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    List<RecetteResponse> get(SearchKey key) {
+        Entry entry = entries.getIfPresent(key);
+        return entry != null ? entry.recettes : null;
+    }
+
+    /**
+     * Conserver un résultat et retourner sa copie immuable
+     *
+     * @param exactMatches nombre de recettes correspondant exactement (en préfixe) à chaque terme du mot-clé
+     */
+    List<RecetteResponse> put(SearchKey key, List<RecetteResponse> recettes, int[] exactMatches) {
+        Entry entry = new Entry(List.copyOf(recettes), exactMatches);
+        entries.put(key, entry);
+        return entry.recettes;
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Retirer les entrées dont le résultat peut dépendre de la recette modifiée
+     *
+     * @param previous version avant modification (null pour une création)
+     * @param current  version après modification (null pour une suppression)
+     */
+    void onChange(RecetteResponse previous, RecetteResponse current) {
+        DocumentTerms before = previous != null ? new DocumentTerms(previous) : null;
+        DocumentTerms after = current != null ? new DocumentTerms(current) : null;
+
+        entries.asMap().entrySet().removeIf(cached -> {
+            SearchKey key = cached.getKey();
+            Entry entry = cached.getValue();
+            if ((before != null && matches(key, before)) || (after != null && matches(key, after))) {
+                return true;
+            }
+
+            int[] updated = entry.exactMatches.clone();
+            for (int i = 0; i < updated.length; i++) {
+                String term = key.keywordTerms().get(i);
+                if (before != null && before.hasPrefix(term)) {
+                    updated[i]--;
+                }
+                if (after != null && after.hasPrefix(term)) {
+                    updated[i]++;
+                }
+                if ((updated[i] == 0) != (entry.exactMatches[i] == 0)) {
+                    return true;
+                }
+            }
+            System.arraycopy(updated, 0, entry.exactMatches, 0, updated.length);
+            return false;
+        });
+    }
+
+    // Test large d'une recette contre les critères : vrai dès qu'elle peut figurer au résultat
+    private static boolean matches(SearchKey key, DocumentTerms document) {
+        RecetteResponse recette = document.recette;
+
+        if (key.categorie() != null
+                && !key.categorie().equals(RecetteFilterEngine.categorieKey(recette.getCategorie()))) {
+            return false;
+        }
+        if (key.statut() != null && !key.statut().equals(RecetteFilterEngine.statutKey(recette.getStatut()))) {
+            return false;
+        }
+        if (key.difficulteMax() != null) {
+            DifficulteEnum difficulte = RecetteFilterEngine.difficulte(recette.getDifficulte());
+            if (difficulte != null && difficulte.compareTo(key.difficulteMax()) > 0) {
+                return false;
+            }
+        }
+        if (!key.tags().isEmpty() && !document.tagKeys().containsAll(key.tags())) {
+            return false;
+        }
+        if (!key.ingredientsInclus().isEmpty() && !document.alimentIds().containsAll(key.ingredientsInclus())) {
+            return false;
+        }
+        for (Long alimentId : key.ingredientsExclus()) {
+            if (document.alimentIds().contains(alimentId)) {
+                return false;
+            }
+        }
+        if (key.tempsMax() != null && recette.getTempsTotal() != null && recette.getTempsTotal() > key.tempsMax()) {
+            return false;
+        }
+        if (key.kcalMax() != null && recette.getKcal() != null && recette.getKcal() > key.kcalMax()) {
+            return false;
+        }
+        if (key.noteMoyenneMin() != null && (recette.getNoteMoyenne() == null
+                || recette.getNoteMoyenne().isNaN() || recette.getNoteMoyenne() < key.noteMoyenneMin())) {
+            return false;
+        }
+
+        for (String term : key.keywordTerms()) {
+            if (!document.hasPrefix(term) && !document.hasCloseTitleTerm(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        private final List<RecetteResponse> recettes;
+        private final int[] exactMatches;
+
+        private Entry(List<RecetteResponse> recettes, int[] exactMatches) {
+            this.recettes = recettes;
+            this.exactMatches = exactMatches;
+        }
+    }
+
+    /**
+     * Termes d'une recette, calculés une fois par modification
+     */
+    private static final class DocumentTerms {
+        private final RecetteResponse recette;
+        private final NavigableSet<String> terms = new TreeSet<>();
+        private final Set<String> titleTerms;
+        private Set<String> tagKeys;
+        private Set<Long> alimentIds;
+
+        private DocumentTerms(RecetteResponse recette) {
+            this.recette = recette;
+            this.titleTerms = new HashSet<>(TextNormalizer.tokenize(recette.getTitre()));
+            terms.addAll(titleTerms);
+            terms.addAll(TextNormalizer.tokenize(recette.getDescription()));
+            if (recette.getTags() != null) {
+                recette.getTags().forEach(tag -> terms.addAll(TextNormalizer.tokenize(tag)));
+            }
+        }
+
+        private boolean hasPrefix(String prefix) {
+            String ceiling = terms.ceiling(prefix);
+            return ceiling != null && ceiling.startsWith(prefix);
+        }
+
+        private boolean hasCloseTitleTerm(String term) {
+            int maxEdits = TrigramIndex.maxEdits(term.length());
+            if (maxEdits == 0) {
+                return false;
+            }
+            for (String titleTerm : titleTerms) {
+                if (TrigramIndex.boundedDistance(term, titleTerm, maxEdits) <= maxEdits) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Set<String> tagKeys() {
+            if (tagKeys == null) {
+                tagKeys = new HashSet<>();
+                if (recette.getTags() != null) {
+                    recette.getTags().stream()
+                            .filter(Objects::nonNull)
+                            .map(RecetteFilterEngine::tagKey)
+                            .forEach(tagKeys::add);
+                }
+            }
+            return tagKeys;
+        }
+
+        private Set<Long> alimentIds() {
+            if (alimentIds == null) {
+                alimentIds = new HashSet<>();
+                if (recette.getIngredients() != null) {
+                    for (IngredientResponse ingredient : recette.getIngredients()) {
+                        if (ingredient != null && ingredient.getAlimentId() != null) {
+                            alimentIds.add(ingredient.getAlimentId());
+                        }
+                    }
+                }
+            }
+            return alimentIds;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.List;
+
+/**
+ * Résultat d'une recherche figé sur une version du catalogue
+ *
+ * @param version  version de l'index au moment de l'évaluation
+ * @param recettes recettes correspondantes (références immuables, l'index remplace les objets sans les modifier)
+ */
+public record SearchSnapshot(long version, List<RecetteResponse> recettes) {
+}
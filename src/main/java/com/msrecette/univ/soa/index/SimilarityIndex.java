@@ -0,0 +1,152 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+/**
+ * Index de similarité par MinHash / LSH sur la composition des recettes (aliments et tags).
+ *
+ * La signature d'une recette est formée de {@value #HASHES} minimums de hachage de ses
+ * caractéristiques ; deux recettes ont la même valeur à une position avec une probabilité égale
+ * à leur indice de Jaccard. La signature est découpée en {@value #BANDS} bandes de
+ * {@value #ROWS} valeurs, chacune rangée dans un seau : les recettes qui partagent au moins un
+ * seau sont candidates (seuil de similarité d'environ 0,5), puis départagées par leur Jaccard exact.
+ * Seules les recettes modifiées sont rehachées ; les signatures n'étant fonction que
+ * de la recette, elles sont recalculées au retrait plutôt que conservées.
+ * Non thread-safe : l'accès est synchronisé par {@link RecetteCatalogIndex}.
+ */
+final class SimilarityIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    // Un dictionnaire de seaux par bande : clé de bande -> ordinaux
+    private final List<Map<Long, RoaringBitmap>> buckets = new ArrayList<>(BANDS);
+
+    SimilarityIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    void clear() {
+        buckets.forEach(Map::clear);
+    }
+
+    void add(int ordinal, RecetteResponse recette) {
+        long[] keys = bandKeys(features(recette));
+        for (int band = 0; band < keys.length; band++) {
+            buckets.get(band).computeIfAbsent(keys[band], k -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    void remove(int ordinal, RecetteResponse recette) {
+        long[] keys = bandKeys(features(recette));
+        for (int band = 0; band < keys.length; band++) {
+            Map<Long, RoaringBitmap> bandBuckets = buckets.get(band);
+            RoaringBitmap bitmap = bandBuckets.get(keys[band]);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bandBuckets.remove(keys[band]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ordinaux partageant au moins un seau avec la recette (elle-même comprise si indexée)
+     */
+    RoaringBitmap candidates(RecetteResponse recette) {
+        long[] keys = bandKeys(features(recette));
+        RoaringBitmap candidates = new RoaringBitmap();
+        for (int band = 0; band < keys.length; band++) {
+            RoaringBitmap bitmap = buckets.get(band).get(keys[band]);
+            if (bitmap != null) {
+                candidates.or(bitmap);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Caractéristiques d'une recette : aliments de ses ingrédients et tags normalisés
+     */
+    static Set<Long> features(RecetteResponse recette) {
+        Set<Long> features = new HashSet<>();
+        for (Long alimentId : PantryIndex.ingredients(recette).keySet()) {
+            features.add(mix(alimentId << 1));
+        }
+        if (recette.getTags() != null) {
+            for (String tag : recette.getTags()) {
+                String key = tag != null ? RecetteFilterEngine.tagKey(tag) : "";
+                if (!key.isEmpty()) {
+                    features.add(mix(((long) key.hashCode() << 1) | 1));
+                }
+            }
+        }
+        return features;
+    }
+
+    static double jaccard(Set<Long> a, Set<Long> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (Long feature : a.size() <= b.size() ? a : b) {
+            if ((a.size() <= b.size() ? b : a).contains(feature)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    // Clés des bandes de la signature MinHash ; aucune clé pour une recette sans caractéristique
+    private static long[] bandKeys(Set<Long> features) {
+        if (features.isEmpty()) {
+            return new long[0];
+        }
+
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long feature : features) {
+            for (int i = 0; i < HASHES; i++) {
+                long hash = mix(feature ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    // Finaliseur de SplitMix64 : bon mélange des bits pour un coût minime
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
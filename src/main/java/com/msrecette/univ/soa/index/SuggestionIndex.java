@@ -0,0 +1,252 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
+
+import java.util.*;
+
+/**
+ * Structure immuable d'autocomplétion sur les titres et les tags normalisés.
+ *
+ * Les clés (titre complet, puis chaque fin de titre à partir d'un mot, et chaque tag) sont
+ * triées dans un tableau : les clés commençant par un préfixe forment un intervalle contigu,
+ * trouvé par dichotomie. Le maximum de popularité d'un intervalle est obtenu via une table
+ * clairsemée sur des blocs de {@value #BLOCK} clés, et les N meilleures entrées sont extraites
+ * en découpant l'intervalle autour de chaque maximum (coût en O(N log N), indépendant
+ * du nombre de clés couvertes par le préfixe).
+ */
+final class SuggestionIndex {
+
+    private static final int BLOCK = 64;
+
+    // Nombre maximal de fins de titre indexées par recette
+    private static final int MAX_TITLE_SUFFIXES = 6;
+
+    private static final String STATUT_REJETEE = "REJETEE";
+
+    private final long version;
+
+    // Entrées suggérables : libellé affiché, recette (-1 pour un tag) et score de popularité
+    private final String[] labels;
+    private final long[] recetteIds;
+    private final double[] scores;
+
+    // Clés triées et entrée associée à chaque clé
+    private final String[] keys;
+    private final int[] keyEntries;
+
+    // blockBest[b] : position de la meilleure clé du bloc b ; sparse[k][b] : meilleur bloc de [b, b + 2^k[
+    private final int[] blockBest;
+    private final int[][] sparse;
+
+    private SuggestionIndex(long version, String[] labels, long[] recetteIds, double[] scores,
+                            String[] keys, int[] keyEntries) {
+        this.version = version;
+        this.labels = labels;
+        this.recetteIds = recetteIds;
+        this.scores = scores;
+        this.keys = keys;
+        this.keyEntries = keyEntries;
+
+        int blocks = (keys.length + BLOCK - 1) / BLOCK;
+        this.blockBest = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            blockBest[b] = scanBest(b * BLOCK, Math.min(keys.length, (b + 1) * BLOCK) - 1);
+        }
+
+        int levels = blocks == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(blocks);
+        this.sparse = new int[levels][];
+        if (levels > 0) {
+            sparse[0] = new int[blocks];
+            for (int b = 0; b < blocks; b++) {
+                sparse[0][b] = b;
+            }
+        }
+        for (int k = 1; k < levels; k++) {
+            int span = 1 << k;
+            sparse[k] = new int[blocks - span + 1];
+            for (int b = 0; b + span <= blocks; b++) {
+                sparse[k][b] = betterBlock(sparse[k - 1][b], sparse[k - 1][b + span / 2]);
+            }
+        }
+    }
+
+    /**
+     * Construire la structure à partir des recettes du catalogue (les recettes rejetées sont ignorées).
+     * Popularité d'une recette : note moyenne x ln(1 + nombre de feedbacks) ; d'un tag : somme
+     * des popularités des recettes qui le portent.
+     */
+    static SuggestionIndex build(long version, Collection<RecetteResponse> recettes) {
+        List<String> labels = new ArrayList<>();
+        List<Long> recetteIds = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        Map<String, Integer> tagEntries = new HashMap<>();
+        List<Map.Entry<String, Integer>> keyed = new ArrayList<>();
+
+        for (RecetteResponse recette : recettes) {
+            if (recette.getTitre() == null || STATUT_REJETEE.equalsIgnoreCase(recette.getStatut())) {
+                continue;
+            }
+            double score = popularity(recette);
+
+            List<String> tokens = TextNormalizer.tokenize(recette.getTitre());
+            if (!tokens.isEmpty()) {
+                int entry = labels.size();
+                labels.add(recette.getTitre());
+                recetteIds.add(recette.getId());
+                scores.add(score);
+
+                Set<String> suffixes = new HashSet<>();
+                for (int i = 0; i < Math.min(tokens.size(), MAX_TITLE_SUFFIXES); i++) {
+                    suffixes.add(String.join(" ", tokens.subList(i, tokens.size())));
+                }
+                suffixes.forEach(suffix -> keyed.add(Map.entry(suffix, entry)));
+            }
+
+            if (recette.getTags() != null) {
+                for (String tag : recette.getTags()) {
+                    String key = String.join(" ", TextNormalizer.tokenize(tag));
+                    if (key.isEmpty()) {
+                        continue;
+                    }
+                    Integer entry = tagEntries.get(key);
+                    if (entry == null) {
+                        entry = labels.size();
+                        tagEntries.put(key, entry);
+                        labels.add(tag.trim());
+                        recetteIds.add(-1L);
+                        scores.add(0.0);
+                        keyed.add(Map.entry(key, entry));
+                    }
+                    scores.set(entry, scores.get(entry) + score);
+                }
+            }
+        }
+
+        keyed.sort(Map.Entry.comparingByKey());
+        String[] keys = new String[keyed.size()];
+        int[] keyEntries = new int[keyed.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyed.get(i).getKey();
+            keyEntries[i] = keyed.get(i).getValue();
+        }
+
+        return new SuggestionIndex(version,
+                labels.toArray(String[]::new),
+                recetteIds.stream().mapToLong(Long::longValue).toArray(),
+                scores.stream().mapToDouble(Double::doubleValue).toArray(),
+                keys, keyEntries);
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * Retourner les suggestions les plus populaires dont une clé commence par le préfixe normalisé
+     */
+    List<SuggestionResponse> suggest(String normalizedPrefix, int limit) {
+        List<SuggestionResponse> result = new ArrayList<>();
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return result;
+        }
+
+        int from = lowerBound(normalizedPrefix);
+        int to = lowerBound(normalizedPrefix + Character.MAX_VALUE) - 1;
+        if (from > to) {
+            return result;
+        }
+
+        // Intervalles candidats ordonnés par leur meilleure clé
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compareKeys(a[2], b[2]));
+        ranges.add(new int[]{from, to, best(from, to)});
+        Set<Integer> emitted = new HashSet<>();
+
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int position = range[2];
+            int entry = keyEntries[position];
+            // Une recette peut apparaître sous plusieurs clés du même préfixe
+            if (emitted.add(entry)) {
+                result.add(toResponse(entry));
+            }
+            if (range[0] < position) {
+                ranges.add(new int[]{range[0], position - 1, best(range[0], position - 1)});
+            }
+            if (position < range[1]) {
+                ranges.add(new int[]{position + 1, range[1], best(position + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    int keyCount() {
+        return keys.length;
+    }
+
+    private SuggestionResponse toResponse(int entry) {
+        boolean recette = recetteIds[entry] >= 0;
+        return SuggestionResponse.builder()
+                .libelle(labels[entry])
+                .type(recette ? SuggestionResponse.TYPE_RECETTE : SuggestionResponse.TYPE_TAG)
+                .recetteId(recette ? recetteIds[entry] : null)
+                .build();
+    }
+
+    // Position de la meilleure clé de [from, to]
+    private int best(int from, int to) {
+        int firstBlock = from / BLOCK;
+        int lastBlock = to / BLOCK;
+        if (lastBlock - firstBlock <= 1) {
+            return scanBest(from, to);
+        }
+
+        int best = betterKey(scanBest(from, (firstBlock + 1) * BLOCK - 1), scanBest(lastBlock * BLOCK, to));
+        int level = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock - 1);
+        int left = sparse[level][firstBlock + 1];
+        int right = sparse[level][lastBlock - (1 << level)];
+        return betterKey(best, blockBest[betterBlock(left, right)]);
+    }
+
+    private int scanBest(int from, int to) {
+        int best = from;
+        for (int i = from + 1; i <= to; i++) {
+            best = betterKey(best, i);
+        }
+        return best;
+    }
+
+    private int betterBlock(int a, int b) {
+        return betterKey(blockBest[a], blockBest[b]) == blockBest[a] ? a : b;
+    }
+
+    private int betterKey(int a, int b) {
+        return compareKeys(a, b) <= 0 ? a : b;
+    }
+
+    // Score décroissant, puis ordre alphabétique des clés
+    private int compareKeys(int a, int b) {
+        int byScore = Double.compare(scores[keyEntries[b]], scores[keyEntries[a]]);
+        return byScore != 0 ? byScore : Integer.compare(a, b);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double popularity(RecetteResponse recette) {
+        double note = recette.getNoteMoyenne() != null ? recette.getNoteMoyenne() : 0.0;
+        int feedbacks = recette.getNombreFeedbacks() != null ? recette.getNombreFeedbacks() : 0;
+        return note * Math.log1p(Math.max(0, feedbacks));
+    }
+}
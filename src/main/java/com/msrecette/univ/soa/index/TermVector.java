@@ -0,0 +1,89 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.*;
+
+/**
+ * Termes d'une recette avec leur fréquence par champ (titre, description, tags)
+ * et la longueur de chaque champ, pour le calcul de pertinence.
+ * Les termes sont triés : ceux qui commencent par un préfixe sont contigus.
+ */
+final class TermVector {
+
+    static final int TITRE = 0;
+    static final int DESCRIPTION = 1;
+    static final int TAGS = 2;
+    static final int FIELDS = 3;
+
+    private final String[] terms;
+    // FIELDS fréquences consécutives par terme
+    private final int[] frequencies;
+    private final int[] fieldLengths;
+
+    private TermVector(String[] terms, int[] frequencies, int[] fieldLengths) {
+        this.terms = terms;
+        this.frequencies = frequencies;
+        this.fieldLengths = fieldLengths;
+    }
+
+    static TermVector of(RecetteResponse recette) {
+        List<List<String>> fields = new ArrayList<>(FIELDS);
+        fields.add(TextNormalizer.tokenize(recette.getTitre()));
+        fields.add(TextNormalizer.tokenize(recette.getDescription()));
+        List<String> tags = new ArrayList<>();
+        if (recette.getTags() != null) {
+            recette.getTags().forEach(tag -> tags.addAll(TextNormalizer.tokenize(tag)));
+        }
+        fields.add(tags);
+
+        SortedMap<String, int[]> counts = new TreeMap<>();
+        int[] fieldLengths = new int[FIELDS];
+        for (int field = 0; field < FIELDS; field++) {
+            for (String term : fields.get(field)) {
+                counts.computeIfAbsent(term, t -> new int[FIELDS])[field]++;
+            }
+            fieldLengths[field] = fields.get(field).size();
+        }
+
+        String[] terms = counts.keySet().toArray(String[]::new);
+        int[] frequencies = new int[terms.length * FIELDS];
+        for (int i = 0; i < terms.length; i++) {
+            System.arraycopy(counts.get(terms[i]), 0, frequencies, i * FIELDS, FIELDS);
+        }
+        return new TermVector(terms, frequencies, fieldLengths);
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    String term(int index) {
+        return terms[index];
+    }
+
+    int frequency(int index, int field) {
+        return frequencies[index * FIELDS + field];
+    }
+
+    int fieldLength(int field) {
+        return fieldLengths[field];
+    }
+
+    /**
+     * Indice du premier terme supérieur ou égal au préfixe
+     */
+    int lowerBound(String prefix) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,123 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Classement borné des K meilleures recettes selon un ordre donné.
+ *
+ * Maintenu de façon incrémentale : une recette meilleure que la dernière du classement y entre
+ * en évinçant cette dernière. Lorsqu'une recette du classement en sort (suppression, rejet, baisse
+ * de note) alors que le classement est plein, le remplaçant n'est pas connu : le classement est
+ * marqué à recompléter et sera reconstruit à la lecture suivante à partir du catalogue.
+ */
+final class TopKRanking {
+
+    private final int capacity;
+    private final Comparator<RecetteResponse> order;
+
+    private final TreeSet<RecetteResponse> top;
+    private final Map<Long, RecetteResponse> members = new HashMap<>();
+    private boolean dirty;
+
+    TopKRanking(int capacity, Comparator<RecetteResponse> order) {
+        this.capacity = capacity;
+        this.order = order;
+        this.top = new TreeSet<>(order);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    synchronized void reset() {
+        top.clear();
+        members.clear();
+        dirty = false;
+    }
+
+    /**
+     * Prendre en compte une recette nouvelle ou modifiée
+     *
+     * @param eligible false si la recette ne doit pas figurer au classement (ex: rejetée)
+     */
+    synchronized void upsert(RecetteResponse recette, boolean eligible) {
+        boolean wasFull = top.size() >= capacity;
+        RecetteResponse previous = members.remove(recette.getId());
+        if (previous != null) {
+            top.remove(previous);
+        }
+
+        if (!eligible) {
+            dirty |= previous != null && wasFull;
+            return;
+        }
+        if (dirty) {
+            return;
+        }
+
+        if (previous != null) {
+            // Un membre qui recule derrière le dernier peut être dépassé par une recette hors classement
+            if (wasFull && !top.isEmpty() && order.compare(recette, top.last()) > 0) {
+                dirty = true;
+                return;
+            }
+            insert(recette);
+        } else if (top.size() < capacity) {
+            insert(recette);
+        } else if (order.compare(recette, top.last()) < 0) {
+            insert(recette);
+            members.remove(top.pollLast().getId());
+        }
+    }
+
+    synchronized void remove(Long id) {
+        boolean wasFull = top.size() >= capacity;
+        RecetteResponse previous = members.remove(id);
+        if (previous != null) {
+            top.remove(previous);
+            dirty |= wasFull;
+        }
+    }
+
+    /**
+     * Lire les premières recettes du classement (limit <= capacité)
+     *
+     * @param eligibleRecettes source complète utilisée uniquement si le classement doit être recomplété
+     */
+    synchronized List<RecetteResponse> first(int limit, Supplier<Iterable<RecetteResponse>> eligibleRecettes) {
+        if (dirty) {
+            refill(eligibleRecettes.get());
+        }
+
+        List<RecetteResponse> result = new ArrayList<>(Math.min(limit, top.size()));
+        for (RecetteResponse recette : top) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(recette);
+        }
+        return result;
+    }
+
+    private void refill(Iterable<RecetteResponse> eligibleRecettes) {
+        top.clear();
+        members.clear();
+        for (RecetteResponse recette : eligibleRecettes) {
+            if (top.size() < capacity) {
+                insert(recette);
+            } else if (order.compare(recette, top.last()) < 0) {
+                insert(recette);
+                members.remove(top.pollLast().getId());
+            }
+        }
+        dirty = false;
+    }
+
+    private void insert(RecetteResponse recette) {
+        top.add(recette);
+        members.put(recette.getId(), recette);
+    }
+}
@@ -0,0 +1,197 @@
+package com.msrecette.univ.soa.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+/**
+ * Index de trigrammes sur le vocabulaire des titres, pour la recherche tolérante aux fautes.
+ *
+ * Chaque terme distinct des titres reçoit un identifiant ; chaque trigramme (terme encadré par '$')
+ * pointe vers le bitmap des termes qui le contiennent. Une requête compte les trigrammes partagés
+ * avec chaque terme du vocabulaire, écarte ceux qui ne peuvent pas être à distance d'édition
+ * suffisante (lemme des q-grammes et écart de longueur), puis vérifie les candidats restants par
+ * une distance de Damerau-Levenshtein bornée. On ne parcourt jamais la liste des titres.
+ * Non thread-safe : l'accès est synchronisé par {@link RecetteCatalogIndex}.
+ */
+final class TrigramIndex {
+
+    private static final int Q = 3;
+
+    // Vocabulaire des titres : terme -> identifiant, et recettes (ordinaux) par identifiant
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<RoaringBitmap> termOrdinals = new ArrayList<>();
+    private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+
+    private final Map<String, RoaringBitmap> trigramPostings = new HashMap<>();
+
+    void clear() {
+        termIds.clear();
+        terms.clear();
+        termOrdinals.clear();
+        freeTermIds.clear();
+        trigramPostings.clear();
+    }
+
+    void add(int ordinal, Collection<String> titleTerms) {
+        for (String term : titleTerms) {
+            Integer termId = termIds.get(term);
+            if (termId == null) {
+                termId = registerTerm(term);
+            }
+            termOrdinals.get(termId).add(ordinal);
+        }
+    }
+
+    void remove(int ordinal, Collection<String> titleTerms) {
+        for (String term : titleTerms) {
+            Integer termId = termIds.get(term);
+            if (termId == null) {
+                continue;
+            }
+            RoaringBitmap ordinals = termOrdinals.get(termId);
+            ordinals.remove(ordinal);
+            if (ordinals.isEmpty()) {
+                unregisterTerm(term, termId);
+            }
+        }
+    }
+
+    /**
+     * Ordinaux des recettes dont le titre contient un terme proche du terme demandé
+     * (distance d'édition bornée selon sa longueur). Bitmap vide si le terme est trop court.
+     */
+    RoaringBitmap fuzzyMatches(String term) {
+        int maxEdits = maxEdits(term.length());
+        RoaringBitmap result = new RoaringBitmap();
+        if (maxEdits == 0 || terms.isEmpty()) {
+            return result;
+        }
+
+        // Comptage des trigrammes partagés par terme du vocabulaire
+        int[] shared = new int[terms.size()];
+        RoaringBitmap touched = new RoaringBitmap();
+        for (String trigram : trigrams(term)) {
+            RoaringBitmap postings = trigramPostings.get(trigram);
+            if (postings != null) {
+                postings.forEach((int termId) -> shared[termId]++);
+                touched.or(postings);
+            }
+        }
+
+        touched.forEach((int termId) -> {
+            String candidate = terms.get(termId);
+            if (candidate == null || Math.abs(candidate.length() - term.length()) > maxEdits) {
+                return;
+            }
+            // Une faute touche au plus Q trigrammes (Q + 1 pour une inversion de deux lettres) :
+            // deux termes à distance <= k partagent au moins max(|a|, |b|) - k * (Q + 1) trigrammes
+            int required = Math.max(candidate.length(), term.length()) - maxEdits * (Q + 1);
+            if (shared[termId] >= required && boundedDistance(term, candidate, maxEdits) <= maxEdits) {
+                result.or(termOrdinals.get(termId));
+            }
+        });
+        return result;
+    }
+
+    int vocabularySize() {
+        return termIds.size();
+    }
+
+    /**
+     * Nombre de fautes tolérées : aucune sous 5 caractères, 1 jusqu'à 8, 2 au-delà
+     */
+    static int maxEdits(int length) {
+        if (length < 5) {
+            return 0;
+        }
+        return length <= 8 ? 1 : 2;
+    }
+
+    /**
+     * Distance de Damerau-Levenshtein (alignement optimal) bornée : retourne max + 1
+     * dès que la distance dépasse forcément max
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m];
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + Q <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + Q));
+        }
+        return trigrams;
+    }
+
+    private int registerTerm(String term) {
+        int termId;
+        if (freeTermIds.isEmpty()) {
+            termId = terms.size();
+            terms.add(term);
+            termOrdinals.add(new RoaringBitmap());
+        } else {
+            termId = freeTermIds.pop();
+            terms.set(termId, term);
+            termOrdinals.set(termId, new RoaringBitmap());
+        }
+        termIds.put(term, termId);
+
+        for (String trigram : trigrams(term)) {
+            trigramPostings.computeIfAbsent(trigram, t -> new RoaringBitmap()).add(termId);
+        }
+        return termId;
+    }
+
+    private void unregisterTerm(String term, int termId) {
+        for (String trigram : trigrams(term)) {
+            RoaringBitmap postings = trigramPostings.get(trigram);
+            if (postings != null) {
+                postings.remove(termId);
+                if (postings.isEmpty()) {
+                    trigramPostings.remove(trigram);
+                }
+            }
+        }
+        termIds.remove(term);
+        terms.set(termId, null);
+        freeTermIds.push(termId);
+    }
+}
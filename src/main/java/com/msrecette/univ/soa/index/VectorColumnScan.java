@@ -0,0 +1,56 @@
+package com.msrecette.univ.soa.index;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Évaluation SIMD des prédicats de plage : une comparaison compare autant de valeurs que
+ * le registre vectoriel préféré en contient (8 entiers en AVX2, 16 en AVX-512), et son masque
+ * est recopié tel quel dans le mot de résultat. Le dernier mot incomplet est évalué en scalaire.
+ * Ne doit être chargée que si le module jdk.incubator.vector est présent.
+ */
+final class VectorColumnScan implements ColumnScan {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    static String describe() {
+        return INTS.length() + " entiers / " + DOUBLES.length() + " décimaux par instruction";
+    }
+
+    @Override
+    public void andAtMost(int[] column, int max, int size, long[] words) {
+        int lanes = INTS.length();
+        int fullWords = size >>> 6;
+        for (int word = 0; word < fullWords; word++) {
+            int base = word << 6;
+            long bits = 0;
+            for (int offset = 0; offset < 64; offset += lanes) {
+                bits |= IntVector.fromArray(INTS, column, base + offset)
+                        .compare(VectorOperators.LE, max)
+                        .toLong() << offset;
+            }
+            words[word] &= bits;
+        }
+        ScalarColumnScan.andAtMost(column, max, fullWords, size, words);
+    }
+
+    @Override
+    public void andAtLeast(double[] column, double min, int size, long[] words) {
+        int lanes = DOUBLES.length();
+        int fullWords = size >>> 6;
+        for (int word = 0; word < fullWords; word++) {
+            int base = word << 6;
+            long bits = 0;
+            for (int offset = 0; offset < 64; offset += lanes) {
+                bits |= DoubleVector.fromArray(DOUBLES, column, base + offset)
+                        .compare(VectorOperators.GE, min)
+                        .toLong() << offset;
+            }
+            words[word] &= bits;
+        }
+        ScalarColumnScan.andAtLeast(column, min, fullWords, size, words);
+    }
+}
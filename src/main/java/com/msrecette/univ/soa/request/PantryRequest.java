@@ -0,0 +1,24 @@
+package com.msrecette.univ.soa.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Aliments disponibles pour la recherche « que puis-je cuisiner »")
+public class PantryRequest {
+
+    @Schema(description = "IDs des aliments disponibles", example = "[1, 5, 12]", required = true)
+    @NotEmpty(message = "Au moins un aliment est requis")
+    @Size(max = 200, message = "Le garde-manger ne peut pas dépasser 200 aliments")
+    private List<Long> alimentIds;
+}
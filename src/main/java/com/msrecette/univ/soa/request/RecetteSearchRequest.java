@@ -15,7 +15,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Critères de recherche de recettes")
 public class RecetteSearchRequest {
 
@@ -49,4 +49,7 @@ public class RecetteSearchRequest {
     @DecimalMin(value = "1.0", message = "La note minimale doit être au moins 1.0")
     @DecimalMax(value = "5.0", message = "La note maximale ne peut pas dépasser 5.0")
     private Double noteMoyenneMin;
+
+    @Schema(description = "Statut de validation", example = "VALIDEE")
+    private String statut;
 }
@@ -0,0 +1,50 @@
+package com.msrecette.univ.soa.request;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Comparator;
+
+@Schema(description = "Ordre de tri des résultats de recherche")
+public enum RecetteSortEnum {
+    @Schema(description = "Plus récentes d'abord")
+    RECENTES(Comparator.comparing(RecetteResponse::getDateCreation,
+            Comparator.nullsLast(Comparator.reverseOrder()))),
+
+    @Schema(description = "Mieux notées d'abord, puis plus de feedbacks")
+    POPULAIRES(byPopularity()),
+
+    @Schema(description = "Pertinence pour le mot-clé (BM25), puis mieux notées ; "
+            + "le comparateur seul n'applique que la popularité, le score étant calculé par l'index")
+    PERTINENCE(byPopularity()),
+
+    @Schema(description = "Ordre alphabétique du titre")
+    TITRE(Comparator.comparing(RecetteResponse::getTitre,
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+
+    @Schema(description = "Temps total croissant")
+    TEMPS(Comparator.comparing(RecetteResponse::getTempsTotal,
+            Comparator.nullsLast(Comparator.naturalOrder()))),
+
+    @Schema(description = "Calories croissantes")
+    KCAL(Comparator.comparing(RecetteResponse::getKcal,
+            Comparator.nullsLast(Comparator.naturalOrder())));
+
+    private final Comparator<RecetteResponse> comparator;
+
+    RecetteSortEnum(Comparator<RecetteResponse> comparator) {
+        // L'ID départage les égalités pour garantir un ordre total et stable entre les pages
+        this.comparator = comparator.thenComparing(RecetteResponse::getId);
+    }
+
+    public Comparator<RecetteResponse> comparator() {
+        return comparator;
+    }
+
+    private static Comparator<RecetteResponse> byPopularity() {
+        return Comparator.comparing(RecetteResponse::getNoteMoyenne,
+                        Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+                .thenComparing(RecetteResponse::getNombreFeedbacks,
+                        Comparator.nullsLast(Comparator.reverseOrder()));
+    }
+}
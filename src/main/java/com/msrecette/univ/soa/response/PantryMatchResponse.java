@@ -0,0 +1,33 @@
+package com.msrecette.univ.soa.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Recette réalisable en partie avec les aliments disponibles")
+public class PantryMatchResponse {
+
+    @Schema(description = "Recette proposée")
+    private RecetteSummaryResponse recette;
+
+    @Schema(description = "Part pondérée des ingrédients disponibles (un ingrédient principal compte double)",
+            example = "0.75")
+    private Double couverture;
+
+    @Schema(description = "Nombre d'ingrédients de la recette disponibles", example = "3")
+    private Integer ingredientsDisponibles;
+
+    @Schema(description = "Nombre total d'ingrédients de la recette", example = "4")
+    private Integer ingredientsTotal;
+
+    @Schema(description = "IDs des aliments manquants", example = "[7]")
+    private List<Long> alimentsManquants;
+}
@@ -0,0 +1,35 @@
+package com.msrecette.univ.soa.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Comptages par facette des résultats d'une recherche")
+public class RecetteFacetsResponse {
+
+    @Schema(description = "Nombre total de résultats de la recherche", example = "342")
+    private Integer total;
+
+    @Schema(description = "Nombre de résultats par catégorie, du plus fréquent au moins fréquent",
+            example = "{\"PLAT_PRINCIPAL\": 120, \"DESSERT\": 85}")
+    private Map<String, Integer> categories;
+
+    @Schema(description = "Nombre de résultats par niveau de difficulté",
+            example = "{\"FACILE\": 200, \"MOYEN\": 110, \"DIFFICILE\": 32}")
+    private Map<String, Integer> difficultes;
+
+    @Schema(description = "Tags (sans accents ni majuscules) les plus fréquents parmi les résultats",
+            example = "{\"vegetarien\": 64, \"rapide\": 51}")
+    private Map<String, Integer> tags;
+
+    @Schema(description = "Version du catalogue sur laquelle les comptages ont été calculés", example = "12")
+    private Long snapshotVersion;
+}
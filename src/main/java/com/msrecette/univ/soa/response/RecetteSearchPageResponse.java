@@ -0,0 +1,30 @@
+package com.msrecette.univ.soa.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page de résultats de recherche avec curseur de continuation")
+public class RecetteSearchPageResponse {
+
+    @Schema(description = "Recettes de la page courante")
+    private List<RecetteSummaryResponse> recettes;
+
+    @Schema(description = "Nombre total de résultats de la recherche", example = "342")
+    private Integer total;
+
+    @Schema(description = "Curseur opaque de la page suivante (absent sur la dernière page)",
+            example = "djE6M2Y4YzE6MjA6MTI")
+    private String nextCursor;
+
+    @Schema(description = "Version du catalogue sur laquelle la recherche a été évaluée", example = "12")
+    private Long snapshotVersion;
+}
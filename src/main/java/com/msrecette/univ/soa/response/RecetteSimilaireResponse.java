@@ -0,0 +1,21 @@
+package com.msrecette.univ.soa.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Recette de composition proche (ingrédients et tags)")
+public class RecetteSimilaireResponse {
+
+    @Schema(description = "Recette similaire")
+    private RecetteSummaryResponse recette;
+
+    @Schema(description = "Indice de Jaccard des aliments et tags des deux recettes (0 à 1)", example = "0.6")
+    private Double similarite;
+}
@@ -0,0 +1,73 @@
+package com.msrecette.univ.soa.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "Résumé d'une recette (sans ingrédients ni étapes) pour les listes de résultats")
+public class RecetteSummaryResponse {
+
+    @Schema(description = "Identifiant unique de la recette", example = "1")
+    private Long id;
+
+    @Schema(description = "Titre de la recette", example = "Pâtes Carbonara")
+    private String titre;
+
+    @Schema(description = "Temps total de préparation en minutes", example = "30")
+    private Integer tempsTotal;
+
+    @Schema(description = "Nombre de calories", example = "500")
+    private Integer kcal;
+
+    @Schema(description = "URL de l'image", example = "https://example.com/carbonara.jpg")
+    private String imageUrl;
+
+    @Schema(description = "Niveau de difficulté", example = "MOYEN")
+    private String difficulte;
+
+    @Schema(description = "Catégorie de la recette", example = "PLAT_PRINCIPAL")
+    private String categorie;
+
+    @Schema(description = "Date de création", example = "2025-01-15T14:30:00")
+    private LocalDateTime dateCreation;
+
+    @Schema(description = "Statut de validation de la recette", example = "VALIDEE")
+    private String statut;
+
+    @Schema(description = "Tags associés", example = "[\"végétarien\", \"rapide\"]")
+    private List<String> tags;
+
+    @Schema(description = "Note moyenne de la recette", example = "4.5")
+    private Double noteMoyenne;
+
+    @Schema(description = "Nombre total de feedbacks", example = "25")
+    private Integer nombreFeedbacks;
+
+    public static RecetteSummaryResponse from(RecetteResponse recette) {
+        return RecetteSummaryResponse.builder()
+                .id(recette.getId())
+                .titre(recette.getTitre())
+                .tempsTotal(recette.getTempsTotal())
+                .kcal(recette.getKcal())
+                .imageUrl(recette.getImageUrl())
+                .difficulte(recette.getDifficulte())
+                .categorie(recette.getCategorie())
+                .dateCreation(recette.getDateCreation())
+                .statut(recette.getStatut())
+                .tags(recette.getTags())
+                .noteMoyenne(recette.getNoteMoyenne())
+                .nombreFeedbacks(recette.getNombreFeedbacks())
+                .build();
+    }
+}
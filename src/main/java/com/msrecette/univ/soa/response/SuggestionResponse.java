@@ -0,0 +1,27 @@
+package com.msrecette.univ.soa.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Suggestion d'autocomplétion (titre de recette ou tag)")
+public class SuggestionResponse {
+
+    public static final String TYPE_RECETTE = "RECETTE";
+    public static final String TYPE_TAG = "TAG";
+
+    @Schema(description = "Texte proposé", example = "Pâtes Carbonara")
+    private String libelle;
+
+    @Schema(description = "Nature de la suggestion", example = "RECETTE", allowableValues = {"RECETTE", "TAG"})
+    private String type;
+
+    @Schema(description = "Identifiant de la recette (suggestions de type RECETTE uniquement)", example = "1")
+    private Long recetteId;
+}
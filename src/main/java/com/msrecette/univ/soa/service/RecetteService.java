@@ -1,10 +1,18 @@
 package com.msrecette.univ.soa.service;
 
+import com.msrecette.univ.soa.index.PlannedSearch;
+import com.msrecette.univ.soa.request.PantryRequest;
 import com.msrecette.univ.soa.request.RecetteCreateRequest;
 import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
 import com.msrecette.univ.soa.request.RecetteUpdateRequest;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
 import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSearchPageResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
 import com.msrecette.univ.soa.response.RecetteStatsResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -16,6 +24,12 @@ public interface RecetteService {
     RecetteResponse getRecetteById(Long id);
     CompletableFuture<RecetteResponse> getRecetteByIdAsync(Long id);
     List<RecetteResponse> searchRecettes(RecetteSearchRequest searchRequest);
+    PlannedSearch searchRecettesPlanned(RecetteSearchRequest searchRequest);
+    RecetteSearchPageResponse searchRecettesPage(RecetteSearchRequest searchRequest, int size,
+                                                 RecetteSortEnum sort, String cursor);
+    RecetteFacetsResponse getSearchFacets(RecetteSearchRequest searchRequest, int maxTags);
+    List<PantryMatchResponse> searchPantry(PantryRequest request, int limit);
+    List<RecetteSimilaireResponse> getSimilarRecettes(Long id, int limit);
     List<RecetteResponse> getRecettesByCategorie(String categorie);
     RecetteStatsResponse getRecetteStats(Long id);
     RecetteResponse updateRecette(Long id, RecetteUpdateRequest request);
@@ -23,6 +37,7 @@ public interface RecetteService {
     boolean recetteExists(Long id);
     List<RecetteResponse> getPopularRecettes(int limit);
     List<RecetteResponse> getRecentRecettes(int limit);
+    List<SuggestionResponse> suggestRecettes(String prefix, int limit);
     List<RecetteResponse> getRecettesEnAttente();
     List<RecetteResponse> getRecettesValidees();
     List<RecetteResponse> getRecettesRejetees();
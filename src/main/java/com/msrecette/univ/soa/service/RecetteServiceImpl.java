@@ -1,17 +1,30 @@
 package com.msrecette.univ.soa.service;
 
+import com.msrecette.univ.soa.cache.RecetteCacheInvalidator;
 import com.msrecette.univ.soa.client.RecetteClient;
 import com.msrecette.univ.soa.exception.RecetteNotFoundException;
+import com.msrecette.univ.soa.index.KeysetPage;
+import com.msrecette.univ.soa.index.PlannedSearch;
+import com.msrecette.univ.soa.index.RecetteCatalogIndex;
+import com.msrecette.univ.soa.index.SearchCursor;
+import com.msrecette.univ.soa.index.SearchPlan;
+import com.msrecette.univ.soa.index.SearchPlanner;
+import com.msrecette.univ.soa.index.SearchSnapshot;
 import com.msrecette.univ.soa.request.*;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
 import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSearchPageResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
 import com.msrecette.univ.soa.response.RecetteStatsResponse;
+import com.msrecette.univ.soa.response.RecetteSummaryResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -22,9 +35,25 @@ import java.util.stream.Collectors;
 public class RecetteServiceImpl implements RecetteService {
 
     private final RecetteClient recetteClient;
+    private final RecetteCatalogIndex catalogIndex;
+    private final RecetteCacheInvalidator cacheInvalidator;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_TAG_FACETS = 100;
+    private static final int MAX_SIMILAIRES = 50;
+
+    // Retard toléré de la réplique locale (index) : au-delà, les lectures repartent vers ms-persistance
+    @Value("${recette.replica.max-lag-ms:120000}")
+    private long maxReplicaLagMs = 120000;
+
+    // Part maximale du catalogue qu'une recherche déléguée peut transférer lorsque l'index est périmé
+    @Value("${recette.search.pushdown-max-ratio:0.2}")
+    private double pushdownMaxRatio = 0.2;
+
+    private final Object indexLoadLock = new Object();
 
     @Override
-    @CacheEvict(value = {"recettes", "recettesByCategorie"}, allEntries = true)
     public RecetteResponse createRecette(RecetteCreateRequest request) {
         log.info("Création d'une nouvelle recette: {}", request.getTitre());
         log.info("🔍 utilisateurId reçu dans ms-recette: {}", request.getUtilisateurId());
@@ -32,9 +61,10 @@ public class RecetteServiceImpl implements RecetteService {
         // Valider d'abord avant toute communication avec le client
         validateRecetteCreateRequest(request);
 
+        RecetteResponse response;
         try {
             log.info("📤 Envoi vers ms-persistence avec utilisateurId: {}", request.getUtilisateurId());
-            RecetteResponse response = recetteClient.createRecette(request);
+            response = recetteClient.createRecette(request);
             log.info("Recette créée avec succès - ID: {}", response.getId());
             log.info("📥 utilisateurId reçu de ms-persistence: {}", response.getUtilisateurId());
 
@@ -43,12 +73,13 @@ public class RecetteServiceImpl implements RecetteService {
                 log.warn("⚠️ PROBLÈME: ms-persistence ne retourne pas utilisateurId, on le force depuis la requête");
                 response.setUtilisateurId(request.getUtilisateurId());
             }
-
-            return response;
         } catch (Exception e) {
             log.error("Erreur lors de la création de la recette: {}", e.getMessage());
             throw new RuntimeException("Impossible de créer la recette: " + e.getMessage(), e);
         }
+
+        indexRecette(response);
+        return response;
     }
 
     @Override
@@ -57,7 +88,9 @@ public class RecetteServiceImpl implements RecetteService {
         log.info("Récupération de toutes les recettes");
 
         try {
-            List<RecetteResponse> recettes = recetteClient.getAllRecettes();
+            List<RecetteResponse> recettes = replicaIsFresh()
+                    ? catalogIndex.list(new RecetteSearchRequest())
+                    : recetteClient.getAllRecettes();
             log.info("{} recettes récupérées", recettes.size());
             return recettes;
         } catch (Exception e) {
@@ -71,7 +104,9 @@ public class RecetteServiceImpl implements RecetteService {
         log.info("Récupération des recettes de l'utilisateur: {}", utilisateurId);
 
         try {
-            List<RecetteResponse> recettes = recetteClient.getRecettesByUtilisateur(utilisateurId);
+            List<RecetteResponse> recettes = replicaIsFresh()
+                    ? catalogIndex.listByUtilisateur(utilisateurId)
+                    : recetteClient.getRecettesByUtilisateur(utilisateurId);
             log.info("{} recettes récupérées pour l'utilisateur {}", recettes.size(), utilisateurId);
             return recettes;
         } catch (Exception e) {
@@ -109,50 +144,36 @@ public class RecetteServiceImpl implements RecetteService {
 
     @Override
     public List<RecetteResponse> searchRecettes(RecetteSearchRequest searchRequest) {
+        return searchRecettesPlanned(searchRequest).recettes();
+    }
+
+    @Override
+    public PlannedSearch searchRecettesPlanned(RecetteSearchRequest searchRequest) {
         log.info("Recherche de recettes avec critères: {}", searchRequest);
 
+        RecetteSearchRequest criteria = searchRequest != null ? searchRequest : new RecetteSearchRequest();
+        SearchPlan plan = SearchPlanner.plan(criteria, catalogIndex,
+                replicaIsFresh(), pushdownMaxRatio);
+        log.info("Plan de recherche: {}", plan.describe());
+
         try {
-            List<RecetteResponse> allRecettes = recetteClient.getAllRecettes();
-            List<RecetteResponse> filteredRecettes = allRecettes.stream()
-                .filter(recette -> {
-                    if (searchRequest.getKeyword() != null && !searchRequest.getKeyword().isEmpty()) {
-                        String keyword = searchRequest.getKeyword().toLowerCase();
-                        boolean matchTitre = recette.getTitre() != null &&
-                            recette.getTitre().toLowerCase().contains(keyword);
-                        boolean matchDesc = recette.getDescription() != null &&
-                            recette.getDescription().toLowerCase().contains(keyword);
-                        if (!matchTitre && !matchDesc) {
-                            return false;
-                        }
-                    }
-
-                    if (searchRequest.getCategorie() != null && !searchRequest.getCategorie().isEmpty()) {
-                        if (!searchRequest.getCategorie().equals(recette.getCategorie())) {
-                            return false;
-                        }
-                    }
-
-                    if (searchRequest.getTempsMax() != null) {
-                        if (recette.getTempsTotal() != null &&
-                            recette.getTempsTotal() > searchRequest.getTempsMax()) {
-                            return false;
-                        }
-                    }
-
-                    if (searchRequest.getKcalMax() != null) {
-                        if (recette.getKcal() != null &&
-                            recette.getKcal() > searchRequest.getKcalMax()) {
-                            return false;
-                        }
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
+            if (plan.strategy() != SearchPlan.Strategy.LOCAL) {
+                try {
+                    return new PlannedSearch(searchRemote(criteria, plan), plan);
+                } catch (RuntimeException e) {
+                    log.warn("Recherche déléguée indisponible, repli sur l'index local: {}", e.getMessage());
+                    plan = plan.withStrategy(SearchPlan.Strategy.LOCAL);
+                }
+            }
+
+            ensureIndexLoaded();
+
+            // Tous les critères sont résolus par l'index (bitmaps), sans parcours du catalogue
+            List<RecetteResponse> filteredRecettes = catalogIndex.search(criteria);
 
             log.info("{} recettes trouvées sur {} recettes totales",
-                    filteredRecettes.size(), allRecettes.size());
-            return filteredRecettes;
+                    filteredRecettes.size(), catalogIndex.size());
+            return new PlannedSearch(filteredRecettes, plan);
 
         } catch (Exception e) {
             log.error("Erreur lors de la recherche de recettes: {}", e.getMessage());
@@ -160,13 +181,133 @@ public class RecetteServiceImpl implements RecetteService {
         }
     }
 
+    @Override
+    public RecetteSearchPageResponse searchRecettesPage(RecetteSearchRequest searchRequest, int size,
+                                                        RecetteSortEnum sort, String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("La taille de page doit être comprise entre 1 et " + MAX_PAGE_SIZE);
+        }
+
+        RecetteSearchRequest criteria = searchRequest != null ? searchRequest : new RecetteSearchRequest();
+        RecetteSortEnum order = sort != null ? sort : RecetteSortEnum.RECENTES;
+        String criteriaHash = SearchCursor.criteriaHash(criteria);
+
+        // Le curseur ne porte que la position : les critères et le tri sont renvoyés à chaque page
+        SearchCursor position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            position = SearchCursor.decode(cursor);
+            if (!position.criteriaHash().equals(criteriaHash) || position.sort() != order) {
+                throw new IllegalArgumentException(
+                        "Le curseur ne correspond pas aux critères ou au tri de la recherche");
+            }
+        }
+
+        log.info("Recherche paginée - critères: {}, tri: {}, taille: {}, curseur: {}",
+                searchRequest, order, size, position != null);
+        ensureIndexLoaded();
+
+        // Résultat trié conservé par l'index : les pages suivantes s'y positionnent sans retrier
+        SearchSnapshot snapshot = catalogIndex.sortedSnapshot(criteria, order);
+
+        KeysetPage page = KeysetPage.of(snapshot, order, position, size);
+        int from = position != null ? position.offset() : 0;
+        int to = from + page.recettes().size();
+        String nextCursor = page.hasMore()
+                ? SearchCursor.after(criteriaHash, order, to,
+                        page.recettes().get(page.recettes().size() - 1), page.lastScore()).encode()
+                : null;
+
+        int total = snapshot.recettes().size();
+        log.info("Page de recherche [{}-{}[ sur {} résultats (version {})", from, to, total, snapshot.version());
+        return RecetteSearchPageResponse.builder()
+                .recettes(page.recettes().stream()
+                        .map(RecetteSummaryResponse::from)
+                        .collect(Collectors.toList()))
+                .total(total)
+                .nextCursor(nextCursor)
+                .snapshotVersion(snapshot.version())
+                .build();
+    }
+
+    @Override
+    public RecetteFacetsResponse getSearchFacets(RecetteSearchRequest searchRequest, int maxTags) {
+        if (maxTags < 1 || maxTags > MAX_TAG_FACETS) {
+            throw new IllegalArgumentException("Le nombre de tags doit être compris entre 1 et " + MAX_TAG_FACETS);
+        }
+        log.info("Comptage des facettes pour les critères: {}", searchRequest);
+
+        try {
+            ensureIndexLoaded();
+
+            // Un seul calcul du résultat, puis une intersection de bitmaps par valeur de facette
+            RecetteSearchRequest criteria = searchRequest != null ? searchRequest : new RecetteSearchRequest();
+            RecetteFacetsResponse facets = catalogIndex.facets(criteria, maxTags);
+
+            log.info("Facettes calculées sur {} résultats", facets.getTotal());
+            return facets;
+        } catch (Exception e) {
+            log.error("Erreur lors du calcul des facettes: {}", e.getMessage());
+            throw new RuntimeException("Erreur lors du calcul des facettes: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<PantryMatchResponse> searchPantry(PantryRequest request, int limit) {
+        if (request == null || request.getAlimentIds() == null || request.getAlimentIds().isEmpty()) {
+            throw new IllegalArgumentException("Au moins un aliment est requis");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Le nombre de résultats doit être compris entre 1 et " + MAX_PAGE_SIZE);
+        }
+        log.info("Recherche par garde-manger - {} aliments", request.getAlimentIds().size());
+
+        try {
+            ensureIndexLoaded();
+
+            // Comptage sur les listes d'ordinaux des seuls aliments disponibles
+            List<PantryMatchResponse> matches = catalogIndex.pantry(request.getAlimentIds(), limit);
+            log.info("{} recettes réalisables en partie", matches.size());
+            return matches;
+        } catch (Exception e) {
+            log.error("Erreur lors de la recherche par garde-manger: {}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la recherche par garde-manger: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<RecetteSimilaireResponse> getSimilarRecettes(Long id, int limit) {
+        if (limit < 1 || limit > MAX_SIMILAIRES) {
+            throw new IllegalArgumentException("Le nombre de résultats doit être compris entre 1 et " + MAX_SIMILAIRES);
+        }
+        log.info("Recherche des recettes similaires à la recette: {}", id);
+
+        ensureIndexLoaded();
+
+        // Une recette absente de l'index (créée depuis le dernier chargement) est lue à distance
+        RecetteResponse source = catalogIndex.get(id);
+        if (source == null) {
+            try {
+                source = recetteClient.getRecetteById(id);
+            } catch (RuntimeException e) {
+                log.error("Recette non trouvée - ID: {}", id);
+                throw new RecetteNotFoundException("Recette non trouvée avec l'ID: " + id);
+            }
+        }
+
+        List<RecetteSimilaireResponse> similaires = catalogIndex.similar(source, limit);
+        log.info("{} recettes similaires trouvées", similaires.size());
+        return similaires;
+    }
+
     @Override
     @Cacheable(value = "recettesByCategorie", key = "#categorie", unless = "#result == null || #result.isEmpty()")
     public List<RecetteResponse> getRecettesByCategorie(String categorie) {
         log.info("Récupération des recettes de la catégorie: {}", categorie);
 
         try {
-            List<RecetteResponse> recettes = recetteClient.getRecettesByCategorie(categorie);
+            List<RecetteResponse> recettes = replicaIsFresh()
+                    ? catalogIndex.list(RecetteSearchRequest.builder().categorie(categorie).build())
+                    : recetteClient.getRecettesByCategorie(categorie);
             log.info("{} recettes trouvées pour la catégorie {}", recettes.size(), categorie);
             return recettes;
         } catch (Exception e) {
@@ -184,6 +325,7 @@ public class RecetteServiceImpl implements RecetteService {
             RecetteStatsResponse stats = recetteClient.getRecetteStats(id);
             log.info("Statistiques récupérées pour la recette {} - Note moyenne: {}",
                     id, stats.getNoteMoyenne());
+            catalogIndex.updateStats(id, stats.getNoteMoyenne(), stats.getNombreFeedbacks());
             return stats;
         } catch (RuntimeException e) {
             log.error("Recette non trouvée pour les stats - ID: {}", id);
@@ -192,8 +334,6 @@ public class RecetteServiceImpl implements RecetteService {
     }
 
     @Override
-    @CacheEvict(value = {"recette", "recettes", "recettesByCategorie", "recetteStats"},
-            key = "#id", allEntries = true)
     public RecetteResponse updateRecette(Long id, RecetteUpdateRequest request) {
         log.info("Mise à jour de la recette: {}", id);
         log.info("🔍 utilisateurId reçu dans ms-recette pour mise à jour: {}", request.getUtilisateurId());
@@ -201,9 +341,10 @@ public class RecetteServiceImpl implements RecetteService {
         // Valider d'abord avant toute communication avec le client
         validateRecetteUpdateRequest(request);
 
+        RecetteResponse response;
         try {
             log.info("📤 Envoi mise à jour vers ms-persistence avec utilisateurId: {}", request.getUtilisateurId());
-            RecetteResponse response = recetteClient.updateRecette(id, request);
+            response = recetteClient.updateRecette(id, request);
             log.info("Recette mise à jour avec succès - ID: {}", id);
             log.info("📥 utilisateurId reçu de ms-persistence après màj: {}", response.getUtilisateurId());
 
@@ -211,19 +352,18 @@ public class RecetteServiceImpl implements RecetteService {
                 log.warn("⚠️ PROBLÈME: ms-persistence ne retourne pas utilisateurId après màj, on le force depuis la requête");
                 response.setUtilisateurId(request.getUtilisateurId());
             }
-
-            return response;
         } catch (RecetteNotFoundException e) {
             throw e;
         } catch (Exception e) {
             log.error("Erreur lors de la mise à jour de la recette: {}", e.getMessage());
             throw new RuntimeException("Impossible de mettre à jour la recette: " + e.getMessage(), e);
         }
+
+        indexRecette(response);
+        return response;
     }
 
     @Override
-    @CacheEvict(value = {"recette", "recettes", "recettesByCategorie", "recetteStats"},
-            key = "#id", allEntries = true)
     public void deleteRecette(Long id) {
         log.info("Suppression de la recette: {}", id);
 
@@ -237,6 +377,8 @@ public class RecetteServiceImpl implements RecetteService {
             log.error("Erreur lors de la suppression de la recette: {}", e.getMessage());
             throw new RuntimeException("Impossible de supprimer la recette: " + e.getMessage(), e);
         }
+
+        unindexRecette(id);
     }
 
     @Override
@@ -250,17 +392,10 @@ public class RecetteServiceImpl implements RecetteService {
         log.info("Récupération des {} recettes les plus populaires", limit);
 
         try {
-            List<RecetteResponse> allRecettes = recetteClient.getAllRecettes();
-
-            // Trier par note moyenne (décroissant) puis par nombre de feedbacks
-            return allRecettes.stream()
-                    .sorted(Comparator
-                            .comparing(RecetteResponse::getNoteMoyenne,
-                                    Comparator.nullsLast(Comparator.reverseOrder()))
-                            .thenComparing(RecetteResponse::getNombreFeedbacks,
-                                    Comparator.nullsLast(Comparator.reverseOrder())))
-                    .limit(limit)
-                    .collect(Collectors.toList());
+            ensureIndexLoaded();
+
+            // Classement maintenu par l'index : lecture en O(limit), sans appel distant ni tri
+            return catalogIndex.popular(limit);
         } catch (Exception e) {
             log.error("Erreur lors de la récupération des recettes populaires: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la récupération des recettes populaires", e);
@@ -272,26 +407,42 @@ public class RecetteServiceImpl implements RecetteService {
         log.info("Récupération des {} recettes les plus récentes", limit);
 
         try {
-            List<RecetteResponse> allRecettes = recetteClient.getAllRecettes();
-
-            // Trier par date de création (décroissant)
-            return allRecettes.stream()
-                    .sorted(Comparator.comparing(RecetteResponse::getDateCreation,
-                            Comparator.nullsLast(Comparator.reverseOrder())))
-                    .limit(limit)
-                    .collect(Collectors.toList());
+            ensureIndexLoaded();
+
+            // Ordre chronologique maintenu par l'index : parcours de la tête en O(limit)
+            return catalogIndex.recent(limit);
         } catch (Exception e) {
             log.error("Erreur lors de la récupération des recettes récentes: {}", e.getMessage());
             throw new RuntimeException("Erreur lors de la récupération des recettes récentes", e);
         }
     }
 
+    @Override
+    public List<SuggestionResponse> suggestRecettes(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Le nombre de suggestions doit être compris entre 1 et " + MAX_SUGGESTIONS);
+        }
+        log.debug("Suggestions pour le préfixe: {}", prefix);
+
+        try {
+            ensureIndexLoaded();
+
+            // Structure d'autocomplétion immuable : ni appel distant ni parcours du catalogue
+            return catalogIndex.suggest(prefix, limit);
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération des suggestions: {}", e.getMessage());
+            throw new RuntimeException("Erreur lors de la récupération des suggestions", e);
+        }
+    }
+
     @Override
     public List<RecetteResponse> getRecettesEnAttente() {
         log.info("Récupération des recettes en attente de validation");
 
         try {
-            List<RecetteResponse> recettes = recetteClient.getRecettesEnAttente();
+            List<RecetteResponse> recettes = replicaIsFresh()
+                    ? catalogIndex.list(RecetteSearchRequest.builder().statut("EN_ATTENTE").build())
+                    : recetteClient.getRecettesEnAttente();
             log.info("{} recettes en attente trouvées", recettes.size());
             return recettes;
         } catch (Exception e) {
@@ -305,7 +456,9 @@ public class RecetteServiceImpl implements RecetteService {
         log.info("Récupération des recettes validées");
 
         try {
-            List<RecetteResponse> recettes = recetteClient.getRecettesValidees();
+            List<RecetteResponse> recettes = replicaIsFresh()
+                    ? catalogIndex.list(RecetteSearchRequest.builder().statut("VALIDEE").build())
+                    : recetteClient.getRecettesValidees();
             log.info("{} recettes validées trouvées", recettes.size());
             return recettes;
         } catch (Exception e) {
@@ -319,7 +472,9 @@ public class RecetteServiceImpl implements RecetteService {
         log.info("Récupération des recettes rejetées");
 
         try {
-            List<RecetteResponse> recettes = recetteClient.getRecettesRejetees();
+            List<RecetteResponse> recettes = replicaIsFresh()
+                    ? catalogIndex.list(RecetteSearchRequest.builder().statut("REJETEE").build())
+                    : recetteClient.getRecettesRejetees();
             log.info("{} recettes rejetées trouvées", recettes.size());
             return recettes;
         } catch (Exception e) {
@@ -329,14 +484,13 @@ public class RecetteServiceImpl implements RecetteService {
     }
 
     @Override
-    @CacheEvict(value = {"recette", "recettes"}, key = "#id", allEntries = true)
     public RecetteResponse validerRecette(Long id) {
         log.info("Validation de la recette: {}", id);
 
+        RecetteResponse response;
         try {
-            RecetteResponse response = recetteClient.validerRecette(id);
+            response = recetteClient.validerRecette(id);
             log.info("Recette validée avec succès - ID: {}", id);
-            return response;
         } catch (RuntimeException e) {
             log.error("Erreur lors de la validation de la recette: {}", e.getMessage());
             if (e.getMessage().contains("non trouvée")) {
@@ -344,10 +498,12 @@ public class RecetteServiceImpl implements RecetteService {
             }
             throw new RuntimeException("Impossible de valider la recette: " + e.getMessage(), e);
         }
+
+        indexRecette(response);
+        return response;
     }
 
     @Override
-    @CacheEvict(value = {"recette", "recettes"}, key = "#id", allEntries = true)
     public RecetteResponse rejeterRecette(Long id, String motif) {
         log.info("Rejet de la recette: {} - Motif: {}", id, motif);
 
@@ -355,10 +511,10 @@ public class RecetteServiceImpl implements RecetteService {
             throw new IllegalArgumentException("Le motif de rejet est obligatoire");
         }
 
+        RecetteResponse response;
         try {
-            RecetteResponse response = recetteClient.rejeterRecette(id, motif);
+            response = recetteClient.rejeterRecette(id, motif);
             log.info("Recette rejetée avec succès - ID: {}", id);
-            return response;
         } catch (RuntimeException e) {
             log.error("Erreur lors du rejet de la recette: {}", e.getMessage());
             if (e.getMessage().contains("non trouvée")) {
@@ -366,6 +522,78 @@ public class RecetteServiceImpl implements RecetteService {
             }
             throw new RuntimeException("Impossible de rejeter la recette: " + e.getMessage(), e);
         }
+
+        indexRecette(response);
+        return response;
+    }
+
+    // ========================================
+    // MÉTHODES PRIVÉES - INDEX
+    // ========================================
+
+    /**
+     * Exécuter une recherche planifiée REMOTE ou HYBRID : seule une sélection du catalogue est
+     * transférée, les critères non délégables (HYBRID) étant appliqués localement aux candidats
+     */
+    private List<RecetteResponse> searchRemote(RecetteSearchRequest criteria, SearchPlan plan) {
+        if (plan.strategy() == SearchPlan.Strategy.REMOTE) {
+            return recetteClient.searchRecettes(criteria);
+        }
+        List<RecetteResponse> candidates = recetteClient.searchRecettes(SearchPlanner.structuredCriteria(criteria));
+        List<RecetteResponse> recettes = RecetteCatalogIndex.searchWithin(candidates, criteria);
+        log.info("{} recettes retenues localement sur {} transférées", recettes.size(), candidates.size());
+        return recettes;
+    }
+
+    // Lectures servies par la réplique tant que son retard reste dans la tolérance
+    private boolean replicaIsFresh() {
+        return !catalogIndex.isStale(maxReplicaLagMs);
+    }
+
+    /**
+     * Charger l'index depuis le catalogue distant s'il est vide ou trop ancien
+     */
+    private void ensureIndexLoaded() {
+        if (replicaIsFresh()) {
+            return;
+        }
+
+        synchronized (indexLoadLock) {
+            if (!replicaIsFresh()) {
+                // Lecture sans cache : un catalogue servi par le cache "recettes" fausserait la fraîcheur de l'index
+                catalogIndex.rebuild(recetteClient.getRecettesModifiedSince(null));
+            }
+        }
+    }
+
+    /**
+     * Répercuter une création ou une mise à jour dans l'index (s'il est déjà chargé) et les caches.
+     * Appelé après l'écriture distante : un échec local est journalisé sans faire échouer la requête,
+     * la réplique se réalignant à la prochaine synchronisation.
+     */
+    private void indexRecette(RecetteResponse recette) {
+        try {
+            if (catalogIndex.isLoaded()) {
+                catalogIndex.upsert(recette);
+            }
+            cacheInvalidator.recetteChanged(recette);
+        } catch (RuntimeException e) {
+            log.error("Recette {} enregistrée mais non répercutée dans l'index ou les caches: {}",
+                    recette.getId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retirer une recette supprimée de l'index et des caches, sans faire échouer la suppression
+     */
+    private void unindexRecette(Long id) {
+        try {
+            catalogIndex.remove(id);
+            cacheInvalidator.recetteDeleted(id);
+        } catch (RuntimeException e) {
+            log.error("Recette {} supprimée mais non retirée de l'index ou des caches: {}",
+                    id, e.getMessage(), e);
+        }
     }
 
     // ========================================
@@ -0,0 +1,181 @@
+package com.msrecette.univ.soa.sync;
+
+import com.msrecette.univ.soa.cache.RecetteCacheInvalidator;
+import com.msrecette.univ.soa.client.RecetteClient;
+import com.msrecette.univ.soa.index.RecetteCatalogIndex;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Réplique locale du catalogue : tient l'index en mémoire à jour de ms-persistance.
+ *
+ * Le catalogue est chargé une fois, puis seules les recettes modifiées depuis la plus récente
+ * date de modification indexée sont relues à intervalle régulier (avec un recouvrement, les recettes
+ * inchangées étant ignorées par l'index). Une suppression n'apparaît pas dans un delta : le catalogue
+ * est donc rechargé entièrement à intervalle plus long. Si ms-persistance ignore le filtre de date
+ * (recettes antérieures à la fenêtre, ou catalogue entier renvoyé), la réponse est traitée comme un
+ * rechargement complet. Les recettes disparues d'un catalogue complet sont diffusées sur le bus
+ * d'invalidation, comme une suppression faite par une instance. Le retard de la réplique est exposé
+ * par la métrique recette.replica.lag ; au-delà du retard toléré, l'index est considéré périmé et
+ * les lectures repartent vers ms-persistance (voir RecetteServiceImpl).
+ */
+@Component
+@ConditionalOnProperty(name = "recette.replica.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CatalogReplicaSync {
+
+    // Recouvrement des fenêtres de synchronisation : transactions validées en retard, horloges décalées
+    static final long OVERLAP_SECONDS = 60;
+
+    private final RecetteClient recetteClient;
+    private final RecetteCatalogIndex catalogIndex;
+    private final RecetteCacheInvalidator cacheInvalidator;
+    private final Counter changesApplied;
+    private final Counter deletionsApplied;
+
+    @Value("${recette.replica.full-resync-interval-ms:3600000}")
+    private long fullResyncIntervalMs = 3600000;
+
+    private volatile long lastFullSyncAt;
+
+    // Vrai tant que ms-persistance renvoie le catalogue entier malgré modifieDepuis (avertissement unique)
+    private volatile boolean unfilteredDeltas;
+
+    public CatalogReplicaSync(RecetteClient recetteClient, RecetteCatalogIndex catalogIndex,
+                              RecetteCacheInvalidator cacheInvalidator, MeterRegistry meterRegistry) {
+        this.recetteClient = recetteClient;
+        this.catalogIndex = catalogIndex;
+        this.cacheInvalidator = cacheInvalidator;
+        this.changesApplied = Counter.builder("recette.replica.changes")
+                .description("Recettes créées ou modifiées appliquées à la réplique")
+                .register(meterRegistry);
+        this.deletionsApplied = Counter.builder("recette.replica.deletions")
+                .description("Recettes supprimées détectées par un catalogue complet et diffusées")
+                .register(meterRegistry);
+        Gauge.builder("recette.replica.lag", this, CatalogReplicaSync::lagSeconds)
+                .description("Ancienneté de la dernière synchronisation réussie de la réplique")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${recette.replica.initial-delay-ms:0}",
+            fixedDelayString = "${recette.replica.sync-interval-ms:30000}")
+    public void sync() {
+        try {
+            LocalDateTime since = catalogIndex.latestModification();
+            boolean fullResyncDue = System.currentTimeMillis() - lastFullSyncAt > fullResyncIntervalMs;
+            if (!catalogIndex.isLoaded() || since == null || fullResyncDue) {
+                fullSync();
+            } else {
+                deltaSync(since.minusSeconds(OVERLAP_SECONDS));
+            }
+        } catch (RuntimeException e) {
+            // Le retard augmente jusqu'à la prochaine tentative ; les lectures basculent au-delà du seuil
+            log.warn("Synchronisation de la réplique impossible: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retard de la réplique en secondes (NaN tant qu'elle n'a jamais été chargée)
+     */
+    public double lagSeconds() {
+        long lastSync = catalogIndex.lastSyncAt();
+        return lastSync == 0 ? Double.NaN : (System.currentTimeMillis() - lastSync) / 1000.0;
+    }
+
+    private void fullSync() {
+        Set<Long> indexedBeforeFetch = catalogIndex.ids();
+        applyFullCatalogue(indexedBeforeFetch, recetteClient.getRecettesModifiedSince(null));
+    }
+
+    private void deltaSync(LocalDateTime since) {
+        // Relevé avant l'appel : une réponse non filtrée peut servir de catalogue complet
+        Set<Long> indexedBeforeFetch = catalogIndex.ids();
+        List<RecetteResponse> response = recetteClient.getRecettesModifiedSince(since);
+        List<RecetteResponse> delta = response.stream()
+                .filter(recette -> !modifiedBefore(recette, since))
+                .toList();
+        if (isUnfiltered(response, delta)) {
+            if (!unfilteredDeltas) {
+                log.warn("ms-persistance ignore le filtre modifieDepuis ({} recettes reçues, {} modifiées "
+                        + "depuis {}) : réponse traitée comme un rechargement complet", response.size(), delta.size(), since);
+            }
+            unfilteredDeltas = true;
+            applyFullCatalogue(indexedBeforeFetch, response);
+            delta.forEach(cacheInvalidator::recetteSynced);
+            return;
+        }
+        if (unfilteredDeltas) {
+            log.info("ms-persistance applique de nouveau le filtre modifieDepuis");
+            unfilteredDeltas = false;
+        }
+
+        int applied = 0;
+        for (RecetteResponse recette : delta) {
+            if (catalogIndex.upsert(recette)) {
+                // Modification faite hors de ce service : les caches locaux ne l'ont pas vue passer
+                cacheInvalidator.recetteSynced(recette);
+                applied++;
+            }
+        }
+        catalogIndex.markSynced();
+        changesApplied.increment(applied);
+        if (applied > 0) {
+            log.info("Réplique du catalogue synchronisée - {} recettes modifiées depuis {}", applied, since);
+        }
+    }
+
+    /**
+     * Réponse non filtrée : des recettes antérieures à la fenêtre, ou toutes les recettes indexées
+     */
+    private boolean isUnfiltered(List<RecetteResponse> response, List<RecetteResponse> delta) {
+        if (delta.size() < response.size()) {
+            return true;
+        }
+        int indexed = catalogIndex.size();
+        if (indexed == 0 || response.size() < indexed) {
+            return false;
+        }
+        Set<Long> ids = new HashSet<>();
+        response.forEach(recette -> ids.add(recette.getId()));
+        return ids.containsAll(catalogIndex.ids());
+    }
+
+    /**
+     * Remplacer la réplique par un catalogue complet et diffuser les suppressions qu'il révèle.
+     * Seules les recettes indexées avant la lecture comptent : une recette créée pendant l'appel
+     * est absente du catalogue lu sans être supprimée.
+     */
+    private void applyFullCatalogue(Set<Long> indexedBeforeFetch, List<RecetteResponse> recettes) {
+        Set<Long> removed = new HashSet<>(indexedBeforeFetch);
+        recettes.forEach(recette -> removed.remove(recette.getId()));
+
+        catalogIndex.rebuild(recettes);
+        lastFullSyncAt = System.currentTimeMillis();
+        if (!removed.isEmpty()) {
+            // Caches locaux et autres instances : même traitement qu'une suppression faite ici
+            removed.forEach(cacheInvalidator::recetteDeleted);
+            deletionsApplied.increment(removed.size());
+            log.info("{} recettes supprimées détectées et diffusées", removed.size());
+        }
+        log.info("Réplique du catalogue rechargée - {} recettes", recettes.size());
+    }
+
+    private static boolean modifiedBefore(RecetteResponse recette, LocalDateTime since) {
+        LocalDateTime modified = recette.getDateModification() != null
+                ? recette.getDateModification() : recette.getDateCreation();
+        return modified != null && modified.isBefore(since);
+    }
+}
@@ -0,0 +1,190 @@
+package com.msrecette.univ.soa.warmup;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.service.RecetteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Préchauffage des caches et de l'index au démarrage, avant l'entrée dans le trafic.
+ *
+ * Le catalogue complet est chargé d'abord (cache "recettes" et index), puis, avec un parallélisme
+ * borné : listes populaires et récentes, facettes et première page de recherche, listes des
+ * catégories les plus fournies et détail des recettes les plus populaires. Tant que le préchauffage
+ * n'est ni terminé ni arrivé à son délai maximal, l'indicateur de santé "warmup" maintient la sonde
+ * de readiness hors service (voir {@link WarmupHealthIndicator}). Une étape en échec est journalisée
+ * sans bloquer les autres.
+ */
+@Component
+@Slf4j
+public class StartupWarmup {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        TIMED_OUT,
+        DISABLED
+    }
+
+    // Taille des listes préchargées : valeurs par défaut des endpoints
+    private static final int LIST_LIMIT = 10;
+    private static final int PAGE_SIZE = 20;
+
+    private final RecetteService recetteService;
+
+    @Value("${recette.warmup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${recette.warmup.timeout-ms:90000}")
+    private long timeoutMs = 90000;
+
+    @Value("${recette.warmup.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${recette.warmup.top-categories:10}")
+    private int topCategories = 10;
+
+    @Value("${recette.warmup.popular-recettes:50}")
+    private int popularRecettes = 50;
+
+    private volatile State state = State.PENDING;
+    private volatile long startedAt;
+    private volatile long durationMs;
+    private final AtomicInteger failedSteps = new AtomicInteger();
+
+    public StartupWarmup(RecetteService recetteService) {
+        this.recetteService = recetteService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            state = State.DISABLED;
+            log.info("Préchauffage désactivé");
+            return;
+        }
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Préchauffage complet, bloquant jusqu'à sa fin ou son délai maximal
+     */
+    void run() {
+        startedAt = System.currentTimeMillis();
+        state = State.RUNNING;
+        log.info("Préchauffage des caches et de l'index (parallélisme: {}, délai maximal: {} ms)", parallelism, timeoutMs);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<Void> warmup = CompletableFuture
+                    .supplyAsync(() -> step("catalogue", recetteService::getAllRecettes, List.<RecetteResponse>of()), executor)
+                    .thenCompose(catalogue -> CompletableFuture.allOf(dependentSteps(catalogue, executor)));
+            warmup.get(timeoutMs, TimeUnit.MILLISECONDS);
+            state = State.DONE;
+        } catch (TimeoutException e) {
+            // Les étapes restantes se poursuivent en arrière-plan
+            state = State.TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.TIMED_OUT;
+        } catch (ExecutionException e) {
+            failedSteps.incrementAndGet();
+            state = State.DONE;
+        } finally {
+            executor.shutdown();
+            durationMs = System.currentTimeMillis() - startedAt;
+        }
+        log.info("Préchauffage {} en {} ms - {} étapes en échec", state == State.DONE ? "terminé" : "interrompu par le délai",
+                durationMs, failedSteps.get());
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Vrai lorsque l'instance peut recevoir du trafic : préchauffage terminé, désactivé ou hors délai
+     */
+    public boolean isComplete() {
+        return switch (state) {
+            case DONE, TIMED_OUT, DISABLED -> true;
+            case RUNNING -> System.currentTimeMillis() - startedAt >= timeoutMs;
+            case PENDING -> false;
+        };
+    }
+
+    public long durationMs() {
+        return state == State.RUNNING ? System.currentTimeMillis() - startedAt : durationMs;
+    }
+
+    public int failedSteps() {
+        return failedSteps.get();
+    }
+
+    private CompletableFuture<?>[] dependentSteps(List<RecetteResponse> catalogue, Executor executor) {
+        List<Runnable> steps = new ArrayList<>();
+        steps.add(() -> step("populaires", () -> recetteService.getPopularRecettes(LIST_LIMIT), null));
+        steps.add(() -> step("récentes", () -> recetteService.getRecentRecettes(LIST_LIMIT), null));
+        steps.add(() -> step("facettes", () -> recetteService.getSearchFacets(new RecetteSearchRequest(), PAGE_SIZE), null));
+        steps.add(() -> step("recherche", () -> recetteService.searchRecettesPage(
+                new RecetteSearchRequest(), PAGE_SIZE, RecetteSortEnum.RECENTES, null), null));
+        for (String categorie : topCategories(catalogue)) {
+            steps.add(() -> step("catégorie " + categorie, () -> recetteService.getRecettesByCategorie(categorie), null));
+        }
+        for (Long id : popularIds()) {
+            steps.add(() -> step("recette " + id, () -> recetteService.getRecetteById(id), null));
+        }
+        return steps.stream()
+                .map(step -> CompletableFuture.runAsync(step, executor))
+                .toArray(CompletableFuture[]::new);
+    }
+
+    private List<String> topCategories(List<RecetteResponse> catalogue) {
+        Map<String, Long> counts = catalogue.stream()
+                .map(RecetteResponse::getCategorie)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topCategories)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private List<Long> popularIds() {
+        List<RecetteResponse> popular = step("populaires (détail)",
+                () -> recetteService.getPopularRecettes(popularRecettes), List.of());
+        return popular.stream().map(RecetteResponse::getId).filter(Objects::nonNull).toList();
+    }
+
+    private <T> T step(String name, Callable<T> action, T fallback) {
+        try {
+            return action.call();
+        } catch (Exception e) {
+            failedSteps.incrementAndGet();
+            log.warn("Préchauffage - étape {} en échec: {}", name, e.getMessage());
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.msrecette.univ.soa.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicateur "warmup", inclus dans le groupe readiness : hors service tant que le préchauffage
+ * n'est pas terminé (ou arrivé à son délai maximal). Il compte aussi dans l'agrégat /actuator/health :
+ * les sondes interrogent les groupes /actuator/health/readiness et /actuator/health/liveness.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmup startupWarmup;
+
+    public WarmupHealthIndicator(StartupWarmup startupWarmup) {
+        this.startupWarmup = startupWarmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = startupWarmup.isComplete() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", startupWarmup.state())
+                .withDetail("durationMs", startupWarmup.durationMs())
+                .withDetail("failedSteps", startupWarmup.failedSteps())
+                .build();
+    }
+}
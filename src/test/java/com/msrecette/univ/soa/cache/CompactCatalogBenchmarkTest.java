@@ -0,0 +1,130 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.EtapeResponse;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure de la mémoire retenue sur le tas et des pauses de GC complet pour un catalogue synthétique
+ * conservé en objets puis hors tas. Exclu du build par défaut : mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - catalogue hors tas")
+class CompactCatalogBenchmarkTest {
+
+    private static final int CATALOGUE_SIZE = 50_000;
+    private static final int GC_ROUNDS = 5;
+
+    @Test
+    @DisplayName("copyOf - le catalogue hors tas devrait réduire le tas retenu et la durée des GC complets")
+    void benchmarkHeapAndGc() {
+        long baseline = usedHeapAfterGc();
+
+        List<RecetteResponse> objects = catalogue();
+        long objectsHeap = usedHeapAfterGc() - baseline;
+        double objectsPause = fullGcPause();
+        long checksum = checksum(objects);
+
+        CompactRecetteList compact = CompactRecetteList.copyOf(objects);
+        objects = null;
+        long compactHeap = usedHeapAfterGc() - baseline;
+        double compactPause = fullGcPause();
+
+        long start = System.nanoTime();
+        assertEquals(checksum, checksum(compact));
+        double decodeMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("Catalogue de %d recettes - tas retenu : objets %.1f Mo, hors tas %.1f Mo (+ %.1f Mo de "
+                        + "mémoire directe) ; GC complet : objets %.1f ms, hors tas %.1f ms ; décodage complet : %.1f ms%n",
+                CATALOGUE_SIZE, objectsHeap / 1e6, compactHeap / 1e6, compact.offHeapBytes() / 1e6,
+                objectsPause, compactPause, decodeMs);
+
+        assertTrue(compactHeap * 10 < objectsHeap, "tas hors tas " + compactHeap + ", objets " + objectsHeap);
+        assertTrue(compactPause < objectsPause, "GC hors tas " + compactPause + " ms, objets " + objectsPause + " ms");
+        assertTrue(compact.offHeapBytes() < objectsHeap);
+    }
+
+    private static List<RecetteResponse> catalogue() {
+        Random random = new Random(42);
+        String[] categories = {"ENTREE", "PLAT_PRINCIPAL", "DESSERT", "BOISSON"};
+        List<RecetteResponse> recettes = new ArrayList<>(CATALOGUE_SIZE);
+        for (long id = 1; id <= CATALOGUE_SIZE; id++) {
+            List<IngredientResponse> ingredients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                ingredients.add(IngredientResponse.builder().id(id * 100 + i).alimentId((long) random.nextInt(500))
+                        .alimentNom("Aliment " + random.nextInt(500)).quantite(random.nextFloat() * 500)
+                        .unite("GRAMME").principal(i == 0).build());
+            }
+            List<EtapeResponse> etapes = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                etapes.add(EtapeResponse.builder().id(id * 100 + i).ordre(i + 1).temps(5 + random.nextInt(30))
+                        .texte("Étape " + (i + 1) + " : mélanger, laisser reposer puis cuire à feu doux " + random.nextInt(1000))
+                        .build());
+            }
+            recettes.add(RecetteResponse.builder()
+                    .id(id)
+                    .titre("Recette " + id)
+                    .description("Une recette traditionnelle préparée avec des produits de saison, numéro " + id)
+                    .tempsTotal(5 + random.nextInt(180))
+                    .kcal(100 + random.nextInt(1100))
+                    .imageUrl("https://example.com/recettes/" + id + ".jpg")
+                    .difficulte("MOYEN")
+                    .categorie(categories[random.nextInt(categories.length)])
+                    .dateCreation(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id))
+                    .dateModification(LocalDateTime.of(2025, 6, 1, 0, 0).plusMinutes(id))
+                    .actif(true)
+                    .statut("VALIDEE")
+                    .utilisateurId((long) random.nextInt(10_000))
+                    .ingredients(ingredients)
+                    .etapes(etapes)
+                    .tags(List.of("tag" + random.nextInt(50), "tag" + random.nextInt(50)))
+                    .noteMoyenne(1 + random.nextInt(41) / 10.0)
+                    .nombreFeedbacks(random.nextInt(500))
+                    .build());
+        }
+        return recettes;
+    }
+
+    private static long checksum(List<RecetteResponse> recettes) {
+        long checksum = 0;
+        for (RecetteResponse recette : recettes) {
+            checksum = checksum * 31 + recette.getId() + recette.getEtapes().size() + recette.getTitre().length();
+        }
+        return checksum;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Durée moyenne en ms d'un GC complet, selon les collecteurs de la JVM
+    private static double fullGcPause() {
+        long before = gcTime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return (double) (gcTime() - before) / GC_ROUNDS;
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(collector.getCollectionTime(), 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,119 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.EtapeResponse;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - CompactRecetteList")
+class CompactRecetteListTest {
+
+    @Test
+    @DisplayName("copyOf - devrait restituer chaque champ à l'identique, valeurs nulles comprises")
+    void testRoundTrip() {
+        RecetteResponse complete = complete(1L);
+        RecetteResponse vide = new RecetteResponse();
+        RecetteResponse partielle = RecetteResponse.builder()
+                .id(3L)
+                .titre("Crème brûlée 🍮 — 焦糖布丁")
+                .ingredients(Arrays.asList(null, IngredientResponse.builder().alimentNom("Œuf").build()))
+                .etapes(List.of())
+                .tags(Arrays.asList("rapide", null))
+                .build();
+
+        CompactRecetteList compact = CompactRecetteList.copyOf(List.of(complete, vide, partielle));
+
+        assertEquals(3, compact.size());
+        assertEquals(complete, compact.get(0));
+        assertEquals(vide, compact.get(1));
+        assertEquals(partielle, compact.get(2));
+        assertNotSame(compact.get(0), compact.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> compact.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> compact.add(vide));
+    }
+
+    @Test
+    @DisplayName("findById - devrait retrouver une recette sans parcourir la liste")
+    void testFindById() {
+        List<RecetteResponse> recettes = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            recettes.add(complete(id * 7));
+        }
+        CompactRecetteList compact = CompactRecetteList.copyOf(recettes);
+
+        assertEquals(complete(700L), compact.findById(700L));
+        assertNull(compact.findById(701L));
+        assertNull(compact.findById(null));
+    }
+
+    @Test
+    @DisplayName("replacing / removing - devraient produire une nouvelle liste sans altérer les autres recettes")
+    void testReplacingRemoving() {
+        CompactRecetteList compact = CompactRecetteList.copyOf(List.of(complete(1L), complete(2L), complete(3L)));
+        RecetteResponse modifiee = complete(2L).toBuilder().titre("Titre beaucoup plus long qu'avant").tags(null).build();
+
+        CompactRecetteList remplacee = compact.replacing(modifiee);
+        CompactRecetteList ajoutee = remplacee.replacing(complete(4L));
+        CompactRecetteList retiree = ajoutee.removing(1L);
+
+        assertEquals(List.of(complete(1L), modifiee, complete(3L)), remplacee);
+        assertEquals(List.of(complete(1L), modifiee, complete(3L), complete(4L)), ajoutee);
+        assertEquals(List.of(modifiee, complete(3L), complete(4L)), retiree);
+        assertEquals(complete(4L), retiree.findById(4L));
+        assertNull(retiree.findById(1L));
+        assertSame(retiree, retiree.removing(99L));
+        // La liste d'origine est inchangée
+        assertEquals(complete(2L), compact.get(1));
+    }
+
+    @Test
+    @DisplayName("heapBytes - le tas ne devrait retenir qu'une fraction de l'estimation des objets")
+    void testHeapFootprint() {
+        List<RecetteResponse> recettes = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            recettes.add(complete(id));
+        }
+        CompactRecetteList compact = CompactRecetteList.copyOf(recettes);
+
+        assertTrue(compact.heapBytes() * 20 < RecetteWeigher.estimate(recettes));
+        assertTrue(compact.offHeapBytes() < RecetteWeigher.estimate(recettes));
+        assertEquals(0, CompactRecetteList.copyOf(List.of()).size());
+    }
+
+    static RecetteResponse complete(Long id) {
+        return RecetteResponse.builder()
+                .id(id)
+                .titre("Recette " + id)
+                .description("Une recette traditionnelle, préparée en quelques étapes simples.")
+                .tempsTotal(45)
+                .kcal(520)
+                .imageUrl("https://example.com/recettes/" + id + ".jpg")
+                .difficulte("MOYEN")
+                .categorie("PLAT_PRINCIPAL")
+                .dateCreation(LocalDateTime.of(2025, 1, 15, 14, 30, 0, 123_456_789))
+                .dateModification(LocalDateTime.of(2025, 1, 20, 10, 15))
+                .actif(true)
+                .statut("VALIDEE")
+                .utilisateurId(42L)
+                .ingredients(List.of(
+                        IngredientResponse.builder().id(id * 10).alimentId(5L).alimentNom("Farine").quantite(250.5f)
+                                .unite("GRAMME").principal(true).build(),
+                        IngredientResponse.builder().id(id * 10 + 1).alimentId(6L).alimentNom("Lait").quantite(0.5f)
+                                .unite("LITRE").principal(false).build()))
+                .etapes(List.of(
+                        EtapeResponse.builder().id(id * 10).ordre(1).temps(10).texte("Mélanger la farine et le lait").build(),
+                        EtapeResponse.builder().id(id * 10 + 1).ordre(2).temps(35).texte("Cuire à feu doux").build()))
+                .tags(List.of("végétarien", "rapide"))
+                .noteMoyenne(4.5)
+                .nombreFeedbacks(25)
+                .build();
+    }
+}
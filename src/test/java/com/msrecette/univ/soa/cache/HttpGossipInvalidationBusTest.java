@@ -0,0 +1,130 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires - HttpGossipInvalidationBus")
+class HttpGossipInvalidationBusTest {
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private List<String> sentTo;
+    private List<InvalidationBatch> sent;
+    private HttpGossipInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        sentTo = new ArrayList<>();
+        sent = new ArrayList<>();
+        bus = new HttpGossipInvalidationBus("pod-a", () -> List.of("10.0.0.2", "10.0.0.3"),
+                (peer, batch) -> {
+                    sentTo.add(peer);
+                    sent.add(batch);
+                }, 200, 3, scheduler);
+    }
+
+    @Test
+    @DisplayName("publish - devrait fusionner les événements d'une même recette dans un seul lot")
+    void testPublish_Coalesce() {
+        bus.publish(InvalidationEvent.changed(recette(1L, "v1")));
+        bus.publish(InvalidationEvent.changed(recette(2L, "v1")));
+        bus.publish(InvalidationEvent.changed(recette(1L, "v2")));
+
+        // Un seul envoi différé armé pour la rafale
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(200L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(2, bus.pendingCount());
+
+        bus.flush();
+
+        assertEquals(List.of("10.0.0.2", "10.0.0.3"), sentTo);
+        InvalidationBatch batch = sent.get(0);
+        assertEquals("pod-a", batch.origin());
+        assertEquals(List.of(2L, 1L), batch.events().stream().map(InvalidationEvent::recetteId).toList());
+        assertEquals("v2", batch.events().get(1).recette().getTitre());
+        assertEquals(0, bus.pendingCount());
+    }
+
+    @Test
+    @DisplayName("publish - une suppression devrait remplacer une modification en attente")
+    void testPublish_DeleteWins() {
+        bus.publish(InvalidationEvent.changed(recette(1L, "v1")));
+        bus.publish(InvalidationEvent.deleted(1L));
+        bus.flush();
+
+        assertEquals(1, sent.get(0).events().size());
+        assertEquals(InvalidationEvent.Type.DELETED, sent.get(0).events().get(0).type());
+    }
+
+    @Test
+    @DisplayName("publish - un lot plein devrait partir sans attendre le délai")
+    void testPublish_MaxBatchSize() {
+        bus.publish(InvalidationEvent.deleted(1L));
+        bus.publish(InvalidationEvent.deleted(2L));
+        bus.publish(InvalidationEvent.deleted(3L));
+
+        verify(scheduler).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("flush - un pair injoignable ne devrait pas bloquer les autres")
+    void testFlush_PeerFailure() {
+        List<String> delivered = new ArrayList<>();
+        HttpGossipInvalidationBus failing = new HttpGossipInvalidationBus("pod-a", () -> List.of("10.0.0.2", "10.0.0.3"),
+                (peer, batch) -> {
+                    if (peer.equals("10.0.0.2")) {
+                        throw new IllegalStateException("Connection refused");
+                    }
+                    delivered.add(peer);
+                }, 200, 10, scheduler);
+
+        failing.publish(InvalidationEvent.deleted(1L));
+        failing.flush();
+
+        assertEquals(List.of("10.0.0.3"), delivered);
+    }
+
+    @Test
+    @DisplayName("receive - devrait ignorer les lots émis par l'instance elle-même")
+    void testReceive_IgnoreOwnOrigin() {
+        List<InvalidationEvent> received = new ArrayList<>();
+        bus.subscribe(received::addAll);
+
+        bus.receive(new InvalidationBatch("pod-a", List.of(InvalidationEvent.deleted(1L))));
+        bus.receive(new InvalidationBatch("pod-b", List.of(InvalidationEvent.deleted(2L))));
+
+        assertEquals(List.of(2L), received.stream().map(InvalidationEvent::recetteId).toList());
+    }
+
+    @Test
+    @DisplayName("constructeur - devrait refuser de démarrer sans jeton partagé")
+    void testRequireToken() {
+        assertThrows(IllegalStateException.class, () -> new HttpGossipInvalidationBus(
+                new RestTemplate(), "localhost", 8091, " ", 200, 200));
+        assertEquals("secret", HttpGossipInvalidationBus.requireToken("secret"));
+    }
+
+    private static RecetteResponse recette(Long id, String titre) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        return recette;
+    }
+}
@@ -0,0 +1,237 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.client.RecetteClient;
+import com.msrecette.univ.soa.config.CacheConfig;
+import com.msrecette.univ.soa.config.CacheProperties;
+import com.msrecette.univ.soa.index.RecetteCatalogIndex;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tests unitaires - RecetteCacheInvalidator")
+class RecetteCacheInvalidatorTest {
+
+    private CacheManager cacheManager;
+    private RecetteCacheInvalidator invalidator;
+    private InProcessInvalidationBus bus;
+    private RecetteExistenceCache existenceCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = cacheManager();
+        bus = new InProcessInvalidationBus();
+        existenceCache = new RecetteExistenceCache(cacheManager, new SimpleMeterRegistry());
+        invalidator = new RecetteCacheInvalidator(cacheManager, new RecetteCatalogIndex(), bus, existenceCache);
+
+        cache("recettes").put(SimpleKey.EMPTY, List.of(recette(1L, "DESSERT"), recette(2L, "ENTREE")));
+        cache("recette").put(1L, recette(1L, "DESSERT"));
+        cache("recette").put(2L, recette(2L, "ENTREE"));
+        cache("recetteStats").put(1L, "stats-1");
+        cache("recetteStats").put(2L, "stats-2");
+        cache("recettesByCategorie").put("DESSERT", List.of(recette(1L, "DESSERT")));
+        cache("recettesByCategorie").put("ENTREE", List.of(recette(2L, "ENTREE")));
+        cache("recettesByCategorie").put("PLAT_PRINCIPAL", List.of(recette(3L, "PLAT_PRINCIPAL")));
+    }
+
+    @Test
+    @DisplayName("recetteChanged - devrait n'évincer que les entrées de la recette et de ses catégories")
+    void testRecetteChanged_ChangementDeCategorie() {
+        invalidator.recetteChanged(recette(1L, "plat_principal"));
+
+        assertNull(cache("recette").get(1L));
+        assertNull(cache("recetteStats").get(1L));
+        assertNotNull(cache("recette").get(2L));
+        assertNotNull(cache("recetteStats").get(2L));
+
+        // Ancienne catégorie (contenait la recette) et nouvelle catégorie évincées
+        assertNull(cache("recettesByCategorie").get("DESSERT"));
+        assertNull(cache("recettesByCategorie").get("PLAT_PRINCIPAL"));
+        assertNotNull(cache("recettesByCategorie").get("ENTREE"));
+    }
+
+    @Test
+    @DisplayName("recetteChanged - devrait corriger la liste complète sur place")
+    void testRecetteChanged_PatchListe() {
+        RecetteResponse modifiee = recette(2L, "ENTREE");
+        modifiee.setTitre("Titre modifié");
+
+        invalidator.recetteChanged(modifiee);
+        invalidator.recetteChanged(recette(4L, "DESSERT"));
+
+        List<RecetteResponse> recettes = recettes();
+        assertEquals(List.of(1L, 2L, 4L), recettes.stream().map(RecetteResponse::getId).toList());
+        assertEquals("Titre modifié", recettes.get(1).getTitre());
+    }
+
+    @Test
+    @DisplayName("recetteDeleted - devrait retirer la recette de la liste et évincer ses entrées")
+    void testRecetteDeleted() {
+        invalidator.recetteDeleted(2L);
+
+        assertEquals(List.of(1L), recettes().stream().map(RecetteResponse::getId).toList());
+        assertNull(cache("recette").get(2L));
+        assertNull(cache("recetteStats").get(2L));
+        assertNull(cache("recettesByCategorie").get("ENTREE"));
+        assertNotNull(cache("recettesByCategorie").get("DESSERT"));
+        assertNotNull(cache("recette").get(1L));
+    }
+
+    @Test
+    @DisplayName("recetteChanged - ne devrait pas créer la liste complète si elle n'est pas en cache")
+    void testRecetteChanged_ListeAbsente() {
+        cache("recettes").clear();
+
+        invalidator.recetteChanged(recette(5L, "DESSERT"));
+
+        assertNull(cache("recettes").get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    @DisplayName("bus - une modification sur un pair devrait mettre à jour les caches et l'index locaux")
+    void testRemoteChange() {
+        RecetteCatalogIndex peerIndex = new RecetteCatalogIndex();
+        peerIndex.rebuild(List.of(recette(1L, "DESSERT"), recette(2L, "ENTREE")));
+        InProcessInvalidationBus peerBus = new InProcessInvalidationBus();
+        CacheManager peerCaches = cacheManager();
+        RecetteExistenceCache peerExistence = new RecetteExistenceCache(peerCaches, new SimpleMeterRegistry());
+        peerExistence.rebuild(List.of(1L, 2L));
+        RecetteCacheInvalidator peer = new RecetteCacheInvalidator(peerCaches, peerIndex, peerBus, peerExistence);
+        peerBus.connect(bus);
+
+        RecetteResponse modifiee = recette(2L, "ENTREE");
+        modifiee.setTitre("Titre modifié");
+        invalidator.recetteChanged(modifiee);
+        invalidator.recetteDeleted(1L);
+
+        assertEquals("Titre modifié", peerIndex.get(2L).getTitre());
+        assertNull(peerIndex.get(1L));
+        assertTrue(peerExistence.isAbsent(1L));
+
+        // Les événements reçus ne sont pas renvoyés à l'émetteur
+        peer.recetteChanged(recette(7L, "DESSERT"));
+        assertEquals(List.of(2L, 7L), recettes().stream().map(RecetteResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("recetteDeleted / recetteChanged - devrait tenir à jour les réponses négatives")
+    void testExistence() {
+        existenceCache.rebuild(List.of(1L, 2L));
+
+        invalidator.recetteDeleted(1L);
+        assertTrue(existenceCache.isAbsent(1L));
+
+        // Suppression reçue deux fois (locale puis d'un pair) : les autres recettes restent présentes
+        invalidator.applyRemote(List.of(InvalidationEvent.deleted(1L)));
+        assertFalse(existenceCache.isAbsent(2L));
+
+        // Recréation sous le même identifiant (ou création d'un nouvel identifiant)
+        invalidator.recetteChanged(recette(1L, "DESSERT"));
+        invalidator.recetteChanged(recette(5L, "DESSERT"));
+        assertFalse(existenceCache.isAbsent(1L));
+        assertFalse(existenceCache.isAbsent(5L));
+    }
+
+    @Test
+    @DisplayName("recetteChanged / recetteDeleted - la liste complète hors tas devrait être corrigée sur place")
+    void testPatchCompactList() {
+        cache("recettes").put(SimpleKey.EMPTY, CompactRecetteList.copyOf(List.of(recette(1L, "DESSERT"), recette(2L, "ENTREE"))));
+
+        RecetteResponse modifiee = recette(2L, "DESSERT");
+        invalidator.recetteChanged(modifiee);
+        invalidator.recetteChanged(recette(3L, "ENTREE"));
+        invalidator.recetteDeleted(1L);
+
+        assertInstanceOf(CompactRecetteList.class, recettes());
+        assertEquals(List.of(modifiee, recette(3L, "ENTREE")), recettes());
+    }
+
+    @Test
+    @DisplayName("recetteDeleted - une liste par catégorie hors tas devrait être évincée par son index des IDs")
+    void testRecetteDeleted_CompactCategorie() {
+        cache("recettesByCategorie").put("ENTREE", CompactRecetteList.copyOf(List.of(recette(2L, "ENTREE"))));
+        cache("recettesByCategorie").put("DESSERT", CompactRecetteList.copyOf(List.of(recette(1L, "DESSERT"))));
+
+        invalidator.recetteDeleted(2L);
+
+        assertNull(cache("recettesByCategorie").get("ENTREE"));
+        assertNotNull(cache("recettesByCategorie").get("DESSERT"));
+    }
+
+    @Test
+    @DisplayName("bus - un événement livré après une version plus récente devrait être ignoré")
+    void testRemoteChange_DesordreDeLivraison() {
+        LocalDateTime t0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+        RecetteCatalogIndex index = new RecetteCatalogIndex();
+        RecetteResponse initiale = recette(2L, "ENTREE");
+        initiale.setDateModification(t0);
+        index.rebuild(List.of(recette(1L, "DESSERT"), initiale));
+        RecetteCacheInvalidator receiver = new RecetteCacheInvalidator(cacheManager, index, bus, existenceCache);
+
+        RecetteResponse v1 = recette(2L, "ENTREE");
+        v1.setTitre("Version 1");
+        v1.setDateModification(t0.plusHours(1));
+        RecetteResponse v2 = recette(2L, "ENTREE");
+        v2.setTitre("Version 2");
+        v2.setDateModification(t0.plusHours(2));
+
+        receiver.applyRemote(List.of(InvalidationEvent.changed(v2)));
+        cache("recette").put(2L, v2);
+        receiver.applyRemote(List.of(InvalidationEvent.changed(v1)));
+
+        assertEquals("Version 2", index.get(2L).getTitre());
+        assertEquals("Version 2", recettes().get(1).getTitre());
+        assertNotNull(cache("recette").get(2L));
+    }
+
+    @Test
+    @DisplayName("recetteSynced - devrait invalider les caches locaux sans diffuser sur le bus")
+    void testRecetteSynced_LocalSeulement() {
+        List<InvalidationEvent> published = new ArrayList<>();
+        InProcessInvalidationBus peerBus = new InProcessInvalidationBus();
+        peerBus.connect(bus);
+        peerBus.subscribe(published::addAll);
+        RecetteResponse modifiee = recette(2L, "ENTREE");
+        modifiee.setTitre("Velouté");
+
+        invalidator.recetteSynced(modifiee);
+
+        assertNull(cache("recette").get(2L));
+        assertNull(cache("recettesByCategorie").get("ENTREE"));
+        assertEquals("Velouté", recettes().get(1).getTitre());
+        assertTrue(published.isEmpty());
+    }
+
+    private static CacheManager cacheManager() {
+        return new CacheConfig().cacheManager(new CacheProperties(), new SimpleMeterRegistry(),
+                mock(RecetteClient.class), Runnable::run);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RecetteResponse> recettes() {
+        return (List<RecetteResponse>) cache("recettes").get(SimpleKey.EMPTY).get();
+    }
+
+    private static RecetteResponse recette(Long id, String categorie) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre("Recette " + id);
+        recette.setCategorie(categorie);
+        return recette;
+    }
+}
@@ -0,0 +1,113 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.client.RecetteClient;
+import com.msrecette.univ.soa.config.CacheConfig;
+import com.msrecette.univ.soa.config.CacheProperties;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.service.RecetteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests unitaires - RecetteCachesEndpoint")
+class RecetteCachesEndpointTest {
+
+    private SimpleMeterRegistry registry;
+    private CacheManager cacheManager;
+    private RecetteService recetteService;
+    private RecetteCachesEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cacheManager = new CacheConfig().cacheManager(new CacheProperties(), registry,
+                mock(RecetteClient.class), Runnable::run);
+        recetteService = mock(RecetteService.class);
+        endpoint = new RecetteCachesEndpoint(cacheManager, new CacheProperties(), recetteService);
+
+        for (long id = 1; id <= 3; id++) {
+            cacheManager.getCache("recette").put(id, recette(id));
+        }
+        cacheManager.getCache("recettes").put(SimpleKey.EMPTY, List.of(recette(1L), recette(2L)));
+    }
+
+    @Test
+    @DisplayName("caches - devrait décrire chaque cache avec sa taille et sa mémoire estimée")
+    void testCaches() {
+        cacheManager.getCache("recette").get(1L);
+        cacheManager.getCache("recette").get(99L);
+
+        List<RecetteCachesEndpoint.CacheDescriptor> caches = endpoint.caches();
+
+        assertEquals(Set.of("recettes", "recette", "recettesByCategorie", "recetteStats", "recetteAbsente"),
+                caches.stream().map(RecetteCachesEndpoint.CacheDescriptor::name).collect(Collectors.toSet()));
+        RecetteCachesEndpoint.CacheDescriptor recette = endpoint.cache("recette");
+        assertEquals(3, recette.size());
+        assertTrue(recette.estimatedBytes() > 0);
+        assertEquals(16L * 1024 * 1024, recette.budgetBytes());
+        assertEquals(1, recette.hits());
+        assertEquals(1, recette.misses());
+        assertEquals(3, recette.hottestKeys().size());
+    }
+
+    @Test
+    @DisplayName("evict - devrait évincer une clé ou vider le cache")
+    void testEvict() {
+        assertEquals(2, endpoint.evict("recette", "2").size());
+        assertNull(cacheManager.getCache("recette").get(2L));
+
+        assertEquals(0, endpoint.evict("recettes", "tout").size());
+        assertEquals(0, endpoint.evict("recette", null).size());
+    }
+
+    @Test
+    @DisplayName("warm - devrait passer par le service pour remplir le cache")
+    void testWarm() {
+        endpoint.warm("recettesByCategorie", "DESSERT");
+        endpoint.warm("recetteStats", "5");
+        endpoint.warm("recettes", null);
+
+        verify(recetteService).getRecettesByCategorie("DESSERT");
+        verify(recetteService).getRecetteStats(5L);
+        verify(recetteService).getAllRecettes();
+    }
+
+    @Test
+    @DisplayName("warm/evict - devrait refuser un cache inconnu ou une clé invalide")
+    void testInvalidArguments() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.warm("inconnu", "1"));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.warm("recette", "abc"));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.warm("recettesByCategorie", null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.evict("inconnu", null));
+    }
+
+    @Test
+    @DisplayName("cacheManager - les statistiques devraient être exportées vers Micrometer")
+    void testMicrometerBinding() {
+        cacheManager.getCache("recette").get(1L);
+        cacheManager.getCache("recette").get(42L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "recette").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "recette").tag("result", "miss").functionCounter().count());
+        assertNotNull(registry.get("cache.evictions").tag("cache", "recettes").functionCounter());
+        assertNotNull(registry.get("recette.cache.weight").tag("cache", "recettesByCategorie").gauge());
+    }
+
+    private static RecetteResponse recette(Long id) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre("Recette " + id);
+        return recette;
+    }
+}
@@ -0,0 +1,72 @@
+package com.msrecette.univ.soa.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - RecetteExistenceCache")
+class RecetteExistenceCacheTest {
+
+    private RecetteExistenceCache existenceCache;
+
+    @BeforeEach
+    void setUp() {
+        existenceCache = new RecetteExistenceCache(
+                new ConcurrentMapCacheManager(RecetteExistenceCache.RECETTE_ABSENTE), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("isAbsent - aucun identifiant connu ne devrait être déclaré absent")
+    void testNoFalseAbsent() {
+        existenceCache.rebuild(LongStream.rangeClosed(1, 5_000).boxed().toList());
+
+        // Suppressions répétées et identifiants jamais ajoutés ne retirent rien du filtre
+        existenceCache.recordDeleted(10L);
+        existenceCache.recordDeleted(10L);
+        LongStream.rangeClosed(6_000, 7_000).forEach(existenceCache::recordDeleted);
+
+        assertTrue(LongStream.rangeClosed(11, 5_000).noneMatch(existenceCache::isAbsent));
+        assertTrue(existenceCache.isAbsent(10L));
+    }
+
+    @Test
+    @DisplayName("rebuild - une création absente du catalogue relu devrait rester présente")
+    void testRebuildKeepsRecentIds() {
+        existenceCache.rebuild(List.of(1L, 2L, 100L));
+        existenceCache.recordPresent(50L);
+
+        // Catalogue relu avant la création de 50 : le filtre ne l'oublie pas
+        existenceCache.rebuild(List.of(1L, 2L, 100L));
+
+        assertFalse(existenceCache.isAbsent(50L));
+        assertTrue(existenceCache.isAbsent(30L));
+    }
+
+    @Test
+    @DisplayName("isAbsent - un identifiant plus récent que le catalogue devrait partir vers ms-persistance")
+    void testNewerIdsNotFiltered() {
+        existenceCache.rebuild(List.of(1L, 2L, 100L));
+
+        assertFalse(existenceCache.isAbsent(101L));
+        assertTrue(existenceCache.isAbsent(50L));
+    }
+
+    @Test
+    @DisplayName("isAbsent - une création sur un autre pod ne devrait pas être déclarée absente")
+    void testCreationSurUnAutrePod() {
+        existenceCache.rebuild(LongStream.rangeClosed(1, 100).boxed().toList());
+
+        // Le pod B crée 101 (jamais vu ici), puis ce pod crée 102
+        existenceCache.recordPresent(102L);
+
+        assertFalse(existenceCache.isAbsent(101L));
+        assertFalse(existenceCache.isAbsent(102L));
+    }
+}
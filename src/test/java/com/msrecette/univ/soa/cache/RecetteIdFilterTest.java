@@ -0,0 +1,39 @@
+package com.msrecette.univ.soa.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - RecetteIdFilter")
+class RecetteIdFilterTest {
+
+    @Test
+    @DisplayName("mightContain - aucun faux négatif sur les identifiants ajoutés")
+    void testNoFalseNegatives() {
+        RecetteIdFilter filter = RecetteIdFilter.of(LongStream.rangeClosed(1, 5_000).boxed().toList(), 10_000, 0.01);
+
+        assertTrue(LongStream.rangeClosed(1, 5_000).allMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("mightContain - taux de faux positifs proche du taux demandé")
+    void testFalsePositiveRate() {
+        RecetteIdFilter filter = RecetteIdFilter.of(LongStream.rangeClosed(1, 10_000).boxed().toList(), 10_000, 0.01);
+
+        long falsePositives = LongStream.rangeClosed(1_000_001, 1_100_000).filter(filter::mightContain).count();
+        assertTrue(falsePositives < 2_000, "faux positifs: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("add - des ajouts concurrents ne devraient perdre aucun identifiant")
+    void testConcurrentAdd() {
+        RecetteIdFilter filter = new RecetteIdFilter(100_000, 0.01);
+
+        LongStream.rangeClosed(1, 100_000).parallel().forEach(filter::add);
+
+        assertTrue(LongStream.rangeClosed(1, 100_000).allMatch(filter::mightContain));
+    }
+}
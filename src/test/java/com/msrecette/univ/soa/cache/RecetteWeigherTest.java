@@ -0,0 +1,75 @@
+package com.msrecette.univ.soa.cache;
+
+import com.msrecette.univ.soa.response.EtapeResponse;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - RecetteWeigher")
+class RecetteWeigherTest {
+
+    private final RecetteWeigher weigher = new RecetteWeigher();
+
+    @Test
+    @DisplayName("estimate - une chaîne hors Latin-1 devrait compter deux octets par caractère")
+    void testEstimate_String() {
+        assertEquals(24 + 24, RecetteWeigher.estimate("abcdefgh"));
+        assertEquals(24 + 32, RecetteWeigher.estimate("abcdefgœ"));
+    }
+
+    @Test
+    @DisplayName("estimate - une recette détaillée devrait peser plus qu'une recette vide")
+    void testEstimate_Recette() {
+        RecetteResponse vide = new RecetteResponse();
+        RecetteResponse detaillee = recette(1L);
+
+        long poidsVide = RecetteWeigher.estimate(vide);
+        long poidsDetaille = RecetteWeigher.estimate(detaillee);
+
+        assertEquals(88, poidsVide);
+        assertTrue(poidsDetaille > poidsVide + 500, "poids estimé: " + poidsDetaille);
+    }
+
+    @Test
+    @DisplayName("weigh - la liste du catalogue devrait peser la somme de ses recettes")
+    void testWeigh_Catalogue() {
+        List<RecetteResponse> catalogue = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            catalogue.add(recette(id));
+        }
+
+        int unique = weigher.weigh(1L, recette(1L));
+        int liste = weigher.weigh("recettes", catalogue);
+
+        assertTrue(liste > 900L * unique, "liste: " + liste + ", recette: " + unique);
+    }
+
+    private static RecetteResponse recette(Long id) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre("Tarte aux pommes " + id);
+        recette.setDescription("Une tarte fine aux pommes caramélisées, pâte brisée maison et crème fraîche.");
+        recette.setCategorie("DESSERT");
+        recette.setTempsTotal(45);
+        recette.setTags(List.of("sucré", "automne"));
+
+        IngredientResponse pommes = new IngredientResponse();
+        pommes.setAlimentId(10L);
+        pommes.setAlimentNom("Pomme");
+        pommes.setQuantite(4f);
+        pommes.setUnite("pièce");
+        recette.setIngredients(List.of(pommes));
+
+        EtapeResponse etape = new EtapeResponse();
+        etape.setOrdre(1);
+        etape.setTexte("Éplucher et couper les pommes en fines lamelles.");
+        recette.setEtapes(List.of(etape));
+        return recette;
+    }
+}
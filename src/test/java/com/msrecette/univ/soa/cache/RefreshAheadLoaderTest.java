@@ -0,0 +1,130 @@
+package com.msrecette.univ.soa.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - RefreshAheadLoader")
+class RefreshAheadLoaderTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshQueue = new ArrayList<>();
+    private SimpleMeterRegistry registry;
+    private List<String> remote;
+    private boolean remoteDown;
+    private AsyncLoadingCache<Object, Object> asyncCache;
+    private LoadingCache<Object, Object> cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        remote = List.of("v1");
+        remoteDown = false;
+        RefreshAheadLoader loader = new RefreshAheadLoader("recettes", key -> {
+            if (remoteDown) {
+                throw new IllegalStateException("ms-persistance indisponible");
+            }
+            return remote;
+        }, refreshQueue::add, registry);
+
+        asyncCache = Caffeine.newBuilder()
+                .ticker(nanos::get)
+                .recordStats()
+                .executor(Runnable::run)
+                .refreshAfterWrite(Duration.ofMinutes(5))
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .buildAsync(loader);
+        cache = asyncCache.synchronous();
+    }
+
+    @Test
+    @DisplayName("asyncLoad - un premier accès ne devrait rien charger")
+    void testLoad_LaisseLAbsence() {
+        assertNull(cache.get("k"));
+        assertTrue(refreshQueue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("asyncReload - devrait servir l'ancienne valeur pendant le rechargement")
+    void testReload_ServesStale() {
+        cache.put("k", List.of("v0"));
+        advance(Duration.ofMinutes(6));
+
+        // La lecture déclenche le rechargement sans l'attendre
+        assertEquals(List.of("v0"), cache.get("k"));
+        assertEquals(1, refreshQueue.size());
+        assertEquals(List.of("v0"), cache.get("k"));
+
+        refreshQueue.remove(0).run();
+
+        assertEquals(List.of("v1"), cache.get("k"));
+        assertEquals(1, registry.get("recette.cache.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("asyncReload - un échec devrait conserver l'ancienne valeur et être mesuré")
+    void testReload_Failure() {
+        remoteDown = true;
+        cache.put("k", List.of("v0"));
+        advance(Duration.ofMinutes(6));
+
+        cache.get("k");
+        refreshQueue.remove(0).run();
+
+        assertEquals(List.of("v0"), cache.get("k"));
+        assertEquals(1, registry.get("recette.cache.refresh").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("asyncReload - une liste vide ne devrait pas être conservée")
+    void testReload_EmptyList() {
+        remote = List.of();
+        cache.put("k", List.of("v0"));
+        advance(Duration.ofMinutes(6));
+
+        cache.get("k");
+        refreshQueue.remove(0).run();
+
+        assertNull(cache.getIfPresent("k"));
+    }
+
+    @Test
+    @DisplayName("RefreshOnlyCaffeineCache - une absence ne devrait pas compter comme un échec de chargement")
+    void testRefreshOnlyCache_MissIsNotLoadFailure() {
+        RefreshOnlyCaffeineCache springCache = new RefreshOnlyCaffeineCache("recettes", asyncCache, false);
+
+        assertNull(springCache.get("k"));
+
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(0, cache.stats().loadFailureCount());
+    }
+
+    @Test
+    @DisplayName("RefreshOnlyCaffeineCache - une lecture d'entrée ancienne devrait déclencher le rechargement")
+    void testRefreshOnlyCache_TriggersReload() {
+        RefreshOnlyCaffeineCache springCache = new RefreshOnlyCaffeineCache("recettes", asyncCache, false);
+        springCache.put("k", List.of("v0"));
+        advance(Duration.ofMinutes(6));
+
+        assertEquals(List.of("v0"), springCache.get("k").get());
+        refreshQueue.remove(0).run();
+
+        assertEquals(List.of("v1"), springCache.get("k").get());
+        assertEquals(0, cache.stats().loadFailureCount());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
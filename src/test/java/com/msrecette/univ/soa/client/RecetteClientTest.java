@@ -1,16 +1,22 @@
 package com.msrecette.univ.soa.client;
 
+import com.msrecette.univ.soa.cache.RecetteExistenceCache;
 import com.msrecette.univ.soa.request.RecetteCreateRequest;
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
 import com.msrecette.univ.soa.request.RecetteUpdateRequest;
 import com.msrecette.univ.soa.response.RecetteResponse;
 import com.msrecette.univ.soa.response.RecetteStatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -20,6 +26,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,6 +41,13 @@ class RecetteClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+
+    @Spy
+    private RecetteExistenceCache existenceCache = new RecetteExistenceCache(
+            new ConcurrentMapCacheManager(RecetteExistenceCache.RECETTE_ABSENTE), new SimpleMeterRegistry());
+
     @InjectMocks
     private RecetteClient recetteClient;
 
@@ -318,4 +332,71 @@ class RecetteClientTest {
 
         assertThrows(RuntimeException.class, () -> recetteClient.getRecetteStats(1L));
     }
+
+    @Test
+    @DisplayName("getRecetteById - un 404 récent devrait être rendu sans rappeler ms-persistance")
+    void testGetRecetteById_NegativeCache() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                isNull(),
+                eq(RecetteResponse.class)
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThrows(RuntimeException.class, () -> recetteClient.getRecetteById(999L));
+        assertThrows(RuntimeException.class, () -> recetteClient.getRecetteById(999L));
+        assertFalse(recetteClient.recetteExists(999L));
+
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(), eq(RecetteResponse.class));
+        verify(restTemplate, never()).headForHeaders(anyString());
+    }
+
+    @Test
+    @DisplayName("recetteExists - un identifiant hors catalogue devrait être écarté par le filtre")
+    void testRecetteExists_FilteredByCatalogue() {
+        RecetteResponse autre = new RecetteResponse();
+        autre.setId(500L);
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(List.of(recetteResponse, autre), HttpStatus.OK));
+        recetteClient.getAllRecettes();
+
+        assertFalse(recetteClient.recetteExists(250L));
+        verify(restTemplate, never()).headForHeaders(anyString());
+
+        // Un identifiant plus récent que le catalogue connu peut exister sur un autre pod
+        when(restTemplate.headForHeaders(anyString())).thenReturn(null);
+        assertTrue(recetteClient.recetteExists(501L));
+        assertTrue(recetteClient.recetteExists(1L));
+        verify(restTemplate, times(2)).headForHeaders(anyString());
+    }
+
+    @Test
+    @DisplayName("searchRecettes - les critères envoyés et la clé de regroupement devraient être une copie figée")
+    @SuppressWarnings("unchecked")
+    void testSearchRecettes_CopieDesCriteres() {
+        List<String> tags = new ArrayList<>(List.of("rapide"));
+        RecetteSearchRequest request = RecetteSearchRequest.builder().keyword("tarte").tags(tags).build();
+        ArgumentCaptor<HttpEntity<RecetteSearchRequest>> sent = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                sent.capture(),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(List.of(recetteResponse), HttpStatus.OK));
+
+        recetteClient.searchRecettes(request);
+        tags.add("végétarien");
+        request.setKeyword("soupe");
+
+        RecetteSearchRequest body = sent.getValue().getBody();
+        assertNotSame(request, body);
+        assertEquals("tarte", body.getKeyword());
+        assertEquals(List.of("rapide"), body.getTags());
+        assertThrows(UnsupportedOperationException.class, () -> body.getTags().add("végétarien"));
+        verify(singleFlight).execute(eq("searchRecettes"), same(body), any(), any());
+    }
 }
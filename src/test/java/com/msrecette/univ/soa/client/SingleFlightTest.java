@@ -0,0 +1,154 @@
+package com.msrecette.univ.soa.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - SingleFlight")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry registry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(registry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("execute - des lectures simultanées identiques devraient partager un seul appel")
+    void testExecute_Collapse() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = launch(() -> singleFlight.execute("getRecetteById", 1L, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "recette-1";
+        }));
+        waitForFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("recette-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(CALLERS - 1, collapsed());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("execute - l'erreur de l'appel devrait être transmise à tous les appelants regroupés")
+    void testExecute_SharedError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = launch(() -> singleFlight.execute("getAllRecettes", "url", () -> {
+            await(release);
+            throw new IllegalStateException("ms-persistance indisponible");
+        }));
+        waitForFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("ms-persistance indisponible", e.getCause().getMessage());
+        }
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("execute - des clés différentes ou des appels successifs ne devraient pas être regroupés")
+    void testExecute_NoCollapse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("getRecetteById", 1L, calls::incrementAndGet);
+        singleFlight.execute("getRecetteById", 1L, calls::incrementAndGet);
+        singleFlight.execute("getRecetteById", 2L, calls::incrementAndGet);
+        singleFlight.execute("getRecetteStats", 2L, calls::incrementAndGet);
+
+        assertEquals(4, calls.get());
+        assertEquals(0, collapsed());
+    }
+
+    @Test
+    @DisplayName("execute - chaque appelant regroupé devrait recevoir sa propre copie du résultat")
+    void testExecute_CopyPerCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("getAllRecettes", "url", () -> {
+                await(release);
+                return new ArrayList<>(List.of("recette-1"));
+            }, ArrayList::new)));
+        }
+        waitForFollowers(CALLERS - 1);
+        release.countDown();
+
+        List<List<String>> received = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            received.add(result.get(5, TimeUnit.SECONDS));
+        }
+        received.get(0).add("modifiée par un appelant");
+
+        for (int i = 1; i < received.size(); i++) {
+            assertEquals(List.of("recette-1"), received.get(i));
+            for (int j = 0; j < i; j++) {
+                assertNotSame(received.get(j), received.get(i));
+            }
+        }
+    }
+
+    private List<Future<String>> launch(Callable<String> task) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(task));
+        }
+        return results;
+    }
+
+    // Les suiveurs sont comptés au moment où ils rejoignent l'appel en cours
+    private void waitForFollowers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsed() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double collapsed() {
+        var counter = registry.find("recette.client.collapsed").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
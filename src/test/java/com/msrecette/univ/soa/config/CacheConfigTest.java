@@ -0,0 +1,146 @@
+package com.msrecette.univ.soa.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.msrecette.univ.soa.cache.CompactRecetteList;
+import com.msrecette.univ.soa.client.RecetteClient;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests unitaires - CacheConfig")
+class CacheConfigTest {
+
+    @Test
+    @DisplayName("cacheManager - chaque cache devrait recevoir son budget mémoire")
+    void testCacheManager_BudgetParCache() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec recettes = new CacheProperties.Spec();
+        recettes.setMaxMb(64);
+        recettes.setExpireAfterAccess(Duration.ZERO);
+        properties.getSpecs().put("recettes", recettes);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, registry, mock(RecetteClient.class), Runnable::run);
+
+        assertEquals(64L * 1024 * 1024, nativeCache(cacheManager, "recettes").policy().eviction().orElseThrow().getMaximum());
+        assertEquals(16L * 1024 * 1024, nativeCache(cacheManager, "recette").policy().eviction().orElseThrow().getMaximum());
+        assertTrue(nativeCache(cacheManager, "recettes").policy().expireAfterAccess().isEmpty());
+        assertTrue(nativeCache(cacheManager, "recette").policy().expireAfterAccess().isPresent());
+        assertNull(cacheManager.getCache("inconnu"));
+        assertEquals(64.0 * 1024 * 1024, registry.get("recette.cache.budget").tag("cache", "recettes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("cacheManager - le dépassement du budget devrait évincer et être mesuré")
+    void testCacheManager_EvictionParPoids() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec stats = new CacheProperties.Spec();
+        stats.setMaxMb(1);
+        properties.getSpecs().put("recetteStats", stats);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, registry, mock(RecetteClient.class), Runnable::run);
+        Cache<Object, Object> cache = nativeCache(cacheManager, "recetteStats");
+
+        // Environ 100 Ko estimés par entrée : le budget de 1 Mo en retient une dizaine
+        for (long id = 0; id < 50; id++) {
+            cache.put(id, "x".repeat(100_000));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 11, "entrées: " + cache.estimatedSize());
+        assertTrue(registry.get("recette.cache.weight").tag("cache", "recetteStats").gauge().value() <= 1024 * 1024);
+        assertTrue(registry.get("recette.cache.evictions").tag("cache", "recetteStats").tag("cause", "SIZE")
+                .counter().count() >= 39);
+    }
+
+    @Test
+    @DisplayName("cacheManager - un cache off-heap devrait conserver les listes de recettes hors tas")
+    void testCacheManager_OffHeap() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec recettes = new CacheProperties.Spec();
+        recettes.setOffHeap(true);
+        properties.getSpecs().put("recettes", recettes);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, registry, mock(RecetteClient.class), Runnable::run);
+
+        RecetteResponse recette = RecetteResponse.builder().id(1L).titre("Tarte aux pommes").build();
+        cacheManager.getCache("recettes").put(SimpleKey.EMPTY, List.of(recette));
+        cacheManager.getCache("recette").put(1L, recette);
+
+        Object stored = nativeCache(cacheManager, "recettes").getIfPresent(SimpleKey.EMPTY);
+        assertInstanceOf(CompactRecetteList.class, stored);
+        assertEquals(List.of(recette), cacheManager.getCache("recettes").get(SimpleKey.EMPTY).get());
+        assertSame(recette, cacheManager.getCache("recette").get(1L).get());
+        assertEquals(((CompactRecetteList) stored).offHeapBytes(),
+                registry.get("recette.cache.off-heap").tag("cache", "recettes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("cacheManager - une liste lue dans un cache off-heap devrait être une liste ordinaire modifiable")
+    @SuppressWarnings("unchecked")
+    void testCacheManager_OffHeapLectureModifiable() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec recettes = new CacheProperties.Spec();
+        recettes.setOffHeap(true);
+        properties.getSpecs().put("recettes", recettes);
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, new SimpleMeterRegistry(),
+                mock(RecetteClient.class), Runnable::run);
+        cacheManager.getCache("recettes").put(SimpleKey.EMPTY, List.of(
+                RecetteResponse.builder().id(2L).titre("Tarte").build(),
+                RecetteResponse.builder().id(1L).titre("Soupe").build()));
+
+        List<RecetteResponse> read = (List<RecetteResponse>) cacheManager.getCache("recettes").get(SimpleKey.EMPTY).get();
+        read.sort(Comparator.comparing(RecetteResponse::getId));
+        read.get(0).setTitre("Modifiée");
+        read.add(RecetteResponse.builder().id(3L).build());
+
+        assertEquals(List.of(1L, 2L, 3L), read.stream().map(RecetteResponse::getId).toList());
+        assertEquals("Modifiée", read.get(0).getTitre());
+        // L'entrée en cache reste intacte et hors tas
+        Object stored = nativeCache(cacheManager, "recettes").getIfPresent(SimpleKey.EMPTY);
+        assertInstanceOf(CompactRecetteList.class, stored);
+        assertEquals(List.of("Tarte", "Soupe"), ((List<RecetteResponse>) stored).stream().map(RecetteResponse::getTitre).toList());
+    }
+
+    @Test
+    @DisplayName("cacheManager - le rechargement par catégorie devrait refaire l'appel de la méthode en cache")
+    void testCacheManager_RefreshParCategorie() throws InterruptedException {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec categories = new CacheProperties.Spec();
+        categories.setRefreshAfterWrite(Duration.ofNanos(1));
+        properties.getSpecs().put("recettesByCategorie", categories);
+        RecetteClient recetteClient = mock(RecetteClient.class);
+        RecetteResponse recette = RecetteResponse.builder().id(1L).titre("Tarte aux pommes").build();
+        when(recetteClient.fetchRecettesByCategorie("DESSERT")).thenReturn(List.of(recette));
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, new SimpleMeterRegistry(),
+                recetteClient, Runnable::run);
+        org.springframework.cache.Cache cache = cacheManager.getCache("recettesByCategorie");
+
+        // Une absence est laissée à @Cacheable sans appel distant
+        assertNull(cache.get("ENTREE"));
+        cache.put("DESSERT", List.of());
+        Thread.sleep(2);
+        cache.get("DESSERT");
+
+        assertEquals(List.of(recette), cache.get("DESSERT").get());
+        verify(recetteClient, atLeastOnce()).fetchRecettesByCategorie("DESSERT");
+        verify(recetteClient, never()).fetchRecettesByCategorie("ENTREE");
+        verify(recetteClient, never()).searchRecettes(any());
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
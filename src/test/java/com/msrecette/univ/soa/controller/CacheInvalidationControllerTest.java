@@ -0,0 +1,69 @@
+package com.msrecette.univ.soa.controller;
+
+import com.msrecette.univ.soa.cache.HttpGossipInvalidationBus;
+import com.msrecette.univ.soa.cache.InvalidationBatch;
+import com.msrecette.univ.soa.cache.InvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires - CacheInvalidationController")
+class CacheInvalidationControllerTest {
+
+    @Mock
+    private HttpGossipInvalidationBus invalidationBus;
+
+    private CacheInvalidationController controller;
+    private InvalidationBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        controller = new CacheInvalidationController(invalidationBus, "secret", 8091);
+        batch = new InvalidationBatch("pod-b", List.of(InvalidationEvent.deleted(1L)));
+    }
+
+    @Test
+    @DisplayName("receive - devrait appliquer un lot reçu sur le port du bus avec le bon jeton")
+    void testReceive_Accepted() {
+        assertEquals(HttpStatus.ACCEPTED, controller.receive("secret", batch, request(8091)).getStatusCode());
+        verify(invalidationBus).receive(batch);
+    }
+
+    @Test
+    @DisplayName("receive - devrait ignorer les appels arrivés par le port public")
+    void testReceive_PublicPort() {
+        assertEquals(HttpStatus.NOT_FOUND, controller.receive("secret", batch, request(8080)).getStatusCode());
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("receive - devrait refuser un jeton absent ou invalide")
+    void testReceive_Forbidden() {
+        assertEquals(HttpStatus.FORBIDDEN, controller.receive(null, batch, request(8091)).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, controller.receive("autre", batch, request(8091)).getStatusCode());
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("constructeur - devrait refuser un jeton vide")
+    void testConstructor_BlankToken() {
+        assertThrows(IllegalStateException.class, () -> new CacheInvalidationController(invalidationBus, "", 8091));
+    }
+
+    private static MockHttpServletRequest request(int localPort) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
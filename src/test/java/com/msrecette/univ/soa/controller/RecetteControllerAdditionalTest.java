@@ -1,7 +1,18 @@
 package com.msrecette.univ.soa.controller;
 
+import com.msrecette.univ.soa.exception.RecetteNotFoundException;
+import com.msrecette.univ.soa.index.PlannedSearch;
+import com.msrecette.univ.soa.index.SearchPlan;
+import com.msrecette.univ.soa.request.PantryRequest;
 import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
 import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSearchPageResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
+import com.msrecette.univ.soa.response.RecetteSummaryResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
 import com.msrecette.univ.soa.service.RecetteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,8 +26,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,8 +58,9 @@ class RecetteControllerAdditionalTest {
     @Test
     @DisplayName("GET /api/recettes/recentes - devrait retourner les recettes récentes")
     void testGetRecettesRecentes() throws Exception {
-        when(recetteService.searchRecettes(any(RecetteSearchRequest.class)))
-                .thenReturn(Collections.emptyList());
+        when(recetteService.searchRecettesPlanned(any(RecetteSearchRequest.class)))
+                .thenReturn(new PlannedSearch(Collections.emptyList(),
+                        new SearchPlan(SearchPlan.Strategy.LOCAL, -1, 50, SearchPlan.IndexState.FRESH)));
 
         mockMvc.perform(get("/api/recettes/recentes")
                         .param("limit", "5"))
@@ -57,8 +71,9 @@ class RecetteControllerAdditionalTest {
     @Test
     @DisplayName("GET /api/recettes/populaires - devrait retourner les recettes populaires")
     void testGetRecettesPopulaires() throws Exception {
-        when(recetteService.searchRecettes(any(RecetteSearchRequest.class)))
-                .thenReturn(Collections.emptyList());
+        when(recetteService.searchRecettesPlanned(any(RecetteSearchRequest.class)))
+                .thenReturn(new PlannedSearch(Collections.emptyList(),
+                        new SearchPlan(SearchPlan.Strategy.LOCAL, -1, 50, SearchPlan.IndexState.FRESH)));
 
         mockMvc.perform(get("/api/recettes/populaires")
                         .param("limit", "10"))
@@ -131,8 +146,9 @@ class RecetteControllerAdditionalTest {
     @Test
     @DisplayName("POST /api/recettes/search - recherche avec liste vide")
     void testSearchRecettes_EmptyResult() throws Exception {
-        when(recetteService.searchRecettes(any(RecetteSearchRequest.class)))
-                .thenReturn(Collections.emptyList());
+        when(recetteService.searchRecettesPlanned(any(RecetteSearchRequest.class)))
+                .thenReturn(new PlannedSearch(Collections.emptyList(),
+                        new SearchPlan(SearchPlan.Strategy.LOCAL, -1, 50, SearchPlan.IndexState.FRESH)));
 
         String searchBody = """
                 {
@@ -170,5 +186,158 @@ class RecetteControllerAdditionalTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
 
+    @Test
+    @DisplayName("POST /api/recettes/search/page - devrait retourner une page et le curseur suivant")
+    void testSearchRecettesPage() throws Exception {
+        RecetteSearchPageResponse page = RecetteSearchPageResponse.builder()
+                .recettes(List.of(RecetteSummaryResponse.from(recetteResponse)))
+                .total(42)
+                .nextCursor("curseur-suivant")
+                .snapshotVersion(3L)
+                .build();
+        when(recetteService.searchRecettesPage(any(RecetteSearchRequest.class), eq(1),
+                eq(RecetteSortEnum.TITRE), isNull()))
+                .thenReturn(page);
+
+        mockMvc.perform(post("/api/recettes/search/page")
+                        .param("size", "1")
+                        .param("sort", "TITRE")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categorie\": \"PLAT_PRINCIPAL\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recettes[0].titre").value("Test Recette"))
+                .andExpect(jsonPath("$.recettes[0].ingredients").doesNotExist())
+                .andExpect(jsonPath("$.total").value(42))
+                .andExpect(jsonPath("$.nextCursor").value("curseur-suivant"));
+    }
+
+    @Test
+    @DisplayName("POST /api/recettes/search/page - devrait accepter un curseur sans corps")
+    void testSearchRecettesPage_WithCursor() throws Exception {
+        when(recetteService.searchRecettesPage(isNull(), eq(20), eq(RecetteSortEnum.RECENTES), eq("abc")))
+                .thenReturn(RecetteSearchPageResponse.builder().recettes(List.of()).total(0).build());
+
+        mockMvc.perform(post("/api/recettes/search/page")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk());
+
+        verify(recetteService).searchRecettesPage(isNull(), eq(20), eq(RecetteSortEnum.RECENTES), eq("abc"));
+    }
+
+    @Test
+    @DisplayName("POST /api/recettes/search/page - devrait refuser un tri inconnu")
+    void testSearchRecettesPage_InvalidSort() throws Exception {
+        mockMvc.perform(post("/api/recettes/search/page")
+                        .param("sort", "INCONNU")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/recettes/search/facets - devrait retourner les comptages par facette")
+    void testGetSearchFacets() throws Exception {
+        when(recetteService.getSearchFacets(any(RecetteSearchRequest.class), eq(5)))
+                .thenReturn(RecetteFacetsResponse.builder()
+                        .total(3)
+                        .categories(Map.of("DESSERT", 3))
+                        .difficultes(Map.of("FACILE", 2, "MOYEN", 1))
+                        .tags(Map.of("rapide", 2))
+                        .snapshotVersion(4L)
+                        .build());
+
+        mockMvc.perform(post("/api/recettes/search/facets")
+                        .param("maxTags", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categorie\": \"DESSERT\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.categories.DESSERT").value(3))
+                .andExpect(jsonPath("$.difficultes.FACILE").value(2))
+                .andExpect(jsonPath("$.tags.rapide").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/recettes/pantry - devrait retourner les recettes réalisables")
+    void testSearchPantry() throws Exception {
+        when(recetteService.searchPantry(any(PantryRequest.class), eq(20))).thenReturn(List.of(
+                PantryMatchResponse.builder()
+                        .recette(RecetteSummaryResponse.from(recetteResponse))
+                        .couverture(0.75)
+                        .ingredientsDisponibles(3)
+                        .ingredientsTotal(4)
+                        .alimentsManquants(List.of(7L))
+                        .build()));
+
+        mockMvc.perform(post("/api/recettes/pantry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"alimentIds\": [1, 5, 12]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recette.titre").value("Test Recette"))
+                .andExpect(jsonPath("$[0].couverture").value(0.75))
+                .andExpect(jsonPath("$[0].alimentsManquants[0]").value(7));
+    }
+
+    @Test
+    @DisplayName("POST /api/recettes/pantry - devrait refuser une liste d'aliments vide")
+    void testSearchPantry_Empty() throws Exception {
+        mockMvc.perform(post("/api/recettes/pantry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"alimentIds\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/recettes/{id}/similaires - devrait retourner les recettes similaires")
+    void testGetSimilarRecettes() throws Exception {
+        when(recetteService.getSimilarRecettes(2L, 10)).thenReturn(List.of(
+                RecetteSimilaireResponse.builder()
+                        .recette(RecetteSummaryResponse.from(recetteResponse))
+                        .similarite(0.8)
+                        .build()));
+
+        mockMvc.perform(get("/api/recettes/2/similaires"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recette.id").value(1))
+                .andExpect(jsonPath("$[0].similarite").value(0.8));
+    }
+
+    @Test
+    @DisplayName("GET /api/recettes/{id}/similaires - devrait retourner 404 pour une recette inexistante")
+    void testGetSimilarRecettes_NotFound() throws Exception {
+        when(recetteService.getSimilarRecettes(999L, 5))
+                .thenThrow(new RecetteNotFoundException("Recette non trouvée avec l'ID: 999"));
+
+        mockMvc.perform(get("/api/recettes/999/similaires").param("limit", "5"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/recettes/suggest - devrait retourner les suggestions du préfixe")
+    void testSuggestRecettes() throws Exception {
+        when(recetteService.suggestRecettes("carbo", 5)).thenReturn(List.of(
+                SuggestionResponse.builder().libelle("Pâtes Carbonara").type(SuggestionResponse.TYPE_RECETTE)
+                        .recetteId(1L).build()));
+
+        mockMvc.perform(get("/api/recettes/suggest")
+                        .param("prefix", "carbo")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].libelle").value("Pâtes Carbonara"))
+                .andExpect(jsonPath("$[0].type").value("RECETTE"))
+                .andExpect(jsonPath("$[0].recetteId").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/recettes/suggest - devrait refuser un nombre de suggestions invalide")
+    void testSuggestRecettes_InvalidLimit() throws Exception {
+        when(recetteService.suggestRecettes("carbo", 0))
+                .thenThrow(new IllegalArgumentException("Le nombre de suggestions doit être compris entre 1 et 20"));
+
+        mockMvc.perform(get("/api/recettes/suggest")
+                        .param("prefix", "carbo")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,5 +1,7 @@
 package com.msrecette.univ.soa.controller;
 
+import com.msrecette.univ.soa.index.PlannedSearch;
+import com.msrecette.univ.soa.index.SearchPlan;
 import com.msrecette.univ.soa.request.RecetteCreateRequest;
 import com.msrecette.univ.soa.request.RecetteSearchRequest;
 import com.msrecette.univ.soa.response.RecetteResponse;
@@ -98,8 +100,9 @@ class RecetteControllerTest {
     @DisplayName("POST /api/recettes/search - devrait rechercher des recettes")
     void testSearchRecettes_Success() throws Exception {
         List<RecetteResponse> recettes = Arrays.asList(recetteResponse);
-        when(recetteService.searchRecettes(any(RecetteSearchRequest.class)))
-                .thenReturn(recettes);
+        when(recetteService.searchRecettesPlanned(any(RecetteSearchRequest.class)))
+                .thenReturn(new PlannedSearch(recettes,
+                        new SearchPlan(SearchPlan.Strategy.REMOTE, 1, 50, SearchPlan.IndexState.STALE)));
 
         String searchBody = """
                 {
@@ -112,6 +115,7 @@ class RecetteControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(searchBody))
                 .andExpect(status().isOk())
+                .andExpect(header().string(SearchPlan.HEADER, "REMOTE; estimated=1; catalog=50; index=STALE"))
                 .andExpect(jsonPath("$[0].categorie").value("PLAT_PRINCIPAL"));
     }
 
@@ -0,0 +1,104 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - classement par pertinence")
+class Bm25RankingTest {
+
+    private RecetteCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecetteCatalogIndex();
+        index.rebuild(List.of(
+                recette(1L, "Gratin dauphinois", "Pommes de terre, crème et ail", List.of(), 4.0),
+                recette(2L, "Hachis parmentier", "Purée gratinée au four, pommes de terre", List.of("gratin"), 4.5),
+                recette(3L, "Tarte aux pommes", "Pâte brisée et compote", List.of("dessert"), 4.8),
+                recette(4L, "Salade verte", "Laitue, vinaigrette", List.of(), 3.0)
+        ));
+    }
+
+    @Test
+    @DisplayName("rankedSnapshot - le titre devrait peser plus que les tags et la description")
+    void testRanking_FieldBoosts() {
+        assertEquals(List.of(3L, 1L, 2L), ids(index.rankedSnapshot(keyword("pommes")).recettes()));
+        assertEquals(List.of(1L, 2L), ids(index.rankedSnapshot(keyword("gratin")).recettes()));
+    }
+
+    @Test
+    @DisplayName("rankedSnapshot - un terme rare devrait peser plus qu'un terme fréquent")
+    void testRanking_Idf() {
+        // "ail" n'apparaît que dans la recette 1, "terre" dans les recettes 1 et 2
+        List<RecetteResponse> ranked = index.rankedSnapshot(keyword("terre ail")).recettes();
+        assertEquals(List.of(1L), ids(ranked));
+
+        ranked = index.rankedSnapshot(keyword("pommes terre")).recettes();
+        assertEquals(List.of(1L, 2L), ids(ranked));
+    }
+
+    @Test
+    @DisplayName("rankedSnapshot - un terme exact devrait passer avant une simple complétion")
+    void testRanking_ExactBeforePrefix() {
+        index.upsert(recette(5L, "Gratinée à l'oignon", "Soupe", List.of(), 5.0));
+
+        List<RecetteResponse> ranked = index.rankedSnapshot(keyword("gratin")).recettes();
+        assertEquals(1L, ranked.get(0).getId());
+        assertTrue(ids(ranked).contains(5L));
+    }
+
+    @Test
+    @DisplayName("rankedSnapshot - sans mot-clé, les recettes devraient être classées par popularité")
+    void testRanking_NoKeyword() {
+        assertEquals(List.of(3L, 2L, 1L, 4L), ids(index.rankedSnapshot(new RecetteSearchRequest()).recettes()));
+    }
+
+    @Test
+    @DisplayName("rankedSnapshot - devrait tolérer une faute de frappe avec un score réduit")
+    void testRanking_Fuzzy() {
+        assertEquals(List.of(1L), ids(index.rankedSnapshot(keyword("dauphinoix")).recettes()));
+    }
+
+    @Test
+    @DisplayName("RankedResults - ne devrait classer que les éléments lus")
+    void testRankedResults_Partial() {
+        List<RecetteResponse> recettes = List.of(
+                recette(1L, "a", "", List.of(), 1.0),
+                recette(2L, "b", "", List.of(), 1.0),
+                recette(3L, "c", "", List.of(), 1.0),
+                recette(4L, "d", "", List.of(), 1.0));
+        RankedResults ranked = new RankedResults(recettes, new double[]{0.5, 2.0, 0.5, 1.0},
+                RecetteSortEnum.PERTINENCE.comparator());
+
+        assertEquals(4, ranked.size());
+        assertEquals(List.of(2L, 4L), ids(ranked.subList(0, 2)));
+        assertEquals(List.of(1L, 3L), ids(ranked.subList(2, 4)));
+        assertThrows(IndexOutOfBoundsException.class, () -> ranked.get(4));
+    }
+
+    private static RecetteSearchRequest keyword(String keyword) {
+        return RecetteSearchRequest.builder().keyword(keyword).build();
+    }
+
+    private static RecetteResponse recette(Long id, String titre, String description, List<String> tags, Double note) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        recette.setDescription(description);
+        recette.setTags(tags);
+        recette.setNoteMoyenne(note);
+        return recette;
+    }
+
+    private static List<Long> ids(List<RecetteResponse> recettes) {
+        return recettes.stream().map(RecetteResponse::getId).toList();
+    }
+}
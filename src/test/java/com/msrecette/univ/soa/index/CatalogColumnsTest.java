@@ -0,0 +1,94 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - instantané colonnaire du catalogue")
+class CatalogColumnsTest {
+
+    @Test
+    @DisplayName("matchRanges - devrait appliquer la sémantique des valeurs absentes")
+    void testMatchRanges_MissingValues() {
+        List<RecetteResponse> documents = new ArrayList<>();
+        documents.add(recette(0L, 20, 300, 4.5));
+        documents.add(recette(1L, null, null, null));
+        documents.add(null);
+        documents.add(recette(3L, 60, 300, 4.8));
+        documents.add(recette(4L, 20, 900, 3.0));
+        CatalogColumns columns = CatalogColumns.build(1, documents);
+
+        // Temps ou calories absents : conservés ; note absente : exclue
+        assertEquals(RoaringBitmap.bitmapOf(0, 1, 2),
+                columns.matchRanges(RecetteSearchRequest.builder().tempsMax(30).kcalMax(500).build()));
+        assertEquals(RoaringBitmap.bitmapOf(0),
+                columns.matchRanges(RecetteSearchRequest.builder().tempsMax(30).noteMoyenneMin(4.0).build()));
+        assertEquals(RoaringBitmap.bitmapOfRange(0, 5), columns.matchRanges(new RecetteSearchRequest()));
+    }
+
+    @Test
+    @DisplayName("ColumnScan - les évaluations vectorielle et scalaire devraient coïncider")
+    void testVectorMatchesScalar() {
+        Random random = new Random(7);
+        ColumnScan scalar = new ScalarColumnScan();
+        ColumnScan vector = new VectorColumnScan();
+
+        for (int size : new int[]{0, 1, 63, 64, 65, 1000, 4097}) {
+            List<RecetteResponse> documents = new ArrayList<>();
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                documents.add(random.nextInt(10) == 0 ? null : recette((long) ordinal,
+                        random.nextInt(8) == 0 ? null : random.nextInt(120),
+                        random.nextInt(8) == 0 ? null : random.nextInt(1200),
+                        random.nextInt(8) == 0 ? null : 1 + random.nextInt(41) / 10.0));
+            }
+            CatalogColumns columns = CatalogColumns.build(1, documents);
+            RecetteSearchRequest criteria = RecetteSearchRequest.builder()
+                    .tempsMax(45).kcalMax(700).noteMoyenneMin(3.5).build();
+
+            long[] expected = columns.matchWords(criteria, scalar);
+            assertArrayEquals(expected, columns.matchWords(criteria, vector), "taille " + size);
+
+            // Référence : filtrage direct des recettes (un ordinal libre n'a pas de note)
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                RecetteResponse recette = documents.get(ordinal);
+                boolean matches = recette != null
+                        && (recette.getTempsTotal() == null || recette.getTempsTotal() <= 45)
+                        && (recette.getKcal() == null || recette.getKcal() <= 700)
+                        && recette.getNoteMoyenne() != null && recette.getNoteMoyenne() >= 3.5;
+                assertEquals(matches, (expected[ordinal >>> 6] >>> (ordinal & 63) & 1) == 1, "ordinal " + ordinal);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("search - le parcours colonnaire devrait suivre les modifications de l'index")
+    void testIndexColumnScanFollowsUpdates() {
+        RecetteCatalogIndex index = new RecetteCatalogIndex(Runnable::run);
+        index.rebuild(List.of(recette(1L, 20, 300, 4.5), recette(2L, 50, 300, 4.5), recette(3L, 10, 100, null)));
+        RecetteSearchRequest criteria = RecetteSearchRequest.builder().tempsMax(30).build();
+
+        assertEquals(List.of(1L, 3L), ids(index.search(criteria)));
+
+        index.upsert(recette(2L, 25, 300, 4.5));
+        index.remove(3L);
+        assertEquals(List.of(1L, 2L), ids(index.search(criteria)));
+        assertEquals(List.of(1L, 2L), ids(index.search(RecetteSearchRequest.builder().noteMoyenneMin(4.0).build())));
+    }
+
+    private static RecetteResponse recette(Long id, Integer temps, Integer kcal, Double note) {
+        return RecetteResponse.builder().id(id).titre("Recette " + id)
+                .tempsTotal(temps).kcal(kcal).noteMoyenne(note).build();
+    }
+
+    private static List<Long> ids(List<RecetteResponse> recettes) {
+        return recettes.stream().map(RecetteResponse::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure du filtrage numérique d'un catalogue synthétique : liste d'objets, colonnes en scalaire,
+ * colonnes en SIMD. Exclu du build par défaut : mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - filtrage colonnaire des critères numériques")
+class ColumnScanBenchmarkTest {
+
+    private static final int CATALOGUE_SIZE = 1_000_000;
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Test
+    @DisplayName("matchRanges - le parcours vectoriel des colonnes devrait battre le filtrage des objets")
+    void benchmarkRangeFilter() {
+        Random random = new Random(42);
+        List<RecetteResponse> recettes = new ArrayList<>(CATALOGUE_SIZE);
+        for (long id = 0; id < CATALOGUE_SIZE; id++) {
+            recettes.add(RecetteResponse.builder()
+                    .id(id)
+                    .tempsTotal(5 + random.nextInt(180))
+                    .kcal(100 + random.nextInt(1100))
+                    .noteMoyenne(random.nextInt(10) == 0 ? null : 1 + random.nextInt(41) / 10.0)
+                    .build());
+        }
+        CatalogColumns columns = CatalogColumns.build(1, recettes);
+        RecetteSearchRequest criteria = RecetteSearchRequest.builder()
+                .tempsMax(60).kcalMax(800).noteMoyenneMin(3.0).build();
+
+        ColumnScan scalar = new ScalarColumnScan();
+        ColumnScan vector = new VectorColumnScan();
+        long expected = bitCount(columns.matchWords(criteria, scalar));
+        assertEquals(expected, bitCount(columns.matchWords(criteria, vector)));
+        assertEquals(expected, filterObjects(recettes, criteria));
+
+        double objects = measure(() -> filterObjects(recettes, criteria));
+        double scalarColumns = measure(() -> bitCount(columns.matchWords(criteria, scalar)));
+        double vectorColumns = measure(() -> bitCount(columns.matchWords(criteria, vector)));
+
+        System.out.printf("Filtrage de %d recettes (%d retenues) - objets : %.2f ms, colonnes scalaires : %.2f ms, "
+                        + "colonnes SIMD (%s) : %.2f ms, gain SIMD / objets : x%.1f%n",
+                CATALOGUE_SIZE, expected, objects, scalarColumns, VectorColumnScan.describe(), vectorColumns,
+                objects / vectorColumns);
+
+        assertTrue(vectorColumns < objects, "SIMD " + vectorColumns + " ms, objets " + objects + " ms");
+    }
+
+    // Moyenne en ms d'une exécution, après préchauffage du JIT
+    private static double measure(LongSupplier run) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += run.getAsLong();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += run.getAsLong();
+        }
+        double elapsed = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        assertTrue(sink > 0);
+        return elapsed;
+    }
+
+    private static long filterObjects(List<RecetteResponse> recettes, RecetteSearchRequest criteria) {
+        long count = 0;
+        for (RecetteResponse recette : recettes) {
+            if ((recette.getTempsTotal() == null || recette.getTempsTotal() <= criteria.getTempsMax())
+                    && (recette.getKcal() == null || recette.getKcal() <= criteria.getKcalMax())
+                    && recette.getNoteMoyenne() != null && recette.getNoteMoyenne() >= criteria.getNoteMoyenneMin()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long bitCount(long[] words) {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
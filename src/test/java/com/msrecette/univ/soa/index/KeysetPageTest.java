@@ -0,0 +1,121 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - pagination par clé")
+class KeysetPageTest {
+
+    @Test
+    @DisplayName("SearchCursor - devrait survivre à l'encodage, valeurs nulles et séparateurs compris")
+    void testSearchCursor_RoundTrip() {
+        RecetteResponse last = recette(7L, "Tarte : pommes ~ poires", null);
+        RecetteResponse sansTitre = recette(8L, null, null);
+        String hash = SearchCursor.criteriaHash(new RecetteSearchRequest());
+
+        SearchCursor decoded = SearchCursor.decode(
+                SearchCursor.after(hash, RecetteSortEnum.TITRE, 20, last, 0).encode());
+        SearchCursor sansCle = SearchCursor.decode(
+                SearchCursor.after(hash, RecetteSortEnum.TITRE, 20, sansTitre, 0).encode());
+
+        assertEquals(hash, decoded.criteriaHash());
+        assertEquals(20, decoded.offset());
+        assertEquals(7L, decoded.probe().getId());
+        assertEquals("Tarte : pommes ~ poires", decoded.probe().getTitre());
+        assertNull(sansCle.probe().getTitre());
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("djI6YWJj"));
+    }
+
+    @Test
+    @DisplayName("of - les pages successives devraient couvrir tout le résultat sans doublon")
+    void testOf_PagesCoverResult() {
+        List<RecetteResponse> recettes = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            // Temps en double pour exercer le départage par ID, une recette sans temps en fin de tri
+            recettes.add(recette(id, "Recette " + id, id == 5 ? null : (int) (id % 3) * 10));
+        }
+        List<RecetteResponse> expected = new ArrayList<>(recettes);
+        expected.sort(RecetteSortEnum.TEMPS.comparator());
+        SearchSnapshot snapshot = new SearchSnapshot(1, expected);
+        String hash = SearchCursor.criteriaHash(new RecetteSearchRequest());
+
+        List<RecetteResponse> read = new ArrayList<>();
+        SearchCursor cursor = null;
+        KeysetPage page;
+        do {
+            page = KeysetPage.of(snapshot, RecetteSortEnum.TEMPS, cursor, 3);
+            read.addAll(page.recettes());
+            RecetteResponse last = page.recettes().get(page.recettes().size() - 1);
+            cursor = SearchCursor.decode(SearchCursor.after(hash, RecetteSortEnum.TEMPS, read.size(), last, 0)
+                    .encode());
+        } while (page.hasMore());
+
+        assertEquals(expected, read);
+        assertNull(read.get(read.size() - 1).getTempsTotal());
+    }
+
+    @Test
+    @DisplayName("of - la pertinence devrait reprendre après le score de la dernière recette")
+    void testOf_Ranked() {
+        List<RecetteResponse> recettes = List.of(recette(1L, "A", null), recette(2L, "B", null),
+                recette(3L, "C", null), recette(4L, "D", null));
+        double[] scores = {1.5, 3.0, 1.5, 0.5};
+        SearchSnapshot snapshot = new SearchSnapshot(1, new RankedResults(recettes, scores,
+                RecetteSortEnum.PERTINENCE.comparator()));
+
+        KeysetPage first = KeysetPage.of(snapshot, RecetteSortEnum.PERTINENCE, null, 2);
+        SearchCursor cursor = SearchCursor.after("h", RecetteSortEnum.PERTINENCE, 2,
+                first.recettes().get(1), first.lastScore());
+        KeysetPage second = KeysetPage.of(snapshot, RecetteSortEnum.PERTINENCE, cursor, 2);
+
+        assertEquals(List.of(2L, 1L), first.recettes().stream().map(RecetteResponse::getId).toList());
+        assertEquals(1.5, first.lastScore());
+        assertTrue(first.hasMore());
+        assertEquals(List.of(3L, 4L), second.recettes().stream().map(RecetteResponse::getId).toList());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    @DisplayName("firstMatch - devrait trouver la première position d'un prédicat monotone")
+    void testFirstMatch() {
+        for (int size = 0; size <= 40; size++) {
+            for (int first = 0; first <= size; first++) {
+                int expected = first;
+                assertEquals(expected, KeysetPage.firstMatch(size, index -> index >= expected));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sortedSnapshot - le résultat trié devrait être réutilisé jusqu'à la modification suivante")
+    void testSortedSnapshot_Reuse() {
+        RecetteCatalogIndex index = new RecetteCatalogIndex();
+        index.rebuild(List.of(recette(1L, "Tarte", 30), recette(2L, "Soupe", 10)));
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+
+        SearchSnapshot first = index.sortedSnapshot(criteria, RecetteSortEnum.TEMPS);
+        assertSame(first, index.sortedSnapshot(new RecetteSearchRequest(), RecetteSortEnum.TEMPS));
+        assertEquals(List.of(2L, 1L), first.recettes().stream().map(RecetteResponse::getId).toList());
+
+        index.upsert(recette(3L, "Salade", 5));
+        SearchSnapshot updated = index.sortedSnapshot(criteria, RecetteSortEnum.TEMPS);
+        assertNotSame(first, updated);
+        assertEquals(List.of(3L, 2L, 1L), updated.recettes().stream().map(RecetteResponse::getId).toList());
+    }
+
+    private static RecetteResponse recette(Long id, String titre, Integer tempsTotal) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        recette.setTempsTotal(tempsTotal);
+        return recette;
+    }
+}
@@ -0,0 +1,89 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - recherche par garde-manger")
+class PantryIndexTest {
+
+    private RecetteCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecetteCatalogIndex();
+        index.rebuild(List.of(
+                // Omelette : oeufs (principal), sel
+                recette(1L, "VALIDEE", ingredient(10L, true), ingredient(11L, false)),
+                // Quiche : oeufs, pâte (principal), lardons (principal)
+                recette(2L, "VALIDEE", ingredient(10L, false), ingredient(12L, true), ingredient(13L, true)),
+                // Crêpes : farine (principal), oeufs, lait
+                recette(3L, "VALIDEE", ingredient(14L, true), ingredient(10L, false), ingredient(15L, false)),
+                // Recette rejetée entièrement couverte
+                recette(4L, "REJETEE", ingredient(10L, true))
+        ));
+    }
+
+    @Test
+    @DisplayName("pantry - devrait classer par couverture pondérée, ingrédients principaux en tête")
+    void testPantry_WeightedCoverage() {
+        List<PantryMatchResponse> matches = index.pantry(List.of(10L, 11L, 15L), 10);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(matches));
+        assertEquals(1.0, matches.get(0).getCouverture());
+        assertEquals(0.5, matches.get(1).getCouverture());
+        assertEquals(List.of(14L), matches.get(1).getAlimentsManquants());
+        assertEquals(2, matches.get(1).getIngredientsDisponibles());
+        assertEquals(3, matches.get(1).getIngredientsTotal());
+        assertEquals(0.2, matches.get(2).getCouverture(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("pantry - un ingrédient principal devrait compter double")
+    void testPantry_PrincipalCountsDouble() {
+        // Quiche : lardons (principal) = 2/5 ; crêpes : lait (secondaire) = 1/4
+        assertEquals(List.of(2L, 3L), ids(index.pantry(List.of(13L, 15L), 10)));
+    }
+
+    @Test
+    @DisplayName("pantry - devrait limiter le résultat et suivre les modifications")
+    void testPantry_LimitAndUpdates() {
+        assertEquals(List.of(1L), ids(index.pantry(List.of(10L, 11L), 1)));
+
+        index.remove(1L);
+        index.upsert(recette(5L, "VALIDEE", ingredient(10L, true), ingredient(10L, false)));
+
+        List<PantryMatchResponse> matches = index.pantry(List.of(10L), 10);
+        assertEquals(5L, matches.get(0).getRecette().getId());
+        assertEquals(1, matches.get(0).getIngredientsTotal());
+        assertFalse(ids(matches).contains(1L));
+        assertTrue(index.pantry(List.of(99L), 10).isEmpty());
+    }
+
+    private static RecetteResponse recette(Long id, String statut, IngredientResponse... ingredients) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre("Recette " + id);
+        recette.setStatut(statut);
+        recette.setIngredients(List.of(ingredients));
+        return recette;
+    }
+
+    private static IngredientResponse ingredient(Long alimentId, boolean principal) {
+        IngredientResponse ingredient = new IngredientResponse();
+        ingredient.setAlimentId(alimentId);
+        ingredient.setPrincipal(principal);
+        return ingredient;
+    }
+
+    private static List<Long> ids(List<PantryMatchResponse> matches) {
+        return matches.stream().map(match -> match.getRecette().getId()).toList();
+    }
+}
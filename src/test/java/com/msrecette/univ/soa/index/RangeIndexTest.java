@@ -0,0 +1,103 @@
+package com.msrecette.univ.soa.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - index de plage")
+class RangeIndexTest {
+
+    @Test
+    @DisplayName("IntRangeIndex - devrait filtrer par maximum sur la partie triée")
+    void testIntRange_AtMostSorted() {
+        IntRangeIndex range = new IntRangeIndex();
+        for (int ordinal = 0; ordinal < 1000; ordinal++) {
+            range.set(ordinal, ordinal % 100);
+        }
+        range.compact();
+
+        RoaringBitmap candidates = RoaringBitmap.bitmapOfRange(0, 1000);
+        range.restrictAtMost(candidates, 9, false);
+
+        assertEquals(100, candidates.getCardinality());
+        candidates.forEach((int ordinal) -> assertTrue(ordinal % 100 <= 9));
+    }
+
+    @Test
+    @DisplayName("IntRangeIndex - devrait sonder la colonne quand les candidats sont peu nombreux")
+    void testIntRange_AtMostProbe() {
+        IntRangeIndex range = new IntRangeIndex();
+        for (int ordinal = 0; ordinal < 1000; ordinal++) {
+            range.set(ordinal, ordinal);
+        }
+        range.compact();
+
+        RoaringBitmap candidates = RoaringBitmap.bitmapOf(5, 500, 900);
+        range.restrictAtMost(candidates, 600, false);
+
+        assertEquals(RoaringBitmap.bitmapOf(5, 500), candidates);
+    }
+
+    @Test
+    @DisplayName("IntRangeIndex - devrait tenir compte des valeurs modifiées avant compactage")
+    void testIntRange_PendingUpdates() {
+        IntRangeIndex range = new IntRangeIndex();
+        for (int ordinal = 0; ordinal < 100; ordinal++) {
+            range.set(ordinal, 50);
+        }
+        range.compact();
+
+        range.set(3, 10);
+        range.set(4, 90);
+        range.clear(5);
+
+        RoaringBitmap candidates = RoaringBitmap.bitmapOfRange(0, 100);
+        range.restrictAtMost(candidates, 20, false);
+        assertEquals(RoaringBitmap.bitmapOf(3), candidates);
+
+        candidates = RoaringBitmap.bitmapOfRange(0, 100);
+        range.restrictAtMost(candidates, 60, true);
+        assertEquals(99, candidates.getCardinality());
+        assertTrue(candidates.contains(5));
+        assertFalse(candidates.contains(4));
+    }
+
+    @Test
+    @DisplayName("IntRangeIndex - devrait demander un compactage au-delà du seuil")
+    void testIntRange_NeedsCompaction() {
+        IntRangeIndex range = new IntRangeIndex();
+        for (int ordinal = 0; ordinal < 64; ordinal++) {
+            range.set(ordinal, ordinal);
+        }
+        assertFalse(range.needsCompaction());
+
+        range.set(64, 64);
+        assertTrue(range.needsCompaction());
+
+        range.compact();
+        assertFalse(range.needsCompaction());
+    }
+
+    @Test
+    @DisplayName("DoubleRangeIndex - devrait filtrer par minimum avec valeurs dupliquées")
+    void testDoubleRange_AtLeast() {
+        DoubleRangeIndex range = new DoubleRangeIndex();
+        double[] notes = {4.5, 3.0, 4.5, 5.0, 2.5, 4.0, 4.0};
+        for (int ordinal = 0; ordinal < notes.length; ordinal++) {
+            range.set(ordinal, notes[ordinal]);
+        }
+        range.set(7, null);
+        range.compact();
+
+        RoaringBitmap candidates = RoaringBitmap.bitmapOfRange(0, 8);
+        range.restrictAtLeast(candidates, 4.0, false);
+        assertEquals(RoaringBitmap.bitmapOf(0, 2, 3, 5, 6), candidates);
+
+        range.set(1, 4.8);
+        candidates = RoaringBitmap.bitmapOfRange(0, 8);
+        range.restrictAtLeast(candidates, 4.6, false);
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), candidates);
+    }
+}
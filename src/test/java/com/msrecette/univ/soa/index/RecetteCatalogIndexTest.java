@@ -0,0 +1,317 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.DifficulteEnum;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - RecetteCatalogIndex")
+class RecetteCatalogIndexTest {
+
+    private RecetteCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecetteCatalogIndex();
+        index.rebuild(Arrays.asList(
+                recette(1L, "Pâtes Carbonara", "Une recette traditionnelle italienne", List.of("rapide")),
+                recette(2L, "Ratatouille", "Légumes du soleil mijotés", List.of("végétarien")),
+                recette(3L, "Bœuf bourguignon", "Plat mijoté au vin rouge", List.of())
+        ));
+    }
+
+    @Test
+    @DisplayName("rebuild - devrait indexer toutes les recettes")
+    void testRebuild() {
+        assertTrue(index.isLoaded());
+        assertEquals(3, index.size());
+        assertEquals(3, index.searchKeyword(null).size());
+    }
+
+    @Test
+    @DisplayName("searchKeyword - devrait chercher dans le titre, la description et les tags")
+    void testSearchKeyword_AllFields() {
+        assertEquals(List.of(1L), ids(index.searchKeyword("carbonara")));
+        assertEquals(List.of(1L), ids(index.searchKeyword("italienne")));
+        assertEquals(List.of(2L), ids(index.searchKeyword("vegetarien")));
+    }
+
+    @Test
+    @DisplayName("searchKeyword - devrait ignorer accents, casse et ligatures")
+    void testSearchKeyword_Normalization() {
+        assertEquals(List.of(2L), ids(index.searchKeyword("LÉGUMES")));
+        assertEquals(List.of(3L), ids(index.searchKeyword("boeuf")));
+    }
+
+    @Test
+    @DisplayName("searchKeyword - devrait exiger tous les termes, chacun en préfixe")
+    void testSearchKeyword_PrefixConjunction() {
+        assertEquals(List.of(2L, 3L), ids(index.searchKeyword("mijot")));
+        assertEquals(List.of(3L), ids(index.searchKeyword("mijot vin")));
+        assertTrue(index.searchKeyword("mijot carbonara").isEmpty());
+    }
+
+    @Test
+    @DisplayName("searchKeyword - devrait tolérer les fautes de frappe sur les titres")
+    void testSearchKeyword_Fuzzy() {
+        assertEquals(List.of(1L), ids(index.searchKeyword("carbonnara")));
+        assertEquals(List.of(2L), ids(index.searchKeyword("ratatouile")));
+        assertEquals(List.of(3L), ids(index.searchKeyword("bourgignon")));
+        assertEquals(List.of(1L), ids(index.searchKeyword("pates carbonnara")));
+
+        // Pas de correspondance approchée sur les descriptions ni pour les termes courts
+        assertTrue(index.searchKeyword("italiene").isEmpty());
+        assertTrue(index.searchKeyword("vim").isEmpty());
+    }
+
+    @Test
+    @DisplayName("searchKeyword - la correspondance approchée devrait suivre les modifications")
+    void testSearchKeyword_FuzzyAfterUpsert() {
+        index.upsert(recette(2L, "Tian provençal", "Légumes au four", List.of()));
+
+        assertTrue(index.searchKeyword("ratatouile").isEmpty());
+        assertEquals(List.of(2L), ids(index.searchKeyword("provencale")));
+    }
+
+    @Test
+    @DisplayName("upsert - devrait remplacer les termes d'une recette modifiée")
+    void testUpsert_ReplacesTerms() {
+        index.upsert(recette(2L, "Tian provençal", "Légumes au four", List.of()));
+
+        assertTrue(index.searchKeyword("ratatouille").isEmpty());
+        assertEquals(List.of(2L), ids(index.searchKeyword("tian")));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("remove - devrait retirer la recette et réutiliser son ordinal")
+    void testRemove() {
+        index.remove(1L);
+
+        assertTrue(index.searchKeyword("carbonara").isEmpty());
+        assertEquals(2, index.size());
+
+        index.upsert(recette(4L, "Tarte aux pommes", "Dessert", List.of()));
+        assertEquals(List.of(4L), ids(index.searchKeyword("pommes")));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("search - devrait filtrer par catégorie, difficulté maximale et statut")
+    void testSearch_CategorieDifficulteStatut() {
+        index.rebuild(List.of(
+                recetteClassee(1L, "PLAT_PRINCIPAL", "FACILE", "VALIDEE"),
+                recetteClassee(2L, "PLAT_PRINCIPAL", "DIFFICILE", "VALIDEE"),
+                recetteClassee(3L, "DESSERT", "MOYEN", "EN_ATTENTE"),
+                recetteClassee(4L, "PLAT_PRINCIPAL", null, "EN_ATTENTE")
+        ));
+
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setCategorie("plat_principal");
+        criteria.setDifficulteMax(DifficulteEnum.MOYEN);
+        assertEquals(List.of(1L, 4L), ids(index.search(criteria)));
+
+        criteria.setStatut("EN_ATTENTE");
+        assertEquals(List.of(4L), ids(index.search(criteria)));
+    }
+
+    @Test
+    @DisplayName("facets - devrait compter les résultats par catégorie, difficulté et tag")
+    void testFacets() {
+        RecetteResponse salade = recetteClassee(1L, "ENTREE", "FACILE", "VALIDEE");
+        salade.setTags(List.of("Rapide", "Végétarien"));
+        RecetteResponse gratin = recetteClassee(2L, "PLAT_PRINCIPAL", "MOYEN", "VALIDEE");
+        gratin.setTags(List.of("végétarien"));
+        RecetteResponse steak = recetteClassee(3L, "PLAT_PRINCIPAL", "FACILE", "VALIDEE");
+        steak.setTags(List.of("rapide"));
+        RecetteResponse refusee = recetteClassee(4L, "PLAT_PRINCIPAL", null, "REJETEE");
+        index.rebuild(List.of(salade, gratin, steak, refusee));
+
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setStatut("VALIDEE");
+        RecetteFacetsResponse facets = index.facets(criteria, 10);
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(List.of("PLAT_PRINCIPAL", "ENTREE"), List.copyOf(facets.getCategories().keySet()));
+        assertEquals(2, facets.getCategories().get("PLAT_PRINCIPAL"));
+        assertEquals(List.of("FACILE", "MOYEN"), List.copyOf(facets.getDifficultes().keySet()));
+        assertEquals(2, facets.getDifficultes().get("FACILE"));
+        assertEquals(2, facets.getTags().get("vegetarien"));
+        assertEquals(1, index.facets(criteria, 1).getTags().size());
+
+        criteria.setTags(List.of("rapide"));
+        facets = index.facets(criteria, 10);
+        assertEquals(2, facets.getTotal());
+        assertEquals(1, facets.getTags().get("vegetarien"));
+        assertEquals(2, facets.getTags().get("rapide"));
+    }
+
+    @Test
+    @DisplayName("search - devrait exiger tous les tags et ingrédients inclus, et écarter les exclus")
+    void testSearch_TagsEtIngredients() {
+        RecetteResponse omelette = recette(1L, "Omelette", "", List.of("Rapide", "Végétarien"));
+        omelette.setIngredients(List.of(ingredient(10L), ingredient(11L)));
+        RecetteResponse quiche = recette(2L, "Quiche", "", List.of("rapide"));
+        quiche.setIngredients(List.of(ingredient(10L), ingredient(12L)));
+        index.rebuild(List.of(omelette, quiche));
+
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setTags(List.of("rapide"));
+        assertEquals(List.of(1L, 2L), ids(index.search(criteria)));
+
+        criteria.setTags(List.of("rapide", "vegetarien"));
+        assertEquals(List.of(1L), ids(index.search(criteria)));
+
+        criteria.setTags(null);
+        criteria.setIngredientsInclus(List.of(10L));
+        criteria.setIngredientsExclus(List.of(11L));
+        assertEquals(List.of(2L), ids(index.search(criteria)));
+    }
+
+    @Test
+    @DisplayName("search - devrait appliquer temps, calories et note minimale")
+    void testSearch_NumericCriteria() {
+        RecetteResponse rapide = recetteClassee(1L, "PLAT_PRINCIPAL", "FACILE", "VALIDEE");
+        rapide.setTempsTotal(20);
+        rapide.setKcal(300);
+        rapide.setNoteMoyenne(4.5);
+        RecetteResponse longue = recetteClassee(2L, "PLAT_PRINCIPAL", "FACILE", "VALIDEE");
+        longue.setTempsTotal(120);
+        longue.setKcal(900);
+        longue.setNoteMoyenne(3.0);
+        RecetteResponse sansNote = recetteClassee(3L, "PLAT_PRINCIPAL", "FACILE", "VALIDEE");
+        index.rebuild(List.of(rapide, longue, sansNote));
+
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setTempsMax(60);
+        criteria.setKcalMax(500);
+        assertEquals(List.of(1L, 3L), ids(index.search(criteria)));
+
+        criteria.setNoteMoyenneMin(4.0);
+        assertEquals(List.of(1L), ids(index.search(criteria)));
+    }
+
+    @Test
+    @DisplayName("search - devrait suivre le changement de statut d'une recette")
+    void testSearch_StatutUpdate() {
+        index.rebuild(List.of(recetteClassee(1L, "DESSERT", "FACILE", "EN_ATTENTE")));
+        index.upsert(recetteClassee(1L, "DESSERT", "FACILE", "VALIDEE"));
+
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setStatut("EN_ATTENTE");
+        assertTrue(index.search(criteria).isEmpty());
+
+        criteria.setStatut("VALIDEE");
+        assertEquals(List.of(1L), ids(index.search(criteria)));
+    }
+
+    @Test
+    @DisplayName("recent - devrait lister les créations de la plus récente à la plus ancienne")
+    void testRecent() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        RecetteResponse ancienne = recetteClassee(1L, "DESSERT", "FACILE", "VALIDEE");
+        ancienne.setDateCreation(base);
+        RecetteResponse sansDate = recetteClassee(2L, "DESSERT", "FACILE", "VALIDEE");
+        RecetteResponse recente = recetteClassee(3L, "DESSERT", "FACILE", "VALIDEE");
+        recente.setDateCreation(base.plusDays(2));
+        index.rebuild(List.of(ancienne, sansDate, recente));
+
+        assertEquals(List.of(3L, 1L, 2L), index.recent(10).stream().map(RecetteResponse::getId).toList());
+
+        RecetteResponse nouvelle = recetteClassee(4L, "DESSERT", "FACILE", "VALIDEE");
+        nouvelle.setDateCreation(base.plusDays(5));
+        index.upsert(nouvelle);
+        index.remove(3L);
+
+        assertEquals(List.of(4L, 1L), index.recent(2).stream().map(RecetteResponse::getId).toList());
+        assertTrue(index.recent(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("popular - devrait classer par note en excluant les recettes rejetées")
+    void testPopular() {
+        RecetteResponse bonne = recetteClassee(1L, "DESSERT", "FACILE", "VALIDEE");
+        bonne.setNoteMoyenne(4.9);
+        RecetteResponse rejetee = recetteClassee(2L, "DESSERT", "FACILE", "REJETEE");
+        rejetee.setNoteMoyenne(5.0);
+        RecetteResponse moyenne = recetteClassee(3L, "DESSERT", "FACILE", "EN_ATTENTE");
+        moyenne.setNoteMoyenne(3.5);
+        index.rebuild(List.of(bonne, rejetee, moyenne));
+
+        assertEquals(List.of(1L, 3L), index.popular(10).stream().map(RecetteResponse::getId).toList());
+        assertEquals(List.of(1L, 3L), index.popular(1000).stream().map(RecetteResponse::getId).toList());
+
+        index.updateStats(3L, 5.0, 3);
+        assertEquals(List.of(3L), index.popular(1).stream().map(RecetteResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("suggest - devrait reconstruire les suggestions en arrière-plan après une modification")
+    void testSuggest_BackgroundRebuild() {
+        List<Runnable> tasks = new ArrayList<>();
+        RecetteCatalogIndex deferred = new RecetteCatalogIndex(tasks::add);
+        deferred.rebuild(List.of(recette(1L, "Tarte Tatin", "Aux pommes", List.of("Dessert"))));
+
+        assertEquals(List.of("Tarte Tatin"), libelles(deferred.suggest("TAR", 5)));
+        assertEquals(List.of("Dessert"), libelles(deferred.suggest("dess", 5)));
+        assertTrue(deferred.suggest("  ", 5).isEmpty());
+
+        // La structure courante reste servie tant que la reconstruction n'a pas abouti
+        deferred.upsert(recette(2L, "Tartiflette", "Savoyarde", List.of()));
+        assertEquals(List.of("Tarte Tatin"), libelles(deferred.suggest("tar", 5)));
+        assertEquals(1, tasks.size());
+        deferred.suggest("tar", 5);
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(List.of("Tarte Tatin", "Tartiflette"), libelles(deferred.suggest("tar", 5)));
+    }
+
+    @Test
+    @DisplayName("isStale - devrait être vrai tant que l'index n'est pas chargé")
+    void testIsStale() {
+        assertTrue(new RecetteCatalogIndex().isStale(60000));
+        assertFalse(index.isStale(60000));
+    }
+
+    private static RecetteResponse recette(Long id, String titre, String description, List<String> tags) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        recette.setDescription(description);
+        recette.setTags(tags);
+        return recette;
+    }
+
+    private static RecetteResponse recetteClassee(Long id, String categorie, String difficulte, String statut) {
+        RecetteResponse recette = recette(id, "Recette " + id, null, List.of());
+        recette.setCategorie(categorie);
+        recette.setDifficulte(difficulte);
+        recette.setStatut(statut);
+        return recette;
+    }
+
+    private static IngredientResponse ingredient(Long alimentId) {
+        return IngredientResponse.builder().alimentId(alimentId).build();
+    }
+
+    private static List<String> libelles(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getLibelle).toList();
+    }
+
+    private static List<Long> ids(List<RecetteResponse> recettes) {
+        return recettes.stream().map(RecetteResponse::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - planification des recherches")
+class SearchPlannerTest {
+
+    private RecetteCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<RecetteResponse> recettes = new ArrayList<>();
+        recettes.add(recette(1L, "Tarte aux pommes", "DESSERT"));
+        for (long id = 2; id <= 10; id++) {
+            recettes.add(recette(id, "Gratin " + id, "PLAT_PRINCIPAL"));
+        }
+        index = new RecetteCatalogIndex(Runnable::run);
+        index.rebuild(recettes);
+    }
+
+    @Test
+    @DisplayName("plan - un index à jour devrait toujours répondre localement")
+    void testPlan_FreshIndex() {
+        SearchPlan plan = SearchPlanner.plan(categorie("DESSERT"), index, true, 0.2);
+
+        assertEquals(SearchPlan.Strategy.LOCAL, plan.strategy());
+        assertEquals("LOCAL; catalog=10; index=FRESH", plan.describe());
+    }
+
+    @Test
+    @DisplayName("plan - un index jamais chargé devrait être chargé")
+    void testPlan_AbsentIndex() {
+        SearchPlan plan = SearchPlanner.plan(categorie("DESSERT"), new RecetteCatalogIndex(Runnable::run), false, 0.2);
+
+        assertEquals(SearchPlan.Strategy.LOCAL, plan.strategy());
+        assertEquals(SearchPlan.IndexState.ABSENT, plan.index());
+    }
+
+    @Test
+    @DisplayName("plan - un index périmé devrait déléguer une recherche sélective")
+    void testPlan_StaleSelective() {
+        SearchPlan plan = SearchPlanner.plan(categorie("DESSERT"), index, false, 0.2);
+
+        assertEquals(SearchPlan.Strategy.REMOTE, plan.strategy());
+        assertEquals("REMOTE; estimated=1; catalog=10; index=STALE", plan.describe());
+        assertEquals(SearchPlan.Strategy.LOCAL,
+                SearchPlanner.plan(categorie("PLAT_PRINCIPAL"), index, false, 0.2).strategy());
+    }
+
+    @Test
+    @DisplayName("plan - le mot-clé devrait être évalué localement sur le résultat délégué")
+    void testPlan_Hybrid() {
+        RecetteSearchRequest criteria = categorie("DESSERT");
+        criteria.setKeyword("tatre");
+
+        SearchPlan plan = SearchPlanner.plan(criteria, index, false, 0.2);
+        assertEquals(SearchPlan.Strategy.HYBRID, plan.strategy());
+        assertEquals(1, plan.estimatedRows());
+
+        // Sans critère structuré, la délégation transférerait tout le catalogue
+        RecetteSearchRequest keywordOnly = RecetteSearchRequest.builder().keyword("tatre").build();
+        assertEquals(SearchPlan.Strategy.LOCAL, SearchPlanner.plan(keywordOnly, index, false, 0.2).strategy());
+    }
+
+    @Test
+    @DisplayName("structuredCriteria - devrait retirer le mot-clé et les tags")
+    void testStructuredCriteria() {
+        RecetteSearchRequest criteria = categorie("DESSERT");
+        criteria.setKeyword("tarte");
+        criteria.setTags(List.of("rapide"));
+        criteria.setTempsMax(30);
+
+        RecetteSearchRequest structured = SearchPlanner.structuredCriteria(criteria);
+
+        assertNull(structured.getKeyword());
+        assertNull(structured.getTags());
+        assertEquals("DESSERT", structured.getCategorie());
+        assertEquals(30, structured.getTempsMax());
+    }
+
+    @Test
+    @DisplayName("searchWithin - devrait appliquer la sémantique de l'index à des recettes externes")
+    void testSearchWithin() {
+        List<RecetteResponse> externes = List.of(recette(20L, "Tarte au citron", "DESSERT"),
+                recette(21L, "Mousse au chocolat", "DESSERT"));
+
+        List<RecetteResponse> result = RecetteCatalogIndex.searchWithin(externes,
+                RecetteSearchRequest.builder().keyword("tatre").build());
+
+        assertEquals(List.of(20L), result.stream().map(RecetteResponse::getId).toList());
+    }
+
+    private static RecetteSearchRequest categorie(String categorie) {
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setCategorie(categorie);
+        return criteria;
+    }
+
+    private static RecetteResponse recette(Long id, String titre, String categorie) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        recette.setCategorie(categorie);
+        return recette;
+    }
+}
@@ -0,0 +1,136 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - cache des résultats de recherche")
+class SearchResultCacheTest {
+
+    private RecetteCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecetteCatalogIndex();
+        index.rebuild(List.of(
+                recette(1L, "Pâtes Carbonara", "PLAT_PRINCIPAL", List.of("rapide", "italien")),
+                recette(2L, "Pâtes au pesto", "PLAT_PRINCIPAL", List.of("végétarien")),
+                recette(3L, "Tarte Tatin", "DESSERT", List.of())
+        ));
+    }
+
+    @Test
+    @DisplayName("SearchKey - des critères équivalents devraient avoir la même clé")
+    void testSearchKey_Canonical() {
+        RecetteSearchRequest a = RecetteSearchRequest.builder()
+                .keyword("Pâtes  CARBONARA").categorie("plat_principal ")
+                .tags(List.of("Rapide", "italien", "rapide")).ingredientsInclus(List.of(5L, 2L))
+                .statut("").build();
+        RecetteSearchRequest b = RecetteSearchRequest.builder()
+                .keyword("carbonara pates").categorie("PLAT_PRINCIPAL")
+                .tags(List.of("italien", "RAPIDE")).ingredientsInclus(List.of(2L, 5L, 2L))
+                .build();
+
+        assertEquals(SearchKey.of(a), SearchKey.of(b));
+        assertNotEquals(SearchKey.of(a), SearchKey.of(RecetteSearchRequest.builder().keyword("pates").build()));
+    }
+
+    @Test
+    @DisplayName("snapshot - une recherche équivalente devrait être servie par le cache")
+    void testSnapshot_CacheHit() {
+        List<RecetteResponse> first = index.search(keyword("PÂTES"));
+
+        assertSame(first, index.search(keyword("pates")));
+        assertEquals(List.of(1L, 2L), ids(first));
+    }
+
+    @Test
+    @DisplayName("upsert - une recette sans rapport ne devrait pas invalider le résultat")
+    void testUpsert_UnrelatedKeepsEntry() {
+        List<RecetteResponse> pates = index.search(keyword("pates"));
+
+        index.upsert(recette(3L, "Tarte aux pommes", "DESSERT", List.of()));
+        index.upsert(recette(4L, "Crumble", "DESSERT", List.of()));
+
+        assertSame(pates, index.search(keyword("pates")));
+    }
+
+    @Test
+    @DisplayName("upsert - une recette qui entre dans le résultat ou en sort devrait l'invalider")
+    void testUpsert_MatchingInvalidates() {
+        List<RecetteResponse> pates = index.search(keyword("pates"));
+
+        index.upsert(recette(4L, "Pâtes à la crème", "PLAT_PRINCIPAL", List.of()));
+        List<RecetteResponse> apresCreation = index.search(keyword("pates"));
+        assertNotSame(pates, apresCreation);
+        assertEquals(List.of(1L, 2L, 4L), ids(apresCreation));
+
+        index.upsert(recette(2L, "Risotto au pesto", "PLAT_PRINCIPAL", List.of()));
+        assertEquals(List.of(1L, 4L), ids(index.search(keyword("pates"))));
+
+        index.remove(1L);
+        assertEquals(List.of(4L), ids(index.search(keyword("pates"))));
+    }
+
+    @Test
+    @DisplayName("updateStats - devrait invalider les recherches par note minimale concernées")
+    void testUpdateStats_Invalidates() {
+        RecetteSearchRequest bienNotees = RecetteSearchRequest.builder().noteMoyenneMin(4.0).build();
+        assertTrue(index.search(bienNotees).isEmpty());
+
+        index.updateStats(3L, 4.5, 10);
+
+        assertEquals(List.of(3L), ids(index.search(bienNotees)));
+    }
+
+    @Test
+    @DisplayName("upsert - une correspondance exacte nouvelle devrait remplacer le résultat approché")
+    void testUpsert_FuzzyToExact() {
+        RecetteSearchRequest plats = RecetteSearchRequest.builder()
+                .keyword("carbonnara").categorie("PLAT_PRINCIPAL").build();
+        assertEquals(List.of(1L), ids(index.search(plats)));
+
+        // Recette hors critères, mais qui donne une correspondance exacte au terme :
+        // la recherche n'est plus approchée et ne retient plus la carbonara
+        index.upsert(recette(5L, "Risotto", "DESSERT", List.of("carbonnara")));
+        assertTrue(index.search(plats).isEmpty());
+
+        // Disparition de la seule correspondance exacte : retour à la recherche approchée
+        index.remove(5L);
+        assertEquals(List.of(1L), ids(index.search(plats)));
+    }
+
+    @Test
+    @DisplayName("rebuild - devrait vider le cache")
+    void testRebuild_Clears() {
+        List<RecetteResponse> pates = index.search(keyword("pates"));
+
+        index.rebuild(List.of(recette(9L, "Pâtes fraîches", "PLAT_PRINCIPAL", List.of())));
+
+        assertNotSame(pates, index.search(keyword("pates")));
+        assertEquals(List.of(9L), ids(index.search(keyword("pates"))));
+    }
+
+    private static RecetteSearchRequest keyword(String keyword) {
+        return RecetteSearchRequest.builder().keyword(keyword).build();
+    }
+
+    private static RecetteResponse recette(Long id, String titre, String categorie, List<String> tags) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        recette.setCategorie(categorie);
+        recette.setTags(tags);
+        return recette;
+    }
+
+    private static List<Long> ids(List<RecetteResponse> recettes) {
+        return recettes.stream().map(RecetteResponse::getId).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - recettes similaires (MinHash / LSH)")
+class SimilarityIndexTest {
+
+    private RecetteCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecetteCatalogIndex();
+        index.rebuild(List.of(
+                recette(1L, "VALIDEE", List.of("italien", "pates"), aliments(1, 8)),
+                // Même base, un aliment remplacé : Jaccard 9/11
+                recette(2L, "VALIDEE", List.of("italien", "pates"), aliments(1, 7, 20)),
+                // Moitié des aliments en commun
+                recette(3L, "VALIDEE", List.of("italien"), aliments(1, 4, 30, 31, 32, 33)),
+                // Aucun aliment ni tag en commun
+                recette(4L, "VALIDEE", List.of("dessert"), aliments(40, 45)),
+                // Copie exacte, mais rejetée
+                recette(5L, "REJETEE", List.of("italien", "pates"), aliments(1, 8))
+        ));
+    }
+
+    @Test
+    @DisplayName("similar - devrait classer les recettes proches par Jaccard décroissant")
+    void testSimilar_RankedByJaccard() {
+        List<RecetteSimilaireResponse> similaires = index.similar(index.get(1L), 10);
+
+        assertEquals(2L, similaires.get(0).getRecette().getId());
+        assertEquals(9.0 / 11, similaires.get(0).getSimilarite(), 1e-9);
+        assertFalse(ids(similaires).contains(1L));
+        assertFalse(ids(similaires).contains(4L));
+        assertFalse(ids(similaires).contains(5L));
+        assertEquals(List.of(2L), ids(index.similar(index.get(1L), 1)));
+    }
+
+    @Test
+    @DisplayName("similar - devrait suivre les modifications et accepter une recette non indexée")
+    void testSimilar_UpdatesAndExternalSource() {
+        index.upsert(recette(2L, "VALIDEE", List.of("dessert"), aliments(40, 44)));
+        assertFalse(ids(index.similar(index.get(1L), 10)).contains(2L));
+        assertTrue(ids(index.similar(index.get(4L), 10)).contains(2L));
+
+        index.remove(4L);
+        assertTrue(index.similar(index.get(2L), 10).isEmpty());
+
+        RecetteResponse nouvelle = recette(99L, "EN_ATTENTE", List.of("italien", "pates"), aliments(1, 8));
+        assertEquals(1L, index.similar(nouvelle, 10).get(0).getRecette().getId());
+        assertEquals(1.0, index.similar(nouvelle, 10).get(0).getSimilarite());
+    }
+
+    @Test
+    @DisplayName("similar - une recette sans ingrédient ni tag ne devrait avoir aucune similaire")
+    void testSimilar_NoFeatures() {
+        RecetteResponse vide = new RecetteResponse();
+        vide.setId(100L);
+
+        assertTrue(index.similar(vide, 10).isEmpty());
+        assertNull(index.get(100L));
+    }
+
+    @Test
+    @DisplayName("jaccard - devrait calculer l'indice exact des caractéristiques")
+    void testJaccard() {
+        assertEquals(0.5, SimilarityIndex.jaccard(Set.of(1L, 2L, 3L), Set.of(2L, 3L, 4L)));
+        assertEquals(0.0, SimilarityIndex.jaccard(Set.of(), Set.of(1L)));
+        assertEquals(SimilarityIndex.features(recette(1L, "VALIDEE", List.of("Pâtes"), aliments(1, 2))),
+                SimilarityIndex.features(recette(2L, "VALIDEE", List.of("pates"), aliments(1, 2))));
+    }
+
+    private static RecetteResponse recette(Long id, String statut, List<String> tags, long[] alimentIds) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre("Recette " + id);
+        recette.setStatut(statut);
+        recette.setTags(tags);
+        recette.setIngredients(LongStream.of(alimentIds).mapToObj(alimentId -> {
+            IngredientResponse ingredient = new IngredientResponse();
+            ingredient.setAlimentId(alimentId);
+            return ingredient;
+        }).toList());
+        return recette;
+    }
+
+    // Aliments de from à to inclus, puis les aliments supplémentaires
+    private static long[] aliments(long from, long to, long... extra) {
+        return LongStream.concat(LongStream.rangeClosed(from, to), LongStream.of(extra)).toArray();
+    }
+
+    private static List<Long> ids(List<RecetteSimilaireResponse> similaires) {
+        return similaires.stream().map(similaire -> similaire.getRecette().getId()).toList();
+    }
+}
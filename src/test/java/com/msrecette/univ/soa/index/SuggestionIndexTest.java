@@ -0,0 +1,94 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - SuggestionIndex")
+class SuggestionIndexTest {
+
+    @Test
+    @DisplayName("suggest - devrait proposer titres et tags par popularité décroissante")
+    void testSuggest_ByPopularity() {
+        SuggestionIndex index = SuggestionIndex.build(1, List.of(
+                recette(1L, "Tarte aux pommes", 4.0, 10, List.of("Tarte sucrée")),
+                recette(2L, "Tarte Tatin", 4.8, 30, List.of()),
+                recette(3L, "Tartiflette", 3.0, 2, List.of())
+        ));
+
+        List<SuggestionResponse> suggestions = index.suggest("tart", 10);
+
+        assertEquals(List.of("Tarte Tatin", "Tarte aux pommes", "Tarte sucrée", "Tartiflette"), libelles(suggestions));
+        assertEquals(2L, suggestions.get(0).getRecetteId());
+        assertEquals(SuggestionResponse.TYPE_TAG, suggestions.get(2).getType());
+        assertNull(suggestions.get(2).getRecetteId());
+        assertEquals(List.of("Tarte Tatin"), libelles(index.suggest("tart", 1)));
+    }
+
+    @Test
+    @DisplayName("suggest - devrait trouver un mot au milieu du titre sans doublon")
+    void testSuggest_TitleSuffix() {
+        SuggestionIndex index = SuggestionIndex.build(1, List.of(
+                recette(1L, "Pâtes Carbonara", 4.0, 5, List.of()),
+                recette(2L, "Pâtes pesto pâtes", 3.0, 5, List.of())
+        ));
+
+        assertEquals(List.of("Pâtes Carbonara"), libelles(index.suggest("carbo", 10)));
+        assertEquals(List.of("Pâtes Carbonara", "Pâtes pesto pâtes"), libelles(index.suggest("pates", 10)));
+        assertTrue(index.suggest("risotto", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("build - devrait ignorer les recettes rejetées")
+    void testBuild_IgnoresRejected() {
+        RecetteResponse rejetee = recette(1L, "Gratin", 5.0, 100, List.of("gratin"));
+        rejetee.setStatut("REJETEE");
+
+        SuggestionIndex index = SuggestionIndex.build(1, List.of(rejetee));
+
+        assertTrue(index.suggest("gratin", 10).isEmpty());
+        assertEquals(0, index.keyCount());
+    }
+
+    @Test
+    @DisplayName("suggest - devrait retourner les mêmes meilleurs résultats qu'un tri complet")
+    void testSuggest_MatchesFullSort() {
+        Random random = new Random(7);
+        List<RecetteResponse> recettes = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            recettes.add(recette(id, "Soupe " + id, random.nextInt(50) / 10.0, 1 + random.nextInt(200), List.of()));
+        }
+        SuggestionIndex index = SuggestionIndex.build(1, recettes);
+
+        for (String prefix : List.of("soupe", "soupe 1", "soupe 25", "soupe 2999")) {
+            List<String> expected = recettes.stream()
+                    .filter(r -> TextNormalizer.normalize(r.getTitre()).startsWith(prefix))
+                    .sorted(Comparator.comparingDouble((RecetteResponse r) ->
+                                    -r.getNoteMoyenne() * Math.log1p(r.getNombreFeedbacks()))
+                            .thenComparing(r -> TextNormalizer.normalize(r.getTitre())))
+                    .limit(15)
+                    .map(RecetteResponse::getTitre)
+                    .toList();
+            assertEquals(expected, libelles(index.suggest(prefix, 15)), prefix);
+        }
+    }
+
+    private static RecetteResponse recette(Long id, String titre, Double note, Integer feedbacks, List<String> tags) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setTitre(titre);
+        recette.setNoteMoyenne(note);
+        recette.setNombreFeedbacks(feedbacks);
+        recette.setTags(tags);
+        return recette;
+    }
+
+    private static List<String> libelles(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getLibelle).toList();
+    }
+}
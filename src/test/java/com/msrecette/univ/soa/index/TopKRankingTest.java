@@ -0,0 +1,109 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - TopKRanking")
+class TopKRankingTest {
+
+    private TopKRanking ranking;
+    private Map<Long, RecetteResponse> catalogue;
+    private int refills;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new TopKRanking(3, RecetteSortEnum.POPULAIRES.comparator());
+        catalogue = new LinkedHashMap<>();
+        refills = 0;
+        for (long id = 1; id <= 6; id++) {
+            put(recette(id, id * 0.5, 10));
+        }
+    }
+
+    @Test
+    @DisplayName("upsert - devrait ne conserver que les K meilleures recettes")
+    void testUpsert_KeepsBest() {
+        assertEquals(List.of(6L, 5L, 4L), ids(ranking.first(3, this::source)));
+        assertEquals(List.of(6L), ids(ranking.first(1, this::source)));
+        assertEquals(0, refills);
+    }
+
+    @Test
+    @DisplayName("upsert - devrait départager par nombre de feedbacks")
+    void testUpsert_TieBreak() {
+        put(recette(7L, 3.0, 50));
+
+        assertEquals(List.of(7L, 6L, 5L), ids(ranking.first(3, this::source)));
+    }
+
+    @Test
+    @DisplayName("remove - devrait recompléter le classement depuis le catalogue")
+    void testRemove_Refill() {
+        catalogue.remove(6L);
+        ranking.remove(6L);
+
+        assertEquals(List.of(5L, 4L, 3L), ids(ranking.first(3, this::source)));
+        assertEquals(1, refills);
+
+        // Le classement est à nouveau complet : plus de relecture du catalogue
+        ranking.first(3, this::source);
+        assertEquals(1, refills);
+    }
+
+    @Test
+    @DisplayName("upsert - une recette non éligible devrait sortir du classement")
+    void testUpsert_NotEligible() {
+        RecetteResponse rejetee = recette(5L, 2.5, 10);
+        catalogue.remove(5L);
+        ranking.upsert(rejetee, false);
+
+        assertEquals(List.of(6L, 4L, 3L), ids(ranking.first(3, this::source)));
+    }
+
+    @Test
+    @DisplayName("upsert - une hausse de note devrait faire entrer une recette sans relecture")
+    void testUpsert_PromotionWithoutRefill() {
+        put(recette(1L, 5.0, 99));
+
+        assertEquals(List.of(1L, 6L, 5L), ids(ranking.first(3, this::source)));
+        assertEquals(0, refills);
+    }
+
+    @Test
+    @DisplayName("upsert - une baisse de note d'un membre devrait être arbitrée avec le catalogue")
+    void testUpsert_DemotionRefill() {
+        put(recette(6L, 0.1, 1));
+
+        assertEquals(List.of(5L, 4L, 3L), ids(ranking.first(3, this::source)));
+        assertEquals(1, refills);
+    }
+
+    private void put(RecetteResponse recette) {
+        catalogue.put(recette.getId(), recette);
+        ranking.upsert(recette, true);
+    }
+
+    private Iterable<RecetteResponse> source() {
+        refills++;
+        return new ArrayList<>(catalogue.values());
+    }
+
+    private static RecetteResponse recette(Long id, Double note, Integer feedbacks) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setNoteMoyenne(note);
+        recette.setNombreFeedbacks(feedbacks);
+        return recette;
+    }
+
+    private static List<Long> ids(List<RecetteResponse> recettes) {
+        return recettes.stream().map(RecetteResponse::getId).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.msrecette.univ.soa.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - TrigramIndex")
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.add(0, Set.of("pates", "carbonara"));
+        index.add(1, Set.of("ratatouille"));
+        index.add(2, Set.of("tarte", "tatin"));
+        index.add(3, Set.of("tarte", "citron"));
+    }
+
+    @Test
+    @DisplayName("fuzzyMatches - devrait retrouver un terme à une ou deux fautes près")
+    void testFuzzyMatches() {
+        assertEquals(RoaringBitmap.bitmapOf(0), index.fuzzyMatches("carbonnara"));
+        assertEquals(RoaringBitmap.bitmapOf(1), index.fuzzyMatches("ratatouile"));
+        assertEquals(RoaringBitmap.bitmapOf(1), index.fuzzyMatches("ratatuoille"));
+        assertEquals(RoaringBitmap.bitmapOf(2, 3), index.fuzzyMatches("trate"));
+    }
+
+    @Test
+    @DisplayName("fuzzyMatches - devrait ignorer les termes courts et trop éloignés")
+    void testFuzzyMatches_Bounds() {
+        assertTrue(index.fuzzyMatches("tatn").isEmpty());
+        assertTrue(index.fuzzyMatches("carbonique").isEmpty());
+        assertTrue(index.fuzzyMatches("citrouille").isEmpty());
+    }
+
+    @Test
+    @DisplayName("remove - devrait oublier un terme qui n'apparaît plus dans aucun titre")
+    void testRemove() {
+        index.remove(2, Set.of("tarte", "tatin"));
+
+        assertEquals(RoaringBitmap.bitmapOf(3), index.fuzzyMatches("trate"));
+        assertTrue(index.fuzzyMatches("tatinn").isEmpty());
+        assertEquals(5, index.vocabularySize());
+
+        // Identifiant de terme libéré puis réutilisé
+        index.add(4, Set.of("gratin"));
+        assertEquals(RoaringBitmap.bitmapOf(4), index.fuzzyMatches("gratn"));
+    }
+
+    @Test
+    @DisplayName("boundedDistance - devrait compter une transposition comme une seule faute")
+    void testBoundedDistance() {
+        assertEquals(0, TrigramIndex.boundedDistance("tatin", "tatin", 2));
+        assertEquals(1, TrigramIndex.boundedDistance("tarte", "trate", 2));
+        assertEquals(2, TrigramIndex.boundedDistance("carbonara", "carbonnarra", 2));
+        assertEquals(3, TrigramIndex.boundedDistance("tarte", "citron", 2));
+    }
+}
@@ -0,0 +1,131 @@
+package com.msrecette.univ.soa.index;
+
+import com.msrecette.univ.soa.response.RecetteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure de la recherche tolérante aux fautes sur un catalogue synthétique.
+ * Exclu du build par défaut : mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - recherche approchée sur les titres")
+class TrigramSearchBenchmarkTest {
+
+    private static final int CATALOGUE_SIZE = 200_000;
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int MEASURED_QUERIES = 5_000;
+
+    private static final String[] SYLLABES = {
+            "ta", "ro", "mi", "gna", "pou", "le", "ca", "bri", "son", "tou",
+            "lla", "che", "va", "pi", "gou", "ret", "fa", "ni", "zo", "ber",
+            "qui", "mou", "sa", "tin", "dre", "lo", "cou", "pa", "vi", "gra"
+    };
+
+    @Test
+    @DisplayName("searchKeyword - p99 sous 5 ms pour un mot mal orthographié sur 200k recettes")
+    void benchmarkFuzzySearch() {
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random);
+
+        List<RecetteResponse> recettes = new ArrayList<>(CATALOGUE_SIZE);
+        for (long id = 1; id <= CATALOGUE_SIZE; id++) {
+            recettes.add(RecetteResponse.builder()
+                    .id(id)
+                    .titre(titre(random, vocabulary))
+                    .description("Recette synthétique numéro " + id)
+                    .build());
+        }
+
+        RecetteCatalogIndex index = new RecetteCatalogIndex();
+        long start = System.nanoTime();
+        index.rebuild(recettes);
+        System.out.printf("Construction de l'index : %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            index.searchKeyword(misspell(random, pickLongWord(random, vocabulary)));
+        }
+
+        long[] latencies = new long[MEASURED_QUERIES];
+        int empty = 0;
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            String query = misspell(random, pickLongWord(random, vocabulary));
+            long begin = System.nanoTime();
+            List<RecetteResponse> result = index.searchKeyword(query);
+            latencies[i] = System.nanoTime() - begin;
+            if (result.isEmpty()) {
+                empty++;
+            }
+        }
+        Arrays.sort(latencies);
+
+        double p50 = latencies[MEASURED_QUERIES / 2] / 1_000_000.0;
+        double p99 = latencies[(int) (MEASURED_QUERIES * 0.99)] / 1_000_000.0;
+        System.out.printf("Recherche approchée - p50 : %.3f ms, p99 : %.3f ms, sans résultat : %d/%d%n",
+                p50, p99, empty, MEASURED_QUERIES);
+
+        assertEquals(0, empty, "Chaque mot à une faute près devrait être retrouvé");
+        assertTrue(p99 < 5.0, "p99 = " + p99 + " ms");
+    }
+
+    private static String[] vocabulary(Random random) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < VOCABULARY_SIZE) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABES[random.nextInt(SYLLABES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+
+    // Distribution biaisée : quelques termes très fréquents, une longue traîne de termes rares
+    private static String pickWord(Random random, String[] vocabulary) {
+        double skewed = Math.pow(random.nextDouble(), 2);
+        return vocabulary[(int) (skewed * vocabulary.length)];
+    }
+
+    private static String pickLongWord(Random random, String[] vocabulary) {
+        String word;
+        do {
+            word = pickWord(random, vocabulary);
+        } while (word.length() < 6);
+        return word;
+    }
+
+    private static String titre(Random random, String[] vocabulary) {
+        int words = 2 + random.nextInt(4);
+        StringJoiner titre = new StringJoiner(" ");
+        for (int w = 0; w < words; w++) {
+            titre.add(pickWord(random, vocabulary));
+        }
+        return titre.toString();
+    }
+
+    // Une faute : substitution, suppression ou inversion de deux lettres voisines (hors première lettre)
+    private static String misspell(Random random, String word) {
+        char[] chars = word.toCharArray();
+        int position = 1 + random.nextInt(chars.length - 2);
+        return switch (random.nextInt(3)) {
+            case 0 -> {
+                chars[position] = chars[position] == 'x' ? 'y' : 'x';
+                yield new String(chars);
+            }
+            case 1 -> word.substring(0, position) + word.substring(position + 1);
+            default -> {
+                char swap = chars[position];
+                chars[position] = chars[position + 1];
+                chars[position + 1] = swap;
+                yield new String(chars);
+            }
+        };
+    }
+}
@@ -1,21 +1,44 @@
 package com.msrecette.univ.soa.service;
 
+import com.msrecette.univ.soa.cache.InProcessInvalidationBus;
+import com.msrecette.univ.soa.cache.RecetteCacheInvalidator;
+import com.msrecette.univ.soa.cache.RecetteExistenceCache;
 import com.msrecette.univ.soa.client.RecetteClient;
+import com.msrecette.univ.soa.config.CacheConfig;
+import com.msrecette.univ.soa.config.CacheProperties;
 import com.msrecette.univ.soa.exception.RecetteNotFoundException;
+import com.msrecette.univ.soa.index.PlannedSearch;
+import com.msrecette.univ.soa.index.RecetteCatalogIndex;
+import com.msrecette.univ.soa.index.SearchCursor;
+import com.msrecette.univ.soa.index.SearchPlan;
 import com.msrecette.univ.soa.request.EtapeRequest;
 import com.msrecette.univ.soa.request.IngredientRequest;
+import com.msrecette.univ.soa.request.PantryRequest;
 import com.msrecette.univ.soa.request.RecetteCreateRequest;
 import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
 import com.msrecette.univ.soa.request.RecetteUpdateRequest;
+import com.msrecette.univ.soa.response.IngredientResponse;
+import com.msrecette.univ.soa.response.PantryMatchResponse;
+import com.msrecette.univ.soa.response.RecetteFacetsResponse;
 import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.response.RecetteSearchPageResponse;
+import com.msrecette.univ.soa.response.RecetteSimilaireResponse;
+import com.msrecette.univ.soa.response.RecetteStatsResponse;
+import com.msrecette.univ.soa.response.SuggestionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,6 +54,16 @@ class RecetteServiceImplTest {
     @Mock
     private RecetteClient recetteClient;
 
+    @Spy
+    private RecetteCatalogIndex catalogIndex = new RecetteCatalogIndex();
+
+    @Spy
+    private RecetteCacheInvalidator cacheInvalidator = new RecetteCacheInvalidator(
+            new CacheConfig().cacheManager(new CacheProperties(), new SimpleMeterRegistry(),
+                mock(RecetteClient.class), Runnable::run), catalogIndex, new InProcessInvalidationBus(),
+            new RecetteExistenceCache(new ConcurrentMapCacheManager(RecetteExistenceCache.RECETTE_ABSENTE),
+                new SimpleMeterRegistry()));
+
     @InjectMocks
     private RecetteServiceImpl recetteService;
 
@@ -78,6 +111,20 @@ class RecetteServiceImplTest {
         });
     }
 
+    @Test
+    @DisplayName("createRecette - un échec de l'invalidation locale ne devrait pas faire échouer l'écriture")
+    void testCreateRecette_InvalidationFailureDoesNotFailWrite() {
+        when(recetteClient.createRecette(any(RecetteCreateRequest.class)))
+                .thenReturn(recetteResponse);
+        doThrow(new IllegalStateException("Bus indisponible"))
+                .when(cacheInvalidator).recetteChanged(recetteResponse);
+
+        RecetteResponse result = recetteService.createRecette(createRequest);
+
+        assertEquals(1L, result.getId());
+        verify(cacheInvalidator).recetteChanged(recetteResponse);
+    }
+
     @Test
     @DisplayName("getAllRecettes - devrait retourner la liste des recettes")
     void testGetAllRecettes_Success() {
@@ -123,7 +170,7 @@ class RecetteServiceImplTest {
         searchRequest.setCategorie("PLAT_PRINCIPAL");
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
@@ -139,7 +186,7 @@ class RecetteServiceImplTest {
         searchRequest.setKeyword("Test");
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
@@ -148,6 +195,332 @@ class RecetteServiceImplTest {
         assertTrue(result.get(0).getTitre().contains("Test"));
     }
 
+    @Test
+    @DisplayName("searchRecettes - devrait ignorer la casse et les accents du mot-clé")
+    void testSearchRecettes_ByKeywordAccentFolded() {
+        recetteResponse.setTitre("Pâtes à la crème");
+        RecetteSearchRequest searchRequest = new RecetteSearchRequest();
+        searchRequest.setKeyword("PATES creme");
+
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+
+        List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    @DisplayName("searchRecettes - ne devrait charger le catalogue qu'une seule fois")
+    void testSearchRecettes_LoadsCatalogOnce() {
+        RecetteSearchRequest searchRequest = new RecetteSearchRequest();
+        searchRequest.setKeyword("Test");
+
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+
+        recetteService.searchRecettes(searchRequest);
+        recetteService.searchRecettes(searchRequest);
+
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("searchRecettes - devrait refléter les créations et suppressions sans recharger le catalogue")
+    void testSearchRecettes_IncrementalIndexUpdates() {
+        RecetteSearchRequest searchRequest = new RecetteSearchRequest();
+        searchRequest.setKeyword("ratatouille");
+
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+        assertEquals(0, recetteService.searchRecettes(searchRequest).size());
+
+        RecetteResponse created = new RecetteResponse();
+        created.setId(2L);
+        created.setTitre("Ratatouille provençale");
+        when(recetteClient.createRecette(any(RecetteCreateRequest.class))).thenReturn(created);
+        recetteService.createRecette(createRequest);
+
+        assertEquals(1, recetteService.searchRecettes(searchRequest).size());
+
+        recetteService.deleteRecette(2L);
+
+        assertEquals(0, recetteService.searchRecettes(searchRequest).size());
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("getRecettesValidees - devrait lire la réplique à jour, puis ms-persistance au-delà du retard toléré")
+    void testReadsFromReplicaThenRemote() {
+        RecetteResponse validee = RecetteResponse.builder().id(2L).titre("Tarte").statut("VALIDEE")
+                .categorie("DESSERT").utilisateurId(7L).build();
+        recetteResponse.setStatut("EN_ATTENTE");
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse, validee));
+        recetteService.getPopularRecettes(5);
+
+        assertEquals(List.of(validee), recetteService.getRecettesValidees());
+        assertEquals(List.of(recetteResponse), recetteService.getRecettesEnAttente());
+        assertEquals(List.of(validee), recetteService.getRecettesByCategorie("DESSERT"));
+        assertEquals(List.of(validee), recetteService.getRecettesByUtilisateur(7L));
+        assertEquals(2, recetteService.getAllRecettes().size());
+        verify(recetteClient, never()).getRecettesValidees();
+
+        ReflectionTestUtils.setField(recetteService, "maxReplicaLagMs", -1L);
+        when(recetteClient.getRecettesValidees()).thenReturn(List.of());
+
+        assertTrue(recetteService.getRecettesValidees().isEmpty());
+        verify(recetteClient, times(1)).getRecettesValidees();
+    }
+
+    @Test
+    @DisplayName("searchRecettesPlanned - devrait déléguer une recherche sélective lorsque l'index est périmé")
+    void testSearchRecettesPlanned_Remote() {
+        RecetteResponse dessert = RecetteResponse.builder().id(2L).titre("Tarte").categorie("DESSERT").build();
+        List<RecetteResponse> catalogue = new ArrayList<>(List.of(dessert));
+        for (long id = 10; id < 20; id++) {
+            catalogue.add(RecetteResponse.builder().id(id).titre("Plat " + id).categorie("PLAT_PRINCIPAL").build());
+        }
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(catalogue);
+        RecetteSearchRequest criteria = RecetteSearchRequest.builder().categorie("DESSERT").build();
+        assertEquals(SearchPlan.Strategy.LOCAL, recetteService.searchRecettesPlanned(criteria).plan().strategy());
+
+        ReflectionTestUtils.setField(recetteService, "maxReplicaLagMs", -1L);
+        when(recetteClient.searchRecettes(criteria)).thenReturn(List.of(dessert));
+
+        PlannedSearch result = recetteService.searchRecettesPlanned(criteria);
+
+        assertEquals(SearchPlan.Strategy.REMOTE, result.plan().strategy());
+        assertEquals(1, result.plan().estimatedRows());
+        assertEquals(List.of(dessert), result.recettes());
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("searchRecettesPlanned - devrait filtrer localement le mot-clé sur le résultat délégué")
+    void testSearchRecettesPlanned_Hybrid() {
+        RecetteResponse tarte = RecetteResponse.builder().id(2L).titre("Tarte aux pommes").categorie("DESSERT").build();
+        RecetteResponse mousse = RecetteResponse.builder().id(3L).titre("Mousse").categorie("DESSERT").build();
+        List<RecetteResponse> catalogue = new ArrayList<>(List.of(tarte, mousse));
+        for (long id = 10; id < 20; id++) {
+            catalogue.add(RecetteResponse.builder().id(id).titre("Plat " + id).categorie("PLAT_PRINCIPAL").build());
+        }
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(catalogue);
+        recetteService.searchRecettes(new RecetteSearchRequest());
+        ReflectionTestUtils.setField(recetteService, "maxReplicaLagMs", -1L);
+        when(recetteClient.searchRecettes(RecetteSearchRequest.builder().categorie("DESSERT").build()))
+                .thenReturn(List.of(tarte, mousse));
+
+        PlannedSearch result = recetteService.searchRecettesPlanned(
+                RecetteSearchRequest.builder().categorie("DESSERT").keyword("tatre").build());
+
+        assertEquals(SearchPlan.Strategy.HYBRID, result.plan().strategy());
+        assertEquals(List.of(tarte), result.recettes());
+    }
+
+    @Test
+    @DisplayName("searchRecettesPlanned - devrait se replier sur l'index si ms-persistance échoue")
+    void testSearchRecettesPlanned_RemoteFailure() {
+        RecetteResponse dessert = RecetteResponse.builder().id(2L).titre("Tarte").categorie("DESSERT").build();
+        List<RecetteResponse> catalogue = new ArrayList<>(List.of(dessert));
+        for (long id = 10; id < 20; id++) {
+            catalogue.add(RecetteResponse.builder().id(id).titre("Plat " + id).categorie("PLAT_PRINCIPAL").build());
+        }
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(catalogue);
+        recetteService.searchRecettes(new RecetteSearchRequest());
+        ReflectionTestUtils.setField(recetteService, "maxReplicaLagMs", -1L);
+        when(recetteClient.searchRecettes(any(RecetteSearchRequest.class))).thenThrow(new RuntimeException("timeout"));
+
+        PlannedSearch result = recetteService.searchRecettesPlanned(
+                RecetteSearchRequest.builder().categorie("DESSERT").build());
+
+        assertEquals(SearchPlan.Strategy.LOCAL, result.plan().strategy());
+        assertEquals(List.of(dessert), result.recettes());
+        verify(recetteClient, times(2)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("searchRecettesPage - devrait reprendre après la dernière recette vue malgré les mises à jour")
+    void testSearchRecettesPage_KeysetCursorAcrossUpdates() {
+        List<RecetteResponse> catalogue = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            RecetteResponse recette = new RecetteResponse();
+            recette.setId(id);
+            recette.setTitre("Recette " + id);
+            catalogue.add(recette);
+        }
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(catalogue);
+
+        RecetteSearchPageResponse first = recetteService.searchRecettesPage(
+                new RecetteSearchRequest(), 2, RecetteSortEnum.TITRE, null);
+        assertEquals(5, first.getTotal());
+        assertEquals(List.of(1L, 2L), first.getRecettes().stream().map(r -> r.getId()).toList());
+        assertNotNull(first.getNextCursor());
+
+        // Une suppression concurrente ne fait ni sauter ni répéter de recette
+        recetteService.deleteRecette(1L);
+
+        RecetteSearchPageResponse second = recetteService.searchRecettesPage(
+                new RecetteSearchRequest(), 2, RecetteSortEnum.TITRE, first.getNextCursor());
+        assertEquals(List.of(3L, 4L), second.getRecettes().stream().map(r -> r.getId()).toList());
+        assertNotEquals(first.getSnapshotVersion(), second.getSnapshotVersion());
+
+        RecetteSearchPageResponse last = recetteService.searchRecettesPage(
+                new RecetteSearchRequest(), 2, RecetteSortEnum.TITRE, second.getNextCursor());
+        assertEquals(List.of(5L), last.getRecettes().stream().map(r -> r.getId()).toList());
+        assertNull(last.getNextCursor());
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("searchRecettesPage - devrait classer par pertinence page après page")
+    void testSearchRecettesPage_Pertinence() {
+        List<RecetteResponse> catalogue = new ArrayList<>();
+        String[] titres = {"Soupe de légumes", "Velouté", "Soupe à l'oignon gratinée", "Soupe"};
+        String[] descriptions = {"", "Une soupe onctueuse", "", "Soupe soupe"};
+        for (int i = 0; i < titres.length; i++) {
+            RecetteResponse recette = new RecetteResponse();
+            recette.setId((long) i + 1);
+            recette.setTitre(titres[i]);
+            recette.setDescription(descriptions[i]);
+            catalogue.add(recette);
+        }
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(catalogue);
+
+        RecetteSearchRequest criteria = new RecetteSearchRequest();
+        criteria.setKeyword("soupe");
+        RecetteSearchPageResponse first = recetteService.searchRecettesPage(criteria, 1, RecetteSortEnum.PERTINENCE, null);
+        RecetteSearchPageResponse rest = recetteService.searchRecettesPage(
+                criteria, 10, RecetteSortEnum.PERTINENCE, first.getNextCursor());
+
+        assertEquals(4, first.getTotal());
+        assertEquals(List.of(4L), first.getRecettes().stream().map(r -> r.getId()).toList());
+        assertEquals(List.of(1L, 3L, 2L), rest.getRecettes().stream().map(r -> r.getId()).toList());
+    }
+
+    @Test
+    @DisplayName("searchRecettesPage - devrait refuser une taille de page ou un curseur invalide")
+    void testSearchRecettesPage_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () ->
+                recetteService.searchRecettesPage(new RecetteSearchRequest(), 0, RecetteSortEnum.TITRE, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                recetteService.searchRecettesPage(new RecetteSearchRequest(), 500, RecetteSortEnum.TITRE, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                recetteService.searchRecettesPage(null, 10, null, "pas-un-curseur"));
+    }
+
+    @Test
+    @DisplayName("searchRecettesPage - devrait refuser un curseur issu d'autres critères ou d'un autre tri")
+    void testSearchRecettesPage_CursorMismatch() {
+        RecetteResponse last = new RecetteResponse();
+        last.setId(2L);
+        last.setTitre("Recette 2");
+        RecetteSearchRequest desserts = RecetteSearchRequest.builder().categorie("DESSERT").build();
+        String cursor = SearchCursor.after(SearchCursor.criteriaHash(desserts), RecetteSortEnum.TITRE,
+                2, last, 0).encode();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                recetteService.searchRecettesPage(new RecetteSearchRequest(), 10, RecetteSortEnum.TITRE, cursor));
+        assertThrows(IllegalArgumentException.class, () ->
+                recetteService.searchRecettesPage(desserts, 10, RecetteSortEnum.KCAL, cursor));
+        verify(recetteClient, never()).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("getPopularRecettes - devrait suivre les stats et les rejets sans recharger le catalogue")
+    void testGetPopularRecettes_MaintainedRanking() {
+        RecetteResponse autre = new RecetteResponse();
+        autre.setId(2L);
+        autre.setTitre("Autre");
+        autre.setNoteMoyenne(4.0);
+        recetteResponse.setNoteMoyenne(3.0);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse, autre));
+
+        assertEquals(List.of(2L, 1L), recetteService.getPopularRecettes(10).stream().map(RecetteResponse::getId).toList());
+
+        when(recetteClient.getRecetteStats(1L)).thenReturn(
+                RecetteStatsResponse.builder().recetteId(1L).noteMoyenne(4.8).nombreFeedbacks(12).build());
+        recetteService.getRecetteStats(1L);
+
+        assertEquals(List.of(1L, 2L), recetteService.getPopularRecettes(10).stream().map(RecetteResponse::getId).toList());
+
+        RecetteResponse rejetee = new RecetteResponse();
+        rejetee.setId(1L);
+        rejetee.setStatut("REJETEE");
+        when(recetteClient.rejeterRecette(1L, "Incomplète")).thenReturn(rejetee);
+        recetteService.rejeterRecette(1L, "Incomplète");
+
+        assertEquals(List.of(2L), recetteService.getPopularRecettes(10).stream().map(RecetteResponse::getId).toList());
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("getSearchFacets - devrait compter depuis l'index et valider le nombre de tags")
+    void testGetSearchFacets() {
+        recetteResponse.setCategorie("PLAT_PRINCIPAL");
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+
+        RecetteFacetsResponse facets = recetteService.getSearchFacets(null, 20);
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(1, facets.getCategories().get("PLAT_PRINCIPAL"));
+        assertThrows(IllegalArgumentException.class, () -> recetteService.getSearchFacets(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> recetteService.getSearchFacets(null, 101));
+    }
+
+    @Test
+    @DisplayName("searchPantry - devrait classer depuis l'index et valider la requête")
+    void testSearchPantry() {
+        recetteResponse.setIngredients(List.of(IngredientResponse.builder().alimentId(5L).principal(true).build()));
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+
+        List<PantryMatchResponse> matches = recetteService.searchPantry(new PantryRequest(List.of(5L, 6L)), 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(1.0, matches.get(0).getCouverture());
+        assertThrows(IllegalArgumentException.class, () -> recetteService.searchPantry(new PantryRequest(List.of()), 10));
+        assertThrows(IllegalArgumentException.class, () -> recetteService.searchPantry(new PantryRequest(List.of(5L)), 0));
+    }
+
+    @Test
+    @DisplayName("getSimilarRecettes - devrait chercher depuis l'index et lire à distance une recette non indexée")
+    void testGetSimilarRecettes() {
+        recetteResponse.setIngredients(List.of(IngredientResponse.builder().alimentId(5L).build()));
+        RecetteResponse nouvelle = RecetteResponse.builder().id(2L).titre("Nouvelle")
+                .ingredients(List.of(IngredientResponse.builder().alimentId(5L).build())).build();
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+        when(recetteClient.getRecetteById(2L)).thenReturn(nouvelle);
+
+        List<RecetteSimilaireResponse> similaires = recetteService.getSimilarRecettes(2L, 10);
+
+        assertEquals(1, similaires.size());
+        assertEquals(1L, similaires.get(0).getRecette().getId());
+        assertTrue(recetteService.getSimilarRecettes(1L, 10).isEmpty());
+        verify(recetteClient, times(1)).getRecetteById(2L);
+        assertThrows(IllegalArgumentException.class, () -> recetteService.getSimilarRecettes(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> recetteService.getSimilarRecettes(1L, 51));
+    }
+
+    @Test
+    @DisplayName("getSimilarRecettes - devrait lever une exception pour une recette inexistante")
+    void testGetSimilarRecettes_NotFound() {
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+        when(recetteClient.getRecetteById(999L)).thenThrow(new RuntimeException("Not found"));
+
+        assertThrows(RecetteNotFoundException.class, () -> recetteService.getSimilarRecettes(999L, 10));
+    }
+
+    @Test
+    @DisplayName("suggestRecettes - devrait suggérer depuis l'index et valider le nombre demandé")
+    void testSuggestRecettes() {
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(Arrays.asList(recetteResponse));
+
+        List<SuggestionResponse> suggestions = recetteService.suggestRecettes(
+                recetteResponse.getTitre().substring(0, 3), 5);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(recetteResponse.getTitre(), suggestions.get(0).getLibelle());
+        assertEquals(1L, suggestions.get(0).getRecetteId());
+        assertThrows(IllegalArgumentException.class, () -> recetteService.suggestRecettes("tar", 0));
+        assertThrows(IllegalArgumentException.class, () -> recetteService.suggestRecettes("tar", 21));
+    }
+
     @Test
     @DisplayName("searchRecettes - devrait filtrer par temps max")
     void testSearchRecettes_ByTempsMax() {
@@ -155,7 +528,7 @@ class RecetteServiceImplTest {
         searchRequest.setTempsMax(40);
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
@@ -171,7 +544,7 @@ class RecetteServiceImplTest {
         searchRequest.setCategorie("DESSERT");
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
@@ -192,6 +565,7 @@ class RecetteServiceImplTest {
 
         assertNotNull(result);
         verify(recetteClient, times(1)).updateRecette(eq(1L), any(RecetteUpdateRequest.class));
+        verify(cacheInvalidator).recetteChanged(recetteResponse);
     }
 
     @Test
@@ -201,6 +575,7 @@ class RecetteServiceImplTest {
 
         assertDoesNotThrow(() -> recetteService.deleteRecette(1L));
         verify(recetteClient, times(1)).deleteRecette(1L);
+        verify(cacheInvalidator).recetteDeleted(1L);
     }
 
     @Test
@@ -246,6 +621,7 @@ class RecetteServiceImplTest {
 
         assertThrows(Exception.class, () -> recetteService.deleteRecette(999L));
         verify(recetteClient, times(1)).deleteRecette(999L);
+        verifyNoInteractions(cacheInvalidator);
     }
 
     @Test
@@ -294,7 +670,7 @@ class RecetteServiceImplTest {
         searchRequest.setKcalMax(500);
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
@@ -309,7 +685,7 @@ class RecetteServiceImplTest {
         searchRequest.setTempsMax(10); // Moins que le temps total (35)
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
@@ -324,7 +700,7 @@ class RecetteServiceImplTest {
         searchRequest.setKcalMax(400); // Moins que kcal (450)
 
         List<RecetteResponse> allRecettes = Arrays.asList(recetteResponse);
-        when(recetteClient.getAllRecettes()).thenReturn(allRecettes);
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(allRecettes);
 
         List<RecetteResponse> result = recetteService.searchRecettes(searchRequest);
 
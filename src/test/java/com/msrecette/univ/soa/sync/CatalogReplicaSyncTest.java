@@ -0,0 +1,174 @@
+package com.msrecette.univ.soa.sync;
+
+import com.msrecette.univ.soa.cache.RecetteCacheInvalidator;
+import com.msrecette.univ.soa.client.RecetteClient;
+import com.msrecette.univ.soa.index.RecetteCatalogIndex;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires - synchronisation de la réplique du catalogue")
+class CatalogReplicaSyncTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock
+    private RecetteClient recetteClient;
+
+    @Mock
+    private RecetteCacheInvalidator cacheInvalidator;
+
+    private RecetteCatalogIndex catalogIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogReplicaSync replicaSync;
+
+    @BeforeEach
+    void setUp() {
+        catalogIndex = new RecetteCatalogIndex();
+        meterRegistry = new SimpleMeterRegistry();
+        replicaSync = new CatalogReplicaSync(recetteClient, catalogIndex, cacheInvalidator, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("sync - devrait charger le catalogue puis n'appliquer que les recettes modifiées")
+    void testSync_BootstrapThenDelta() {
+        RecetteResponse tarte = recette(1L, "Tarte", T0);
+        RecetteResponse gratin = recette(2L, "Gratin", T0.plusHours(1));
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(List.of(tarte, gratin));
+
+        replicaSync.sync();
+        assertEquals(2, catalogIndex.size());
+        assertEquals(T0.plusHours(1), catalogIndex.latestModification());
+
+        // Le delta recouvre la fenêtre précédente : la recette inchangée est ignorée
+        RecetteResponse gratinModifie = recette(2L, "Gratin dauphinois", T0.plusHours(2));
+        RecetteResponse soupe = recette(3L, "Soupe", T0.plusHours(2));
+        when(recetteClient.getRecettesModifiedSince(T0.plusHours(1).minusSeconds(CatalogReplicaSync.OVERLAP_SECONDS)))
+                .thenReturn(List.of(gratin.toBuilder().build(), gratinModifie, soupe));
+
+        replicaSync.sync();
+
+        assertEquals(3, catalogIndex.size());
+        assertEquals(1, catalogIndex.searchKeyword("dauphinois").size());
+        assertEquals(2.0, meterRegistry.get("recette.replica.changes").counter().count());
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+        // Modifications faites hors du service : caches locaux invalidés, aucune suppression
+        verify(cacheInvalidator).recetteSynced(gratinModifie);
+        verify(cacheInvalidator).recetteSynced(soupe);
+        verify(cacheInvalidator, times(2)).recetteSynced(any());
+        verify(cacheInvalidator, never()).recetteDeleted(any());
+    }
+
+    @Test
+    @DisplayName("sync - un rechargement complet périodique devrait retirer les recettes supprimées")
+    void testSync_FullResync() {
+        when(recetteClient.getRecettesModifiedSince(null))
+                .thenReturn(List.of(recette(1L, "Tarte", T0), recette(2L, "Gratin", T0)))
+                .thenReturn(List.of(recette(1L, "Tarte", T0)));
+        replicaSync.sync();
+
+        ReflectionTestUtils.setField(replicaSync, "fullResyncIntervalMs", -1L);
+        replicaSync.sync();
+
+        assertEquals(1, catalogIndex.size());
+        verify(cacheInvalidator).recetteDeleted(2L);
+        verify(cacheInvalidator, never()).recetteDeleted(1L);
+    }
+
+    @Test
+    @DisplayName("sync - un delta non filtré devrait être traité comme un rechargement complet")
+    void testSync_UnfilteredDelta() {
+        when(recetteClient.getRecettesModifiedSince(null))
+                .thenReturn(List.of(recette(1L, "Tarte", T0), recette(2L, "Gratin", T0),
+                        recette(3L, "Soupe", T0.plusHours(1))));
+        replicaSync.sync();
+
+        // ms-persistance ignore modifieDepuis : recettes anciennes, la recette 2 a disparu
+        when(recetteClient.getRecettesModifiedSince(any(LocalDateTime.class)))
+                .thenReturn(List.of(recette(1L, "Tarte", T0), recette(3L, "Soupe de potiron", T0.plusHours(2))));
+        replicaSync.sync();
+
+        assertEquals(2, catalogIndex.size());
+        assertEquals(1, catalogIndex.searchKeyword("potiron").size());
+        verify(cacheInvalidator).recetteDeleted(2L);
+        assertEquals(1.0, meterRegistry.get("recette.replica.deletions").counter().count());
+        verify(recetteClient, times(1)).getRecettesModifiedSince(null);
+    }
+
+    @Test
+    @DisplayName("sync - un delta filtré ne devrait signaler aucune suppression")
+    void testSync_FilteredDeltaKeepsUnchanged() {
+        when(recetteClient.getRecettesModifiedSince(null))
+                .thenReturn(List.of(recette(1L, "Tarte", T0), recette(2L, "Gratin", T0)));
+        replicaSync.sync();
+
+        when(recetteClient.getRecettesModifiedSince(any(LocalDateTime.class)))
+                .thenReturn(List.of(recette(2L, "Gratin dauphinois", T0.plusHours(1))));
+        replicaSync.sync();
+
+        assertEquals(2, catalogIndex.size());
+        verify(cacheInvalidator, never()).recetteDeleted(any());
+    }
+
+    @Test
+    @DisplayName("sync - une recette créée pendant le rechargement complet ne devrait pas être supprimée")
+    void testSync_CreationPendantLeRechargement() {
+        when(recetteClient.getRecettesModifiedSince(null))
+                .thenReturn(List.of(recette(1L, "Tarte", T0), recette(2L, "Gratin", T0)))
+                .thenAnswer(invocation -> {
+                    // Création sur ce pod après la lecture du catalogue par ms-persistance
+                    catalogIndex.upsert(recette(3L, "Soupe", T0.plusHours(1)));
+                    return List.of(recette(1L, "Tarte", T0));
+                });
+        replicaSync.sync();
+
+        ReflectionTestUtils.setField(replicaSync, "fullResyncIntervalMs", -1L);
+        replicaSync.sync();
+
+        verify(cacheInvalidator).recetteDeleted(2L);
+        verify(cacheInvalidator, never()).recetteDeleted(3L);
+        assertEquals(1.0, meterRegistry.get("recette.replica.deletions").counter().count());
+    }
+
+    @Test
+    @DisplayName("sync - un échec ne devrait pas rafraîchir la réplique et le retard devrait être mesuré")
+    void testSync_FailureAndLag() {
+        assertTrue(Double.isNaN(meterRegistry.get("recette.replica.lag").gauge().value()));
+
+        when(recetteClient.getRecettesModifiedSince(null)).thenReturn(List.of(recette(1L, "Tarte", T0)));
+        replicaSync.sync();
+        long syncedAt = catalogIndex.lastSyncAt();
+        double lag = meterRegistry.get("recette.replica.lag").gauge().value();
+        assertTrue(lag >= 0 && lag < 5, "retard = " + lag);
+
+        when(recetteClient.getRecettesModifiedSince(any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("ms-persistance indisponible"));
+        assertDoesNotThrow(() -> replicaSync.sync());
+
+        assertEquals(syncedAt, catalogIndex.lastSyncAt());
+        assertEquals(1, catalogIndex.size());
+    }
+
+    private static RecetteResponse recette(Long id, String titre, LocalDateTime dateModification) {
+        return RecetteResponse.builder()
+                .id(id)
+                .titre(titre)
+                .dateCreation(T0.minusDays(1))
+                .dateModification(dateModification)
+                .build();
+    }
+}
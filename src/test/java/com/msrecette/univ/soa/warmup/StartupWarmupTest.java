@@ -0,0 +1,117 @@
+package com.msrecette.univ.soa.warmup;
+
+import com.msrecette.univ.soa.request.RecetteSearchRequest;
+import com.msrecette.univ.soa.request.RecetteSortEnum;
+import com.msrecette.univ.soa.response.RecetteResponse;
+import com.msrecette.univ.soa.service.RecetteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires - StartupWarmup")
+class StartupWarmupTest {
+
+    @Mock
+    private RecetteService recetteService;
+
+    private StartupWarmup warmup;
+    private WarmupHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        warmup = new StartupWarmup(recetteService);
+        ReflectionTestUtils.setField(warmup, "topCategories", 2);
+        ReflectionTestUtils.setField(warmup, "popularRecettes", 3);
+        healthIndicator = new WarmupHealthIndicator(warmup);
+    }
+
+    @Test
+    @DisplayName("run - devrait précharger catalogue, listes, catégories principales et recettes populaires")
+    void testRun_Preload() {
+        when(recetteService.getAllRecettes()).thenReturn(List.of(
+                recette(1L, "DESSERT"), recette(2L, "DESSERT"), recette(3L, "ENTREE"),
+                recette(4L, "ENTREE"), recette(5L, "DESSERT"), recette(6L, "BOISSON")));
+        when(recetteService.getPopularRecettes(3)).thenReturn(List.of(recette(5L, "DESSERT"), recette(3L, "ENTREE")));
+
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+
+        warmup.run();
+
+        assertEquals(StartupWarmup.State.DONE, warmup.state());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        verify(recetteService).getPopularRecettes(10);
+        verify(recetteService).getRecentRecettes(10);
+        verify(recetteService).getSearchFacets(any(RecetteSearchRequest.class), eq(20));
+        verify(recetteService).searchRecettesPage(any(RecetteSearchRequest.class), eq(20), eq(RecetteSortEnum.RECENTES), isNull());
+        verify(recetteService).getRecettesByCategorie("DESSERT");
+        verify(recetteService).getRecettesByCategorie("ENTREE");
+        verify(recetteService, never()).getRecettesByCategorie("BOISSON");
+        verify(recetteService).getRecetteById(5L);
+        verify(recetteService).getRecetteById(3L);
+        assertEquals(0, warmup.failedSteps());
+    }
+
+    @Test
+    @DisplayName("run - une étape en échec ne devrait pas bloquer le préchauffage")
+    void testRun_StepFailure() {
+        when(recetteService.getAllRecettes()).thenThrow(new RuntimeException("ms-persistance indisponible"));
+        when(recetteService.getRecentRecettes(10)).thenThrow(new RuntimeException("index indisponible"));
+
+        warmup.run();
+
+        assertEquals(StartupWarmup.State.DONE, warmup.state());
+        assertEquals(2, warmup.failedSteps());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        verify(recetteService).getPopularRecettes(10);
+    }
+
+    @Test
+    @DisplayName("run - la readiness devrait passer UP au délai maximal même si le préchauffage continue")
+    void testRun_Timeout() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ReflectionTestUtils.setField(warmup, "timeoutMs", 100L);
+        when(recetteService.getAllRecettes()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        warmup.run();
+
+        assertEquals(StartupWarmup.State.TIMED_OUT, warmup.state());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("start - un préchauffage désactivé ne devrait pas retenir la readiness")
+    void testStart_Disabled() {
+        ReflectionTestUtils.setField(warmup, "enabled", false);
+
+        warmup.start();
+
+        assertEquals(StartupWarmup.State.DISABLED, warmup.state());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        verifyNoInteractions(recetteService);
+    }
+
+    private static RecetteResponse recette(Long id, String categorie) {
+        RecetteResponse recette = new RecetteResponse();
+        recette.setId(id);
+        recette.setCategorie(categorie);
+        return recette;
+    }
+}